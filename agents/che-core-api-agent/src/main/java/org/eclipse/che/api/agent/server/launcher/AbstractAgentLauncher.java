@@ -32,8 +32,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -41,6 +41,9 @@ import static java.lang.String.format;
 /**
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
+ * Agent is checked with exponential back-off limited by the ping delay, see {@link AgentLaunchingWaiter},
+ * and immediately after its process is terminated. The process is started in a thread of a shared pool which
+ * is used until the process is terminated, see {@link #getActiveThreads()}.
  *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
@@ -49,17 +52,18 @@ import static java.lang.String.format;
  * @author Anatolii Bazko
  */
 public abstract class AbstractAgentLauncher implements AgentLauncher {
-    private static final Logger          LOG      = LoggerFactory.getLogger(AbstractAgentLauncher.class);
-    private static final ExecutorService executor =
-            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLauncher-%d")
-                                                                    .setUncaughtExceptionHandler(
-                                                                            LoggingUncaughtExceptionHandler.getInstance())
-                                                                    .setDaemon(true)
-                                                                    .build());
-
-    private final AgentLaunchingChecker agentLaunchingChecker;
-    private final long                  agentPingDelayMs;
-    private final long                  agentMaxStartTimeMs;
+    private static final Logger             LOG      = LoggerFactory.getLogger(AbstractAgentLauncher.class);
+    private static final ThreadPoolExecutor executor =
+            (ThreadPoolExecutor)Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLauncher-%d")
+                                                                                        .setUncaughtExceptionHandler(
+                                                                                                LoggingUncaughtExceptionHandler.getInstance())
+                                                                                        .setDaemon(true)
+                                                                                        .build());
+
+    private final AgentLaunchingChecker    agentLaunchingChecker;
+    private final long                     agentPingDelayMs;
+    private final long                     agentMaxStartTimeMs;
+    private final AgentLaunchingStatistics statistics;
 
     public AbstractAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
@@ -67,6 +71,17 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
         this.agentPingDelayMs = agentPingDelayMs;
         this.agentMaxStartTimeMs = agentMaxStartTimeMs;
         this.agentLaunchingChecker = agentLaunchingChecker;
+        this.statistics = new AgentLaunchingStatistics();
+    }
+
+    /** Returns launch time and number of checks of the agents launched by this launcher. */
+    public AgentLaunchingStatistics getStatistics() {
+        return statistics;
+    }
+
+    /** Returns number of threads which run agent processes of all launchers, each process uses a thread until it is terminated. */
+    public static int getActiveThreads() {
+        return executor.getActiveCount();
     }
 
     @Override
@@ -75,27 +90,37 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             return;
         }
         ListLineConsumer agentLogger = new ListLineConsumer();
+        AgentLaunchingWaiter waiter = new AgentLaunchingWaiter(agentPingDelayMs);
         LineConsumer lineConsumer = new AbstractLineConsumer() {
             @Override
             public void writeLine(String line) throws IOException {
                 machine.getLogger().writeLine(line);
                 agentLogger.writeLine(line);
             }
+
+            @Override
+            public void close() {
+                // output is closed by start() when the process is terminated
+                waiter.signal();
+            }
         };
         try {
             final InstanceProcess process = start(machine, agent, lineConsumer);
             LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
 
-            final long pingStartTimestamp = System.currentTimeMillis();
-            while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
-                if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
-                    return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
-                }
+            final boolean launched;
+            try {
+                launched = waiter.await(() -> agentLaunchingChecker.isLaunched(agent, process, machine), agentMaxStartTimeMs);
+            } finally {
+                statistics.record(waiter);
+            }
+            if (launched) {
+                LOG.info("Agent '{}' in '{}' workspace is launched in {} ms, {} checks, {} agent process threads are in use",
+                         agent.getName(), machine.getWorkspaceId(), waiter.getLaunchTimeMs(), waiter.getChecks(), getActiveThreads());
+                return;
             }
-            LOG.error(format("Fail launching agent '%s' in '%s' workspace due to timeout",
-                             agent.getName(), machine.getWorkspaceId()));
+            LOG.error(format("Fail launching agent '%s' in '%s' workspace due to timeout, %d checks",
+                             agent.getName(), machine.getWorkspaceId(), waiter.getChecks()));
 
             process.kill();
         } catch (MachineException e) {
@@ -131,6 +156,12 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                     machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
                 } catch (IOException ignored) {
                 }
+            } finally {
+                // lets the consumer know that the process is terminated
+                try {
+                    lineConsumer.close();
+                } catch (IOException ignored) {
+                }
             }
         }));
         try {
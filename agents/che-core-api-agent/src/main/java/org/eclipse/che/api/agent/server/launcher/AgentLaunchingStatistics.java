@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+/**
+ * Launches of one agent: number of successful and failed launches, time from the start of waiting until the agent
+ * is launched in milliseconds and number of checks done by {@link AgentLaunchingWaiter}.
+ */
+public class AgentLaunchingStatistics {
+    private long launchCount;
+    private long failureCount;
+    private long totalLaunchTime;
+    private long maxLaunchTime;
+    private long totalChecks;
+    private int  maxChecks;
+
+    /** Records the result of waiting for the agent. */
+    public synchronized void record(AgentLaunchingWaiter waiter) {
+        final long launchTime = waiter.getLaunchTimeMs();
+        if (launchTime < 0) {
+            failureCount++;
+        } else {
+            launchCount++;
+            totalLaunchTime += launchTime;
+            maxLaunchTime = Math.max(maxLaunchTime, launchTime);
+        }
+        totalChecks += waiter.getChecks();
+        maxChecks = Math.max(maxChecks, waiter.getChecks());
+    }
+
+    /** Returns number of agents which are launched in time. */
+    public synchronized long getLaunchCount() {
+        return launchCount;
+    }
+
+    /** Returns number of agents which aren't launched in time. */
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+
+    public synchronized long getAverageLaunchTime() {
+        return launchCount == 0 ? 0 : totalLaunchTime / launchCount;
+    }
+
+    public synchronized long getMaxLaunchTime() {
+        return maxLaunchTime;
+    }
+
+    /** Returns average number of checks of successful and failed launches. */
+    public synchronized double getAverageChecks() {
+        final long count = launchCount + failureCount;
+        return count == 0 ? 0 : (double)totalChecks / count;
+    }
+
+    public synchronized int getMaxChecks() {
+        return maxChecks;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AgentLaunchingStatistics{" +
+               "launchCount=" + launchCount +
+               ", failureCount=" + failureCount +
+               ", averageLaunchTime=" + getAverageLaunchTime() +
+               ", maxLaunchTime=" + maxLaunchTime +
+               ", averageChecks=" + getAverageChecks() +
+               ", maxChecks=" + maxChecks +
+               '}';
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.core.ServerException;
+
+import java.util.concurrent.Semaphore;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Waits until an agent is launched.
+ * <p>
+ * The agent is checked again as soon as something which changes its state happens, e.g. its process
+ * is terminated, see {@link #signal()}. Otherwise the agent is checked with exponential back-off: the first
+ * check delay is {@link #INITIAL_CHECK_DELAY_MS} and it is doubled after each unsuccessful check up to
+ * the configured maximum delay. Checks are never done more frequently than the initial delay.
+ * <p>
+ * Instance is intended to be used for a single launch of an agent.
+ */
+public class AgentLaunchingWaiter {
+    static final long INITIAL_CHECK_DELAY_MS = 50;
+
+    private final Semaphore signals = new Semaphore(0);
+    private final long      initialCheckDelayMs;
+    private final long      maxCheckDelayMs;
+
+    private int  checks;
+    private long launchTimeMs = -1;
+
+    /**
+     * @param maxCheckDelayMs
+     *         maximum delay between two checks of the agent
+     */
+    public AgentLaunchingWaiter(long maxCheckDelayMs) {
+        this.maxCheckDelayMs = maxCheckDelayMs;
+        this.initialCheckDelayMs = Math.max(0, Math.min(INITIAL_CHECK_DELAY_MS, maxCheckDelayMs));
+    }
+
+    /**
+     * Notifies that the state of the agent is changed, so it should be checked without waiting for back-off delay.
+     * Intended for rare events such as termination of the agent process, not for each line of agent output,
+     * which would make checks as frequent as the initial delay for the whole launch.
+     */
+    public void signal() {
+        if (signals.availablePermits() == 0) {
+            signals.release();
+        }
+    }
+
+    /**
+     * Checks the agent until it is launched or the timeout is reached.
+     *
+     * @param check
+     *         check of the agent state
+     * @param timeoutMs
+     *         max time of waiting
+     * @return true if the agent is launched, false if the timeout is reached
+     * @throws ServerException
+     *         when the check fails
+     * @throws InterruptedException
+     *         when the waiting thread is interrupted
+     */
+    public boolean await(LaunchingCheck check, long timeoutMs) throws ServerException, InterruptedException {
+        final long startTimestamp = System.currentTimeMillis();
+        final long deadline = startTimestamp + timeoutMs;
+        long delay = initialCheckDelayMs;
+        while (System.currentTimeMillis() < deadline) {
+            // signals received before the check are satisfied by it
+            signals.drainPermits();
+            checks++;
+            if (check.isLaunched()) {
+                launchTimeMs = System.currentTimeMillis() - startTimestamp;
+                return true;
+            }
+            final long nextCheckTimestamp = Math.min(System.currentTimeMillis() + delay, deadline);
+            Thread.sleep(initialCheckDelayMs);
+            final long remaining = nextCheckTimestamp - System.currentTimeMillis();
+            if (remaining > 0) {
+                signals.tryAcquire(remaining, MILLISECONDS);
+            }
+            delay = Math.min(delay * 2, maxCheckDelayMs);
+        }
+        return false;
+    }
+
+    /** Returns the number of checks done by {@link #await(LaunchingCheck, long)}. */
+    public int getChecks() {
+        return checks;
+    }
+
+    /** Returns the time passed from the start of waiting until the agent is launched or -1 if it is not launched. */
+    public long getLaunchTimeMs() {
+        return launchTimeMs;
+    }
+
+    /** Check of the agent state. */
+    @FunctionalInterface
+    public interface LaunchingCheck {
+        /** Returns true if the agent is launched. */
+        boolean isLaunched() throws ServerException;
+    }
+}
@@ -43,6 +43,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -135,6 +136,22 @@ public class AbstractAgentLauncherTest {
                                                   any(Instance.class));
     }
 
+    @Test
+    public void shouldRecordLaunchTimeAndChecksOfAgent() throws Exception {
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenReturn(false)
+                                                          .thenReturn(true);
+
+        launcher.launch(machine, agent);
+
+        AgentLaunchingStatistics statistics = launcher.getStatistics();
+        assertEquals(statistics.getLaunchCount(), 1);
+        assertEquals(statistics.getFailureCount(), 0);
+        assertEquals(statistics.getMaxChecks(), 2);
+        assertTrue(statistics.getMaxLaunchTime() >= AgentLaunchingWaiter.INITIAL_CHECK_DELAY_MS);
+    }
+
     @Test(expectedExceptions = AgentStartException.class, expectedExceptionsMessageRegExp = "Fail launching agent .*. Workspace ID:.*")
     public void shouldNotCheckIfAgentIsLaunchedMoreThanAgentMaxStartTime() throws Exception {
         // given
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link AgentLaunchingWaiter}
+ */
+public class AgentLaunchingWaiterTest {
+
+    @Test
+    public void shouldIncreaseDelayBetweenChecksUpToMaxDelay() throws Exception {
+        AgentLaunchingWaiter waiter = new AgentLaunchingWaiter(200);
+        List<Long> checkTimestamps = new ArrayList<>();
+
+        boolean launched = waiter.await(() -> {
+            checkTimestamps.add(System.currentTimeMillis());
+            return checkTimestamps.size() == 5;
+        }, 5000);
+
+        assertTrue(launched);
+        assertEquals(waiter.getChecks(), 5);
+        assertTrue(waiter.getLaunchTimeMs() >= 500);
+        for (int i = 1; i < checkTimestamps.size(); i++) {
+            assertTrue(checkTimestamps.get(i) - checkTimestamps.get(i - 1) >= AgentLaunchingWaiter.INITIAL_CHECK_DELAY_MS);
+        }
+    }
+
+    @Test
+    public void shouldCheckAgentWithoutWaitingForBackOffDelayWhenSignalled() throws Exception {
+        AgentLaunchingWaiter waiter = new AgentLaunchingWaiter(10_000);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            AtomicBoolean started = new AtomicBoolean();
+            executor.schedule(() -> {
+                started.set(true);
+                waiter.signal();
+            }, 1000, MILLISECONDS);
+
+            boolean launched = waiter.await(started::get, 5000);
+
+            assertTrue(launched);
+            // without signal checks are done at 0, 50, 150, 350, 750 and 1550 ms
+            assertTrue(waiter.getLaunchTimeMs() < 1500);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldReturnFalseWhenTimeoutIsReached() throws Exception {
+        AgentLaunchingWaiter waiter = new AgentLaunchingWaiter(50);
+
+        assertFalse(waiter.await(() -> false, 300));
+        assertEquals(waiter.getLaunchTimeMs(), -1);
+    }
+}
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscription which delivers events to its subscribers asynchronously, so publisher doesn't wait for the subscribers.
+ * Published events are put in the bounded queue of the subscription and delivered in the order of publishing, subscribers
+ * are never called concurrently. Subscribers of different events which share the subscription receive them in the order
+ * of publishing too. What happens when queue is full is defined by {@link OverflowPolicy}.
+ * <p>
+ * Instances are created with {@link EventService#subscribeAsync(int, OverflowPolicy, EventSubscriber[])}, getters of the
+ * subscription expose its queue and delivery statistics.
+ */
+@SuppressWarnings("unchecked")
+public class AsyncSubscription {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncSubscription.class);
+
+    /** Max number of events delivered by one task, so subscriptions with long queues don't hold threads of executor. */
+    private static final int MAX_EVENTS_PER_TASK = 64;
+
+    public enum OverflowPolicy {
+        /**
+         * Publisher waits until there is a room in the queue. Subscriber that publishes events to itself must not use this
+         * policy, since it may wait for itself forever.
+         */
+        BLOCK,
+        /** Published event is dropped. */
+        DROP_NEWEST,
+        /** The oldest queued event is dropped to make a room for published event. */
+        DROP_OLDEST
+    }
+
+    private final    List<Target>               targets;
+    private final    OverflowPolicy             overflowPolicy;
+    private final    Executor                   executor;
+    private final    int                        queueCapacity;
+    private final    BlockingQueue<QueuedEvent> queue;
+    private final    AtomicBoolean              scheduled;
+    private final    AtomicLong                 deliveredEvents;
+    private final    AtomicLong                 droppedEvents;
+    private final    AtomicLong                 handlingTimeNanos;
+    private final    AtomicLong                 latencyNanos;
+    private final    AtomicLong                 maxLatencyNanos;
+    private volatile boolean                    closed;
+
+    AsyncSubscription(int queueCapacity, OverflowPolicy overflowPolicy, Executor executor) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive.");
+        }
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+        targets = new CopyOnWriteArrayList<>();
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        scheduled = new AtomicBoolean();
+        deliveredEvents = new AtomicLong();
+        droppedEvents = new AtomicLong();
+        handlingTimeNanos = new AtomicLong();
+        latencyNanos = new AtomicLong();
+        maxLatencyNanos = new AtomicLong();
+    }
+
+    /** Adds subscriber to this subscription, returns subscriber which puts events for it in the queue of this subscription. */
+    Target addSubscriber(EventSubscriber<?> subscriber) {
+        final Target target = new Target(subscriber);
+        targets.add(target);
+        return target;
+    }
+
+    /** Removes subscriber from this subscription, returns true if there are no subscribers left. */
+    boolean removeSubscriber(Target target) {
+        targets.remove(target);
+        return targets.isEmpty();
+    }
+
+    private void enqueue(Object event, Target target) {
+        if (closed) {
+            return;
+        }
+        final QueuedEvent queued = new QueuedEvent(event, target, System.nanoTime());
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(queued);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(event);
+                    return;
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(queued)) {
+                    drop(event);
+                    return;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(queued)) {
+                    final QueuedEvent oldest = queue.poll();
+                    if (oldest != null) {
+                        drop(oldest.event);
+                    }
+                }
+                break;
+        }
+        schedule();
+    }
+
+    /** Returns subscribers which receive events of this subscription. */
+    public List<EventSubscriber<?>> getSubscribers() {
+        final List<EventSubscriber<?>> subscribers = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            subscribers.add(target.subscriber);
+        }
+        return subscribers;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /** Number of events waiting for delivery. */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /** Number of events passed to the subscribers. */
+    public long getDeliveredEvents() {
+        return deliveredEvents.get();
+    }
+
+    /** Number of events dropped because queue was full. */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /** Average time spent by the subscribers on handling of an event. */
+    public long getAverageHandlingTimeNanos() {
+        final long delivered = deliveredEvents.get();
+        return delivered == 0 ? 0 : handlingTimeNanos.get() / delivered;
+    }
+
+    /** Average time between publishing of an event and the end of its handling. */
+    public long getAverageLatencyNanos() {
+        final long delivered = deliveredEvents.get();
+        return delivered == 0 ? 0 : latencyNanos.get() / delivered;
+    }
+
+    /** Max time between publishing of an event and the end of its handling. */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    /** Stops delivery of events, events which are still in the queue are discarded. */
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    private void drop(Object event) {
+        droppedEvents.incrementAndGet();
+        LOG.debug("Queue of {} is full, event {} is dropped", this, event);
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOG.warn("Unable deliver events of {}, event service is stopped", this);
+            }
+        }
+    }
+
+    private void deliver() {
+        while (true) {
+            try {
+                deliverQueued();
+            } finally {
+                scheduled.set(false);
+            }
+            // events might be queued after the last poll but before the flag was reset
+            if (closed || queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::deliver);
+                return;
+            } catch (RejectedExecutionException e) {
+                // event service is stopping, queued events are delivered by this thread
+            }
+        }
+    }
+
+    private void deliverQueued() {
+        for (int i = 0; i < MAX_EVENTS_PER_TASK && !closed; i++) {
+            final QueuedEvent queued = queue.poll();
+            if (queued == null) {
+                return;
+            }
+            if (!targets.contains(queued.target)) {
+                // subscriber is unsubscribed
+                continue;
+            }
+            final long start = System.nanoTime();
+            try {
+                LOG.debug("Publish event {} for {}", queued.event, queued.target.subscriber);
+                queued.target.subscriber.onEvent(queued.event);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+            final long end = System.nanoTime();
+            final long latency = end - queued.publishTime;
+            handlingTimeNanos.addAndGet(end - start);
+            latencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            deliveredEvents.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncSubscription{" +
+               "subscribers=" + getSubscribers() +
+               ", overflowPolicy=" + overflowPolicy +
+               ", queueSize=" + queue.size() +
+               ", queueCapacity=" + queueCapacity +
+               ", deliveredEvents=" + deliveredEvents +
+               ", droppedEvents=" + droppedEvents +
+               '}';
+    }
+
+    /** Subscriber of events which puts them in the queue of the subscription instead of handling them. */
+    class Target implements EventSubscriber<Object> {
+        private final EventSubscriber subscriber;
+
+        private Target(EventSubscriber<?> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onEvent(Object event) {
+            enqueue(event, this);
+        }
+
+        EventSubscriber<?> getSubscriber() {
+            return subscriber;
+        }
+
+        AsyncSubscription getSubscription() {
+            return AsyncSubscription.this;
+        }
+    }
+
+    private static class QueuedEvent {
+        final Object event;
+        final Target target;
+        final long   publishTime;
+
+        QueuedEvent(Object event, Target target, long publishTime) {
+            this.event = event;
+            this.target = target;
+            this.publishTime = publishTime;
+        }
+    }
+}
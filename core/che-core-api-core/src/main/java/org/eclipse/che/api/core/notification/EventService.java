@@ -13,20 +13,32 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.notification.AsyncSubscription.OverflowPolicy;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +52,8 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers are called on the publisher's thread unless they are subscribed with
+ * {@link #subscribeAsync(EventSubscriber, int, OverflowPolicy)} or {@link #subscribeAsync(int, OverflowPolicy, EventSubscriber[])}.
  *
  * @author andrew00x
  */
@@ -51,9 +65,14 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
+    /** Time given to asynchronous subscriptions to deliver queued events when the service is stopped. */
+    private static final long STOP_TIMEOUT_SEC = 10;
+
     private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
     private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
 
+    private volatile ExecutorService asyncExecutor;
+
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
@@ -136,6 +155,139 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener which receives events asynchronously. Publisher doesn't wait for such listener, events are
+     * queued and delivered to the listener in the order of publishing. The event to subscribe to is inferred by checking the
+     * generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param queueCapacity
+     *         max number of events waiting for delivery to the subscriber
+     * @param overflowPolicy
+     *         defines what happens with published event when queue is full
+     * @return subscription which exposes queue and delivery statistics
+     * @see AsyncSubscription
+     */
+    public AsyncSubscription subscribeAsync(EventSubscriber<?> subscriber, int queueCapacity, OverflowPolicy overflowPolicy) {
+        return doSubscribeAsync(subscriber, getEventType(subscriber), queueCapacity, overflowPolicy);
+    }
+
+    /**
+     * Subscribe event listeners which receive events asynchronously through one queue, so events of different types are
+     * delivered to the listeners in the order of publishing, e.g. status of a workspace and statuses of its machines.
+     * The events to subscribe to are inferred by checking the generic type arguments of the given subscribers.
+     *
+     * @param queueCapacity
+     *         max number of events waiting for delivery to the subscribers
+     * @param overflowPolicy
+     *         defines what happens with published event when queue is full
+     * @param subscribers
+     *         event subscribers
+     * @return subscription which exposes queue and delivery statistics
+     * @see AsyncSubscription
+     */
+    public AsyncSubscription subscribeAsync(int queueCapacity, OverflowPolicy overflowPolicy, EventSubscriber<?>... subscribers) {
+        final List<Class<?>> eventTypes = new ArrayList<>(subscribers.length);
+        for (EventSubscriber<?> subscriber : subscribers) {
+            eventTypes.add(getEventType(subscriber));
+        }
+        final AsyncSubscription subscription = new AsyncSubscription(queueCapacity, overflowPolicy, getAsyncExecutor());
+        for (int i = 0; i < subscribers.length; i++) {
+            doSubscribe(subscription.addSubscriber(subscribers[i]), eventTypes.get(i));
+        }
+        return subscription;
+    }
+
+    /**
+     * Subscribe event listener to the existing asynchronous subscription, so its events share the queue of the subscription
+     * with events of the other listeners and are delivered in the order of publishing. The event to subscribe to is inferred
+     * by checking the generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param subscription
+     *         asynchronous subscription which queue is used for delivery of events to the subscriber
+     */
+    public void subscribeAsync(EventSubscriber<?> subscriber, AsyncSubscription subscription) {
+        doSubscribe(subscription.addSubscriber(subscriber), getEventType(subscriber));
+    }
+
+    /**
+     * Subscribe to an event asynchronously.
+     *
+     * @see #subscribeAsync(EventSubscriber, int, OverflowPolicy)
+     */
+    public <T> AsyncSubscription subscribeAsync(EventSubscriber<? extends T> subscriber,
+                                                Class<T> eventType,
+                                                int queueCapacity,
+                                                OverflowPolicy overflowPolicy) {
+        return doSubscribeAsync(subscriber, eventType, queueCapacity, overflowPolicy);
+    }
+
+    /** Returns all active asynchronous subscriptions. */
+    public List<AsyncSubscription> getAsyncSubscriptions() {
+        final Set<AsyncSubscription> subscriptions = new LinkedHashSet<>();
+        for (Set<EventSubscriber> eventSubscribers : subscribersByEventType.values()) {
+            for (EventSubscriber eventSubscriber : eventSubscribers) {
+                if (eventSubscriber instanceof AsyncSubscription.Target) {
+                    subscriptions.add(((AsyncSubscription.Target)eventSubscriber).getSubscription());
+                }
+            }
+        }
+        return new ArrayList<>(subscriptions);
+    }
+
+    /**
+     * Stops asynchronous delivery of events. Events which are already queued are delivered within {@link #STOP_TIMEOUT_SEC},
+     * events which aren't delivered by then are discarded.
+     */
+    @PreDestroy
+    void stop() {
+        final ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(STOP_TIMEOUT_SEC, SECONDS)) {
+                return;
+            }
+            LOG.warn("Events queued for asynchronous subscribers weren't delivered in {} seconds", STOP_TIMEOUT_SEC);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // releases publishers which wait for a room in the queues
+        getAsyncSubscriptions().forEach(AsyncSubscription::close);
+        executor.shutdownNow();
+    }
+
+    private AsyncSubscription doSubscribeAsync(EventSubscriber<?> subscriber,
+                                               Class<?> eventType,
+                                               int queueCapacity,
+                                               OverflowPolicy overflowPolicy) {
+        final AsyncSubscription subscription = new AsyncSubscription(queueCapacity, overflowPolicy, getAsyncExecutor());
+        doSubscribe(subscription.addSubscriber(subscriber), eventType);
+        return subscription;
+    }
+
+    private ExecutorService getAsyncExecutor() {
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    asyncExecutor = executor = Executors.newCachedThreadPool(
+                            new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                      .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                                      .setDaemon(true)
+                                                      .build());
+                }
+            }
+        }
+        return executor;
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -159,6 +311,31 @@ public class EventService {
         doUnsubscribe(subscriber, eventType);
     }
 
+    /**
+     * Unsubscribe all event listeners of the asynchronous subscription, events which are still in its queue are discarded.
+     *
+     * @param subscription
+     *         asynchronous subscription
+     */
+    public void unsubscribe(AsyncSubscription subscription) {
+        subscription.close();
+        for (Class<?> eventType : subscribersByEventType.keySet()) {
+            final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
+            if (entries == null) {
+                continue;
+            }
+            boolean changed = false;
+            for (EventSubscriber entry : entries) {
+                if (entry instanceof AsyncSubscription.Target && ((AsyncSubscription.Target)entry).getSubscription() == subscription) {
+                    changed |= entries.remove(entry);
+                }
+            }
+            if (changed && entries.isEmpty()) {
+                subscribersByEventType.remove(eventType);
+            }
+        }
+    }
+
     public <T> void unsubscribe(EventSubscriber<T> subscriber, Class<T> eventType) {
         doUnsubscribe(subscriber, eventType);
     }
@@ -167,6 +344,16 @@ public class EventService {
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
             boolean changed = entries.remove(subscriber);
+            for (EventSubscriber entry : entries) {
+                if (entry instanceof AsyncSubscription.Target && ((AsyncSubscription.Target)entry).getSubscriber() == subscriber) {
+                    final AsyncSubscription subscription = ((AsyncSubscription.Target)entry).getSubscription();
+                    // subscription which has no subscribers left is closed
+                    if (subscription.removeSubscriber((AsyncSubscription.Target)entry)) {
+                        subscription.close();
+                    }
+                    changed |= entries.remove(entry);
+                }
+            }
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
@@ -10,76 +10,187 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import org.slf4j.Logger;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.slf4j.LoggerFactory.getLogger;
+
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
  * when WEB SOCKET session was closed. If session is closed during re-send process it
  * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * <p>
+ * Memory used for pending messages is bounded: each endpoint keeps at most {@link #MAX_MESSAGES}
+ * messages of total length up to {@link #MAX_MESSAGES_LENGTH} characters, the oldest messages
+ * are evicted first. Messages older than {@link #MESSAGE_TTL_MS} are not re-sent, pending
+ * messages of endpoints that don't get new messages and are not re-sent during that period are
+ * removed, as well as messages of the least recently used endpoints when there are more than
+ * {@link #MAX_ENDPOINTS} of them.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    private static final Logger LOG = getLogger(MessagesReSender.class);
+
+    static final int  MAX_MESSAGES        = 100;
+    static final int  MAX_MESSAGES_LENGTH = 1 << 20;
+    static final int  MAX_ENDPOINTS       = 1000;
+    static final long MESSAGE_TTL_MS      = MINUTES.toMillis(5);
 
     private final WebSocketSessionRegistry registry;
 
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
+    private final LoadingCache<String, PendingMessages> messagesMap;
 
     @Inject
     public MessagesReSender(WebSocketSessionRegistry registry) {
         this.registry = registry;
+        this.messagesMap = CacheBuilder.newBuilder()
+                                       .maximumSize(MAX_ENDPOINTS)
+                                       .expireAfterAccess(MESSAGE_TTL_MS, MILLISECONDS)
+                                       .build(new CacheLoader<String, PendingMessages>() {
+                                           @Override
+                                           public PendingMessages load(String endpointId) {
+                                               return new PendingMessages();
+                                           }
+                                       });
     }
 
     public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
-
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
-        }
-
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
-        }
+        messagesMap.getUnchecked(endpointId).add(message, System.currentTimeMillis());
     }
 
     public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+        final PendingMessages pending = messagesMap.getIfPresent(endpointId);
 
-        if (messages == null || messages.isEmpty()) {
+        if (pending == null || pending.isEmpty()) {
             return;
         }
 
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
-        if (!sessionOptional.isPresent()) {
+        if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
             return;
         }
 
         final Session session = sessionOptional.get();
 
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
+        final List<PendingMessage> messages = pending.drain(System.currentTimeMillis());
+
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        LOG.debug("Re-sending {} pending messages to endpoint {}", messages.size(), endpointId);
+
+        final RemoteEndpoint.Async remote = session.getAsyncRemote();
+        // messages which are not flushed may be lost, so they are kept for the next re-send
+        int flushed = 0;
+        try {
+            // messages are buffered by container and written at once instead of a write per message
+            remote.setBatchingAllowed(true);
+            int sent = 0;
+            for (PendingMessage message : messages) {
+                if (!session.isOpen()) {
+                    break;
+                }
+                remote.sendText(message.text);
+                sent++;
+            }
+            remote.flushBatch();
+            flushed = sent;
+        } catch (IOException e) {
+            LOG.error("Error while trying to re-send messages to a websocket remote endpoint", e);
+        } finally {
+            disableBatching(remote);
+            // also when sending fails with runtime exception, e.g. IllegalStateException of closed session
+            if (flushed < messages.size()) {
+                pending.addFirst(messages.subList(flushed, messages.size()));
+            }
+        }
+    }
+
+    private static void disableBatching(RemoteEndpoint.Async remote) {
+        try {
+            remote.setBatchingAllowed(false);
+        } catch (IOException e) {
+            LOG.error("Error while trying to disable batching of messages to a websocket remote endpoint", e);
+        }
+    }
+
+    /** Bounded queue of messages of single endpoint, the oldest messages are evicted when queue is full. */
+    private static class PendingMessages {
+        private final Deque<PendingMessage> messages = new ArrayDeque<>();
 
-        for (String message : backing) {
+        private int length;
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
-            } else {
-                messages.add(message);
+        synchronized void add(String message, long now) {
+            evictExpired(now);
+            if (message.length() > MAX_MESSAGES_LENGTH) {
+                LOG.warn("Message of length {} is too long to be kept for re-sending, skipping", message.length());
+                return;
             }
+            messages.addLast(new PendingMessage(message, now));
+            length += message.length();
+            while (messages.size() > MAX_MESSAGES || length > MAX_MESSAGES_LENGTH) {
+                length -= messages.removeFirst().text.length();
+            }
+        }
+
+        /** Returns messages that are not re-sent back to the head of the queue, newer messages are kept. */
+        synchronized void addFirst(List<PendingMessage> notSent) {
+            for (int i = notSent.size() - 1; i >= 0 && messages.size() < MAX_MESSAGES; i--) {
+                final PendingMessage message = notSent.get(i);
+                if (length + message.text.length() > MAX_MESSAGES_LENGTH) {
+                    break;
+                }
+                messages.addFirst(message);
+                length += message.text.length();
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return messages.isEmpty();
         }
 
-        messagesMap.put(endpointId, messages);
+        synchronized List<PendingMessage> drain(long now) {
+            evictExpired(now);
+            final List<PendingMessage> result = new ArrayList<>(messages);
+            messages.clear();
+            length = 0;
+            return result;
+        }
+
+        private void evictExpired(long now) {
+            while (!messages.isEmpty() && now - messages.peekFirst().time > MESSAGE_TTL_MS) {
+                length -= messages.removeFirst().text.length();
+            }
+        }
+    }
+
+    private static class PendingMessage {
+        final String text;
+        final long   time;
+
+        PendingMessage(String text, long time) {
+            this.text = text;
+            this.time = time;
+        }
     }
 }
@@ -10,13 +10,20 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import org.eclipse.che.api.core.notification.AsyncSubscription.OverflowPolicy;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * @author andrew00x
@@ -29,6 +36,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -191,6 +203,186 @@ public class EventServiceTest {
         bus.unsubscribe(sb, CustomEventImpl.class);
     }
 
+    @Test
+    public void testAsyncSubscriberReceivesEventsInOrderOfPublishing() throws Exception {
+        final List<Integer> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch received = new CountDownLatch(100);
+        bus.subscribeAsync(new EventSubscriber<Integer>() {
+            @Override
+            public void onEvent(Integer event) {
+                events.add(event);
+                received.countDown();
+            }
+        }, 10, OverflowPolicy.BLOCK);
+
+        final List<Integer> published = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            published.add(bus.publish(i));
+        }
+
+        Assert.assertTrue(received.await(5, SECONDS));
+        Assert.assertEquals(events, published);
+        Assert.assertEquals(bus.getAsyncSubscriptions().get(0).getDroppedEvents(), 0);
+    }
+
+    @Test
+    public void testPublisherIsNotBlockedBySlowAsyncSubscriber() throws Exception {
+        final BlockingSubscriber subscriber = new BlockingSubscriber(2);
+        final AsyncSubscription subscription = bus.subscribeAsync(subscriber, 1, OverflowPolicy.DROP_NEWEST);
+
+        bus.publish("first");
+        Assert.assertTrue(subscriber.started.await(5, SECONDS));
+        bus.publish("second");
+        bus.publish("third");
+        bus.publish("fourth");
+
+        Assert.assertEquals(subscription.getQueueSize(), 1);
+        Assert.assertEquals(subscription.getDroppedEvents(), 2);
+        subscriber.release.countDown();
+        Assert.assertTrue(subscriber.received.await(5, SECONDS));
+        Assert.assertEquals(subscriber.events, Arrays.asList("first", "second"));
+    }
+
+    @Test
+    public void testAsyncSubscriberDropsOldestEventsWhenQueueIsFull() throws Exception {
+        final BlockingSubscriber subscriber = new BlockingSubscriber(2);
+        final AsyncSubscription subscription = bus.subscribeAsync(subscriber, 1, OverflowPolicy.DROP_OLDEST);
+
+        bus.publish("first");
+        Assert.assertTrue(subscriber.started.await(5, SECONDS));
+        bus.publish("second");
+        bus.publish("third");
+        bus.publish("fourth");
+
+        Assert.assertEquals(subscription.getDroppedEvents(), 2);
+        subscriber.release.countDown();
+        Assert.assertTrue(subscriber.received.await(5, SECONDS));
+        Assert.assertEquals(subscriber.events, Arrays.asList("first", "fourth"));
+    }
+
+    @Test
+    public void testUnsubscribeAsyncSubscriber() {
+        final BlockingSubscriber subscriber = new BlockingSubscriber(1);
+        bus.subscribeAsync(subscriber, 1, OverflowPolicy.DROP_NEWEST);
+
+        bus.unsubscribe(subscriber);
+        bus.publish("event");
+
+        Assert.assertTrue(bus.getAsyncSubscriptions().isEmpty());
+        Assert.assertTrue(subscriber.events.isEmpty());
+    }
+
+    @Test
+    public void testSubscribersOfSharedAsyncSubscriptionReceiveEventsInOrderOfPublishing() throws Exception {
+        final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch received = new CountDownLatch(100);
+        bus.subscribeAsync(10, OverflowPolicy.BLOCK, new EventSubscriber<Integer>() {
+            @Override
+            public void onEvent(Integer event) {
+                events.add(event);
+                received.countDown();
+            }
+        }, new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                received.countDown();
+            }
+        });
+
+        final List<Object> published = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            published.add(bus.publish(i));
+            published.add(bus.publish(String.valueOf(i)));
+        }
+
+        Assert.assertTrue(received.await(5, SECONDS));
+        Assert.assertEquals(events, published);
+        Assert.assertEquals(bus.getAsyncSubscriptions().size(), 1);
+    }
+
+    @Test
+    public void testSubscriberJoinsQueueOfExistingAsyncSubscription() throws Exception {
+        final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch received = new CountDownLatch(100);
+        final EventSubscriber<String> joined = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                received.countDown();
+            }
+        };
+        final AsyncSubscription subscription = bus.subscribeAsync(new EventSubscriber<Integer>() {
+            @Override
+            public void onEvent(Integer event) {
+                events.add(event);
+                received.countDown();
+            }
+        }, 10, OverflowPolicy.BLOCK);
+        bus.subscribeAsync(joined, subscription);
+
+        final List<Object> published = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            published.add(bus.publish(i));
+            published.add(bus.publish(String.valueOf(i)));
+        }
+
+        Assert.assertTrue(received.await(5, SECONDS));
+        Assert.assertEquals(events, published);
+        Assert.assertEquals(bus.getAsyncSubscriptions(), Collections.singletonList(subscription));
+
+        bus.unsubscribe(joined);
+        bus.publish("removed");
+        Assert.assertEquals(subscription.getSubscribers().size(), 1);
+    }
+
+    @Test
+    public void testQueuedEventsAreDeliveredWhenServiceIsStopped() throws Exception {
+        final List<Integer> events = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribeAsync(new EventSubscriber<Integer>() {
+            @Override
+            public void onEvent(Integer event) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add(event);
+            }
+        }, 200, OverflowPolicy.BLOCK);
+
+        final List<Integer> published = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            published.add(bus.publish(i));
+        }
+        bus.stop();
+
+        Assert.assertEquals(events, published);
+    }
+
+    static class BlockingSubscriber implements EventSubscriber<String> {
+        final List<String>   events  = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch received;
+
+        BlockingSubscriber(int expectedEvents) {
+            received = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void onEvent(String event) {
+            started.countDown();
+            try {
+                release.await(5, SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+            received.countDown();
+        }
+    }
+
     static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
         final List<String> events = new ArrayList<>();
 
@@ -20,15 +20,19 @@ import org.testng.annotations.Test;
 import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.fail;
 
 /**
  * Tests for {@link MessagesReSender}
@@ -153,4 +157,85 @@ public class MessagesReSenderTest {
         verify(session, times(2)).getAsyncRemote();
         verify(endpoint, times(2)).sendText(MESSAGE);
     }
+
+    @Test
+    public void shouldKeepOnlyLatestMessagesWhenLimitIsExceeded() {
+        for (int i = 0; i <= MessagesReSender.MAX_MESSAGES; i++) {
+            reSender.add(ENDPOINT_ID, String.valueOf(i));
+        }
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, never()).sendText("0");
+        verify(endpoint).sendText(String.valueOf(MessagesReSender.MAX_MESSAGES));
+        verify(endpoint, times(MessagesReSender.MAX_MESSAGES)).sendText(anyString());
+    }
+
+    @Test
+    public void shouldSendPendingMessagesInBatch() throws Exception {
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(session).getAsyncRemote();
+        verify(endpoint).setBatchingAllowed(true);
+        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(endpoint).flushBatch();
+    }
+
+    @Test
+    public void shouldKeepMessagesAndDisableBatchingIfFlushFails() throws Exception {
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+        doThrow(new IOException("flush failed")).doNothing().when(endpoint).flushBatch();
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint).setBatchingAllowed(false);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, times(2)).sendText("first");
+        verify(endpoint, times(2)).sendText("second");
+    }
+
+    @Test
+    public void shouldKeepMessagesAndDisableBatchingIfSendingFailsWithRuntimeException() throws Exception {
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+        doThrow(new IllegalStateException("session closed")).when(endpoint).sendText("second");
+
+        try {
+            reSender.resend(ENDPOINT_ID);
+            fail("Exception is expected");
+        } catch (IllegalStateException expected) {
+        }
+
+        verify(endpoint).setBatchingAllowed(false);
+
+        doNothing().when(endpoint).sendText("second");
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, times(2)).sendText("first");
+        verify(endpoint, times(2)).sendText("second");
+    }
+
+    @Test
+    public void shouldKeepNotSentMessagesIfSessionIsClosedDuringResending() {
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+
+        when(session.isOpen()).thenReturn(true, true, false);
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint).sendText("first");
+        verify(endpoint, never()).sendText("second");
+
+        when(session.isOpen()).thenReturn(true);
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint).sendText("first");
+        verify(endpoint).sendText("second");
+    }
 }
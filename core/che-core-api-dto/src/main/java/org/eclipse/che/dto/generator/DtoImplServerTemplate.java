@@ -74,6 +74,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         emitSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitTypeAdapter(methods, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -322,6 +323,147 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("      return gson.fromJson(jsonString, ").append(getImplClassName()).append(".class);\n");
         builder.append("    }\n\n");
     }
+
+    /**
+     * Generates streaming Gson adapter which reads and writes fields of DTO implementation directly, without reflection. Fields are
+     * written in the same way as reflective Gson adapter does it: null values are skipped by writer, null lists and maps are
+     * written as empty ones by adapters of {@link org.eclipse.che.dto.server.DtoFactory#getGson()}.
+     */
+    private void emitTypeAdapter(List<Method> getters, StringBuilder builder) {
+        final String implClassName = getImplClassName();
+        final List<Method> fields = new ArrayList<>();
+        final Set<String> jsonFieldNames = new HashSet<>();
+        final List<Method> allGetters = new ArrayList<>(getters);
+        // getters of not DTO interfaces extended by super DTOs are not in the list, but their fields are declared by super implementations
+        for (Method method : getDtoInterface().getMethods()) {
+            if (!method.isDefault() && isDtoGetter(method)) {
+                allGetters.add(method);
+            }
+        }
+        for (Method getter : allGetters) {
+            Method fieldGetter = getFieldGetter(getter);
+            if (getJavaFieldName(fieldGetter.getName()) != null && jsonFieldNames.add(getJsonFieldName(fieldGetter))) {
+                fields.add(fieldGetter);
+            }
+        }
+
+        builder.append("    public static class GsonAdapter extends com.google.gson.TypeAdapter<").append(implClassName).append("> {\n");
+        builder.append("      private final Gson gson;\n\n");
+        for (Method getter : fields) {
+            builder.append("      private volatile com.google.gson.TypeAdapter<").append(getAdapterTypeArgument(getter)).append("> ")
+                   .append(getJavaFieldName(getter.getName())).append("Adapter;\n");
+        }
+        builder.append("\n");
+        builder.append("      public GsonAdapter(Gson gson) {\n");
+        builder.append("        this.gson = gson;\n");
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      public void write(com.google.gson.stream.JsonWriter out, ").append(implClassName)
+               .append(" dto) throws java.io.IOException {\n");
+        builder.append("        if (dto == null) {\n");
+        builder.append("          out.nullValue();\n");
+        builder.append("          return;\n");
+        builder.append("        }\n");
+        builder.append("        out.beginObject();\n");
+        for (Method getter : fields) {
+            String fieldName = getJavaFieldName(getter.getName());
+            Class<?> type = getter.getReturnType();
+            builder.append("        out.name(\"").append(getJsonFieldName(getter)).append("\");\n");
+            if (type == float.class) {
+                // written as number to keep the shortest representation of float value
+                builder.append("        out.value(java.lang.Float.valueOf(dto.").append(fieldName).append("));\n");
+            } else if (type == String.class || (type.isPrimitive() && type != char.class)) {
+                builder.append("        out.value(dto.").append(fieldName).append(");\n");
+            } else {
+                builder.append("        ").append(fieldName).append("Adapter().write(out, dto.").append(fieldName).append(");\n");
+            }
+        }
+        builder.append("        out.endObject();\n");
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      public ").append(implClassName).append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+        builder.append("        if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+        builder.append("          in.nextNull();\n");
+        builder.append("          return null;\n");
+        builder.append("        }\n");
+        builder.append("        ").append(implClassName).append(" dto = new ").append(implClassName).append("();\n");
+        builder.append("        in.beginObject();\n");
+        builder.append("        while (in.hasNext()) {\n");
+        builder.append("          switch (in.nextName()) {\n");
+        for (Method getter : fields) {
+            String fieldName = getJavaFieldName(getter.getName());
+            builder.append("            case \"").append(getJsonFieldName(getter)).append("\": {\n");
+            if (getter.getReturnType().isPrimitive()) {
+                // null is not assigned to primitive field, it keeps default value
+                builder.append("              ").append(getAdapterTypeArgument(getter)).append(" value = ").append(fieldName)
+                       .append("Adapter().read(in);\n");
+                builder.append("              if (value != null) {\n");
+                builder.append("                dto.").append(fieldName).append(" = value;\n");
+                builder.append("              }\n");
+            } else {
+                builder.append("              dto.").append(fieldName).append(" = ").append(fieldName).append("Adapter().read(in);\n");
+            }
+            builder.append("              break;\n");
+            builder.append("            }\n");
+        }
+        builder.append("            default:\n");
+        builder.append("              in.skipValue();\n");
+        builder.append("          }\n");
+        builder.append("        }\n");
+        builder.append("        in.endObject();\n");
+        builder.append("        return dto;\n");
+        builder.append("      }\n\n");
+
+        // adapters of fields are resolved lazily since DTO may refer to itself
+        for (Method getter : fields) {
+            String fieldName = getJavaFieldName(getter.getName());
+            String adapterType = "com.google.gson.TypeAdapter<" + getAdapterTypeArgument(getter) + ">";
+            String adapterField = fieldName + "Adapter";
+            Type type = getter.getGenericReturnType();
+            builder.append("      private ").append(adapterType).append(" ").append(adapterField).append("() {\n");
+            builder.append("        ").append(adapterType).append(" adapter = ").append(adapterField).append(";\n");
+            builder.append("        if (adapter == null) {\n");
+            builder.append("          ").append(adapterField).append(" = adapter = org.eclipse.che.dto.server.DtoTypeAdapters.forField(gson, ");
+            if (type instanceof Class<?>) {
+                builder.append(getImplName(type, false)).append(".class");
+            } else {
+                builder.append("new com.google.gson.reflect.TypeToken<").append(getImplName(type, false)).append(">() {}.getType()");
+            }
+            builder.append(");\n");
+            builder.append("        }\n");
+            builder.append("        return adapter;\n");
+            builder.append("      }\n\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Returns getter that defines type and JSON name of the field. Field is declared in implementation of the top-most super DTO
+     * that has such getter, getter of DTO itself may override it with more specific return type.
+     */
+    private Method getFieldGetter(Method getter) {
+        Method fieldGetter = getter;
+        for (Class<?> superDto = getSuperDtoInterface(getDtoInterface()); superDto != null; superDto = getSuperDtoInterface(superDto)) {
+            try {
+                fieldGetter = superDto.getMethod(getter.getName());
+            } catch (NoSuchMethodException e) {
+                break;
+            }
+        }
+        return fieldGetter;
+    }
+
+    /** Returns type of values read and written by adapter of the field, primitive types are replaced with wrappers. */
+    private String getAdapterTypeArgument(Method getter) {
+        Class<?> type = getter.getReturnType();
+        if (type.isPrimitive()) {
+            return Primitives.wrap(type).getCanonicalName();
+        }
+        return getImplName(getter.getGenericReturnType(), false);
+    }
+
     private static StringBuilder appendNaiveCopyJsonExpression(String inValue, StringBuilder builder) {
         builder.append("((");
         builder.append(inValue);
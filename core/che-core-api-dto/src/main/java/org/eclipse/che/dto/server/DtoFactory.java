@@ -99,7 +99,8 @@ public final class DtoFactory {
     private final Gson dtoGson = new GsonBuilder()
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
-            .registerTypeAdapterFactory(new DtoInterfaceTAF()).create();
+            .registerTypeAdapterFactory(new DtoInterfaceTAF())
+            .registerTypeAdapterFactory(new DtoImplTAF()).create();
 
     /**
      * Created deep copy of DTO object.
@@ -441,6 +442,24 @@ public final class DtoFactory {
         }
     }
 
+    /**
+     * Provides streaming adapters generated for DTO implementation classes, so they are read and written without reflection. Gson
+     * falls back to reflective adapter for implementations which don't have generated adapter.
+     *
+     * @see DtoProvider#getTypeAdapter(Gson)
+     */
+    private class DtoImplTAF implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            DtoProvider<?> prov = dtoImpl2Providers.get(type.getRawType());
+            if (prov != null) {
+                return (TypeAdapter<T>)prov.getTypeAdapter(gson);
+            }
+            return null;
+        }
+    }
+
     /**
      * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty instead.
      * 
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+/**
+ * Helpers for streaming adapters of DTO implementations generated by {@link org.eclipse.che.dto.generator.DtoGenerator}.
+ *
+ * @see DtoProvider#getTypeAdapter(Gson)
+ */
+public final class DtoTypeAdapters {
+
+    /**
+     * Returns adapter for the field of DTO implementation. If declared type of the field is not a final class, value of the field
+     * is written with adapter of its runtime type, in the same way as reflective Gson adapter does it, so fields of DTO interface
+     * type are written with adapter of the actual implementation.
+     *
+     * @param gson
+     *         Gson instance that provides adapters
+     * @param declaredType
+     *         declared type of the field
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TypeAdapter<T> forField(Gson gson, Type declaredType) {
+        final TypeAdapter<T> adapter = (TypeAdapter<T>)gson.getAdapter(TypeToken.get(declaredType));
+        if (declaredType instanceof Class<?>) {
+            final Class<?> declaredClass = (Class<?>)declaredType;
+            if (!declaredClass.isPrimitive() && !Modifier.isFinal(declaredClass.getModifiers())) {
+                return new RuntimeTypeAdapter<>(gson, adapter, declaredClass);
+            }
+        }
+        return adapter;
+    }
+
+    private static class RuntimeTypeAdapter<T> extends TypeAdapter<T> {
+        private final Gson           gson;
+        private final TypeAdapter<T> declaredTypeAdapter;
+        private final Class<?>       declaredType;
+
+        RuntimeTypeAdapter(Gson gson, TypeAdapter<T> declaredTypeAdapter, Class<?> declaredType) {
+            this.gson = gson;
+            this.declaredTypeAdapter = declaredTypeAdapter;
+            this.declaredType = declaredType;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null || value.getClass() == declaredType) {
+                declaredTypeAdapter.write(out, value);
+            } else {
+                ((TypeAdapter<T>)gson.getAdapter(value.getClass())).write(out, value);
+            }
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            return declaredTypeAdapter.read(in);
+        }
+    }
+
+    private DtoTypeAdapters() {
+    }
+}
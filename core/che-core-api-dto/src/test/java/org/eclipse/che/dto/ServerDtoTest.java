@@ -380,4 +380,24 @@ public class ServerDtoTest {
         assertEquals(childDto.getChildField(), "child-field");
         assertEquals(childDto.getParentField(), "parent-field");
     }
+
+    @Test
+    public void shouldSerializeAndDeserializeFieldsOfWholeHierarchy() {
+        final DtoFactory factory = DtoFactory.getInstance();
+        final GrandchildDto dto = factory.createDto(GrandchildDto.class);
+        dto.setShadowedField(factory.createDto(GrandchildDto.class).withDtoField("shadowed"));
+        dto.withDtoField("dto-field")
+           .withChildField("child-field")
+           .withParentField("parent-field");
+
+        final String json = factory.toJson(dto);
+        final JsonObject jsonObject = new JsonParser().parse(json).getAsJsonObject();
+        final GrandchildDto copy = factory.createDtoFromJson(json, GrandchildDto.class);
+
+        assertEquals(jsonObject.get("dtoField").getAsString(), "dto-field");
+        assertEquals(jsonObject.get("childField").getAsString(), "child-field");
+        assertEquals(jsonObject.get("parentField").getAsString(), "parent-field");
+        assertEquals(jsonObject.getAsJsonObject("shadowedField").get("dtoField").getAsString(), "shadowed");
+        assertEquals(copy, dto);
+    }
 }
@@ -12,6 +12,7 @@ package org.eclipse.che.core.db;
 
 import org.eclipse.che.core.db.jpa.JpaInitializer;
 import org.eclipse.che.core.db.jpa.eclipselink.GuiceEntityListenerInjectionManager;
+import org.eclipse.che.core.db.jpa.eclipselink.SharedCacheConfigurator;
 import org.eclipse.che.core.db.schema.SchemaInitializationException;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.persistence.sessions.server.ServerSession;
@@ -60,4 +61,9 @@ public class DBInitializer {
         final ServerSession session = emFactory.unwrap(ServerSession.class);
         session.setEntityListenerInjectionManager(injManager);
     }
+
+    @Inject
+    public void setUpSharedCache(SharedCacheConfigurator cacheConfigurator, EntityManagerFactory emFactory) {
+        cacheConfigurator.configure(emFactory);
+    }
 }
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts hits and misses of the shared cache per entity.
+ *
+ * <p>Only cache related events are handled, the rest of the profiling operations are no-op.
+ */
+public class CacheStatisticsProfiler extends SessionProfilerAdapter {
+
+    private final ConcurrentMap<String, EntityStatistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public int getProfileWeight() {
+        // with NONE weight EclipseLink doesn't report any event to the profiler
+        return SessionProfiler.ALL;
+    }
+
+    @Override
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+        final boolean hit = SessionProfiler.CacheHits.equals(operationName);
+        if (!hit && !SessionProfiler.CacheMisses.equals(operationName)) {
+            return;
+        }
+        final String entity = query.getDescriptor() != null ? query.getDescriptor().getAlias() : query.getReferenceClassName();
+        if (entity == null) {
+            return;
+        }
+        final EntityStatistics entityStatistics = statistics.computeIfAbsent(entity, name -> new EntityStatistics());
+        if (hit) {
+            entityStatistics.hits.incrementAndGet();
+        } else {
+            entityStatistics.misses.incrementAndGet();
+        }
+    }
+
+    /** Returns statistics of the shared cache, entity name -> statistics. */
+    public Map<String, EntityStatistics> getStatistics() {
+        return new HashMap<>(statistics);
+    }
+
+    public static class EntityStatistics {
+        private final AtomicLong hits   = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        public long getHits() {
+            return hits.get();
+        }
+
+        public long getMisses() {
+            return misses.get();
+        }
+
+        /** Returns the part of the lookups served from the cache, from 0 to 1. */
+        public double getHitRatio() {
+            final long hits = getHits();
+            final long total = hits + getMisses();
+            return total == 0 ? 0 : (double)hits / total;
+        }
+    }
+}
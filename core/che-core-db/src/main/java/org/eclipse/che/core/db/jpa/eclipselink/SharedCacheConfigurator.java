@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import com.google.common.base.Splitter;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Singleton;
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+/**
+ * Configures EclipseLink shared (second-level) cache of the hot entities and collects its statistics.
+ *
+ * <p>Each of the configured entities keeps at most {@code che.database.cache.size} instances
+ * strongly referenced in the cache, and cached instances are not used after {@code che.database.cache.ttl_ms}
+ * since they were read from the database. Writes made through JPA are merged into the shared cache on commit
+ * and removed entities are evicted from it, the time to live bounds staleness of changes made outside of this server.
+ *
+ * <p>Hits and misses of the cache are counted only when the persistence unit has no profiler configured
+ * with {@code eclipselink.profiler}, the configured profiler is never replaced.
+ */
+@Singleton
+public class SharedCacheConfigurator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedCacheConfigurator.class);
+
+    /** Comma separated names of the entities which are cached, e.g. {@code Workspace,Stack}. */
+    @Inject(optional = true)
+    @Named("che.database.cache.entities")
+    private String entities = "";
+
+    @Inject(optional = true)
+    @Named("che.database.cache.size")
+    private int cacheSize = 1000;
+
+    @Inject(optional = true)
+    @Named("che.database.cache.ttl_ms")
+    private long ttlMs = 600_000;
+
+    private final CacheStatisticsProfiler profiler = new CacheStatisticsProfiler();
+
+    public SharedCacheConfigurator() {}
+
+    SharedCacheConfigurator(String entities, int cacheSize, long ttlMs) {
+        this.entities = entities;
+        this.cacheSize = cacheSize;
+        this.ttlMs = ttlMs;
+    }
+
+    /** Applies cache bounds to the configured entities and starts collecting cache statistics. */
+    public void configure(EntityManagerFactory emFactory) {
+        final ServerSession session = emFactory.unwrap(ServerSession.class);
+        for (String entity : Splitter.on(',').trimResults().omitEmptyStrings().split(entities)) {
+            final ClassDescriptor descriptor = session.getDescriptorForAlias(entity);
+            if (descriptor == null) {
+                LOG.warn("Shared cache of entity '{}' is not configured, there is no such entity", entity);
+                continue;
+            }
+            descriptor.setIdentityMapSize(cacheSize);
+            if (ttlMs > 0) {
+                descriptor.setCacheInvalidationPolicy(new TimeToLiveCacheInvalidationPolicy(ttlMs));
+            }
+            // recreates identity map of the entity with the new size
+            session.getIdentityMapAccessor().initializeIdentityMap(descriptor.getJavaClass());
+            LOG.debug("Shared cache of entity '{}' is configured, size {}, ttl {} ms", entity, cacheSize, ttlMs);
+        }
+        if (session.getProfiler() == null) {
+            session.setProfiler(profiler);
+        } else {
+            LOG.info("Statistics of the shared cache are not collected, profiler '{}' is already configured",
+                     session.getProfiler().getClass().getName());
+        }
+    }
+
+    /**
+     * Returns statistics of the shared cache, entity name -> statistics.
+     * The map is empty when the statistics are not collected because another profiler is configured.
+     */
+    public Map<String, CacheStatisticsProfiler.EntityStatistics> getStatistics() {
+        return profiler.getStatistics();
+    }
+}
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.invalidation.NoExpiryCacheInvalidationPolicy;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Id;
+import javax.persistence.Persistence;
+import javax.persistence.Table;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link SharedCacheConfigurator}.
+ */
+public class SharedCacheConfiguratorTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:shared_cache;DB_CLOSE_DELAY=-1";
+
+    private EntityManagerFactory emFactory;
+
+    @BeforeMethod
+    public void setUp() {
+        emFactory = Persistence.createEntityManagerFactory("shared-cache",
+                                                           ImmutableMap.of(PersistenceUnitProperties.ECLIPSELINK_PERSISTENCE_XML,
+                                                                           "org/eclipse/che/core/db/jpa/eclipselink/" +
+                                                                           "shared-cache-persistence.xml"));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        emFactory.close();
+    }
+
+    @Test
+    public void limitsSizeOfIdentityMapOfConfiguredEntity() {
+        new SharedCacheConfigurator("CachedEntity", 10, 0).configure(emFactory);
+
+        final ServerSession session = emFactory.unwrap(ServerSession.class);
+        final ClassDescriptor descriptor = session.getDescriptor(CachedEntity.class);
+        assertEquals(descriptor.getIdentityMapSize(), 10);
+        assertEquals(session.getIdentityMapAccessorInstance().getIdentityMap(descriptor).getMaxSize(), 10);
+        assertTrue(descriptor.getCacheInvalidationPolicy() instanceof NoExpiryCacheInvalidationPolicy);
+    }
+
+    @Test
+    public void setsTimeToLiveOfConfiguredEntity() {
+        new SharedCacheConfigurator("CachedEntity", 10, 500).configure(emFactory);
+
+        final ClassDescriptor descriptor = emFactory.unwrap(ServerSession.class).getDescriptor(CachedEntity.class);
+        assertTrue(descriptor.getCacheInvalidationPolicy() instanceof TimeToLiveCacheInvalidationPolicy);
+        assertEquals(((TimeToLiveCacheInvalidationPolicy)descriptor.getCacheInvalidationPolicy()).getTimeToLive(), 500);
+    }
+
+    @Test
+    public void skipsUnknownEntities() {
+        new SharedCacheConfigurator("Unknown, CachedEntity", 10, 0).configure(emFactory);
+
+        assertEquals(emFactory.unwrap(ServerSession.class).getDescriptor(CachedEntity.class).getIdentityMapSize(), 10);
+    }
+
+    @Test
+    public void readsCachedEntityFromDatabaseWhenTimeToLiveExpires() throws Exception {
+        final long ttlMs = 60_000;
+        new SharedCacheConfigurator("CachedEntity", 10, ttlMs).configure(emFactory);
+        persist(new CachedEntity("id", "initial"));
+
+        updateNameInDatabase("id", "changed");
+
+        assertEquals(find("id").name, "initial");
+        // ages the cached instance instead of waiting for its time to live to pass
+        final CacheKey cacheKey = getCacheKey("id");
+        cacheKey.setReadTime(cacheKey.getReadTime() - ttlMs - 1);
+        assertEquals(find("id").name, "changed");
+    }
+
+    @Test
+    public void countsHitsAndMissesOfSharedCache() {
+        final SharedCacheConfigurator configurator = new SharedCacheConfigurator("CachedEntity", 10, 0);
+        configurator.configure(emFactory);
+        persist(new CachedEntity("id", "initial"));
+        emFactory.getCache().evictAll();
+
+        find("id");
+        find("id");
+
+        assertTrue(emFactory.unwrap(ServerSession.class).getProfiler() instanceof CacheStatisticsProfiler);
+        final CacheStatisticsProfiler.EntityStatistics statistics = configurator.getStatistics().get("CachedEntity");
+        assertNotNull(statistics);
+        assertTrue(statistics.getMisses() > 0);
+        assertTrue(statistics.getHits() > 0);
+        assertTrue(statistics.getHitRatio() > 0 && statistics.getHitRatio() < 1);
+    }
+
+    @Test
+    public void doesNotReplaceConfiguredProfiler() {
+        final ServerSession session = emFactory.unwrap(ServerSession.class);
+        final SessionProfiler configured = new SessionProfilerAdapter();
+        session.setProfiler(configured);
+        final SharedCacheConfigurator configurator = new SharedCacheConfigurator("CachedEntity", 10, 0);
+
+        configurator.configure(emFactory);
+        find("id");
+
+        assertSame(session.getProfiler(), configured);
+        assertTrue(configurator.getStatistics().isEmpty());
+    }
+
+    private void persist(CachedEntity entity) {
+        final EntityManager manager = emFactory.createEntityManager();
+        try {
+            manager.getTransaction().begin();
+            manager.persist(entity);
+            manager.getTransaction().commit();
+        } finally {
+            manager.close();
+        }
+    }
+
+    private CachedEntity find(String id) {
+        final EntityManager manager = emFactory.createEntityManager();
+        try {
+            return manager.find(CachedEntity.class, id);
+        } finally {
+            manager.close();
+        }
+    }
+
+    private CacheKey getCacheKey(String id) {
+        final ServerSession session = emFactory.unwrap(ServerSession.class);
+        final CacheKey cacheKey = session.getIdentityMapAccessorInstance()
+                                         .getCacheKeyForObject(id, CachedEntity.class, session.getDescriptor(CachedEntity.class), false);
+        assertNotNull(cacheKey);
+        return cacheKey;
+    }
+
+    /** Changes the entity bypassing the persistence unit, as another server would do. */
+    private static void updateNameInDatabase(String id, String name) throws Exception {
+        try (Connection connection = DriverManager.getConnection(DB_URL);
+             PreparedStatement statement = connection.prepareStatement("UPDATE cached_entity SET name = ? WHERE id = ?")) {
+            statement.setString(1, name);
+            statement.setString(2, id);
+            assertEquals(statement.executeUpdate(), 1);
+        }
+    }
+
+    @Entity(name = "CachedEntity")
+    @Table(name = "cached_entity")
+    public static class CachedEntity {
+        @Id
+        private String id;
+        private String name;
+
+        public CachedEntity() {}
+
+        public CachedEntity(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
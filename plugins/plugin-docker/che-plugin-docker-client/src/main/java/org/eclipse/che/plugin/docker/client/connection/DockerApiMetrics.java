@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Collects number and latency of docker API calls per endpoint, e.g. {@code GET /containers/{id}/json}.
+ * <p>
+ * Latency is the time from the start of the request till the status of the response is received,
+ * reading of the response body isn't included since streaming responses may last for the whole life of a container.
+ */
+public class DockerApiMetrics {
+    private static final Pattern     API_VERSION     = Pattern.compile("^/v\\d+(\\.\\d+)?(?=/)");
+    private static final Pattern     RESOURCE_ID     = Pattern.compile("^/(containers|exec|networks|volumes)/(?!(json|create|prune)$)[^/]+");
+    private static final String      IMAGES_PREFIX   = "/images/";
+    /** Endpoints under {@code /images/} which don't contain an image name. */
+    private static final Set<String> IMAGE_ENDPOINTS = ImmutableSet.of("json", "create", "search", "load", "get", "prune");
+    private static final Set<String> IMAGE_ACTIONS   = ImmutableSet.of("json", "history", "push", "tag", "get");
+    /**
+     * Max number of endpoints which statistics are kept separately, calls of other endpoints are recorded as {@link #OTHER_ENDPOINTS},
+     * so paths which aren't normalized, e.g. of API versions not known yet, don't grow the statistics without bound.
+     */
+    static final         int         MAX_ENDPOINTS   = 500;
+    static final         String      OTHER_ENDPOINTS = "other";
+
+    private final ConcurrentMap<String, EndpointStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Records a call of docker API.
+     *
+     * @param method
+     *         HTTP method of the request
+     * @param path
+     *         path of the request, identifiers in the path are replaced with placeholders
+     * @param durationNanos
+     *         duration of the call in nanoseconds
+     */
+    public void record(String method, String path, long durationNanos) {
+        String endpoint = method + ' ' + normalize(path);
+        if (statistics.size() >= MAX_ENDPOINTS && !statistics.containsKey(endpoint)) {
+            endpoint = OTHER_ENDPOINTS;
+        }
+        final EndpointStatistics endpointStatistics = statistics.computeIfAbsent(endpoint, key -> new EndpointStatistics());
+        synchronized (endpointStatistics) {
+            endpointStatistics.count++;
+            endpointStatistics.totalNanos += durationNanos;
+            endpointStatistics.maxNanos = Math.max(endpointStatistics.maxNanos, durationNanos);
+        }
+    }
+
+    /** Returns statistics of all called endpoints, endpoint -> statistics. */
+    public Map<String, EndpointStatistics> getStatistics() {
+        final Map<String, EndpointStatistics> result = new HashMap<>();
+        statistics.forEach((endpoint, endpointStatistics) -> result.put(endpoint, endpointStatistics.copy()));
+        return result;
+    }
+
+    /**
+     * Replaces identifiers in the path with placeholders, e.g. {@code /v1.20/containers/4fa6e0f0/json} -> {@code
+     * /containers/{id}/json}, {@code /images/registry:5000/org/image/push} -> {@code /images/{name}/push}.
+     */
+    static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        final String withoutVersion = API_VERSION.matcher(path).replaceFirst("");
+        if (withoutVersion.startsWith(IMAGES_PREFIX)) {
+            final String rest = withoutVersion.substring(IMAGES_PREFIX.length());
+            if (rest.isEmpty() || IMAGE_ENDPOINTS.contains(rest)) {
+                return withoutVersion;
+            }
+            // image name may contain slashes, so action is the last segment of the path
+            final String action = rest.substring(rest.lastIndexOf('/') + 1);
+            return rest.indexOf('/') != -1 && IMAGE_ACTIONS.contains(action) ? IMAGES_PREFIX + "{name}/" + action
+                                                                               : IMAGES_PREFIX + "{name}";
+        }
+        return RESOURCE_ID.matcher(withoutVersion).replaceFirst("/$1/{id}");
+    }
+
+    public static class EndpointStatistics {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        /** Number of calls. */
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+        }
+
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+
+        public double getAverageMillis() {
+            return count == 0 ? 0 : (double)totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        private synchronized EndpointStatistics copy() {
+            final EndpointStatistics copy = new EndpointStatistics();
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            return copy;
+        }
+    }
+}
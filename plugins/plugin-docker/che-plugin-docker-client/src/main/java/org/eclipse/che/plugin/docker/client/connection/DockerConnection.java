@@ -17,9 +17,13 @@ import org.eclipse.che.commons.lang.Pair;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * @author andrew00x
@@ -32,6 +36,10 @@ public abstract class DockerConnection implements Closeable {
     private Entity<?> entity;
     private StringBuilder         query   = new StringBuilder();
     private List<Pair<String, ?>> headers = new LinkedList<>();
+    private DockerApiMetrics      metrics;
+    private Semaphore             permits;
+    private long                  permitTimeoutMs;
+    private boolean               permitAcquired;
 
     public DockerConnection method(String method) {
         this.method = method;
@@ -92,7 +100,60 @@ public abstract class DockerConnection implements Closeable {
     }
 
     public DockerResponse request() throws IOException {
-        return request(method, path, query.toString(), headers, entity);
+        acquirePermit();
+        if (metrics == null) {
+            return request(method, path, query.toString(), headers, entity);
+        }
+        final long start = System.nanoTime();
+        final DockerResponse response = request(method, path, query.toString(), headers, entity);
+        try {
+            response.getStatus();
+        } finally {
+            metrics.record(method, path, System.nanoTime() - start);
+        }
+        return response;
+    }
+
+    /** Sets metrics which record latency of the requests of this connection. */
+    DockerConnection metrics(DockerApiMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Limits the number of connections which are open at the same time, the permit is acquired when the request is sent
+     * and released when the connection is closed.
+     *
+     * @param timeoutMs
+     *         max time to wait for a permit
+     */
+    DockerConnection permits(Semaphore permits, long timeoutMs) {
+        this.permits = permits;
+        this.permitTimeoutMs = timeoutMs;
+        return this;
+    }
+
+    private void acquirePermit() throws IOException {
+        if (permits == null || permitAcquired) {
+            return;
+        }
+        try {
+            permitAcquired = permits.tryAcquire(permitTimeoutMs, MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a free connection to docker API");
+        }
+        if (!permitAcquired) {
+            throw new IOException(String.format("No free connection to docker API in %d ms, all connections are in use", permitTimeoutMs));
+        }
+    }
+
+    /** Releases the permit acquired by the request, implementations call it when the connection is closed. */
+    protected void releasePermit() {
+        if (permitAcquired) {
+            permitAcquired = false;
+            permits.release();
+        }
     }
 
     protected abstract DockerResponse request(String method,
@@ -111,6 +172,11 @@ public abstract class DockerConnection implements Closeable {
         }
 
         abstract void writeTo(OutputStream output) throws IOException;
+
+        /** Returns size of the entity in bytes or -1 if it is unknown. */
+        long length() {
+            return -1;
+        }
     }
 
     static class StreamEntity extends Entity<InputStream> {
@@ -139,6 +205,11 @@ public abstract class DockerConnection implements Closeable {
             output.write(entity.getBytes());
             output.flush();
         }
+
+        @Override
+        long length() {
+            return entity.getBytes().length;
+        }
     }
 
     static class BytesEntity extends Entity<byte[]> {
@@ -151,5 +222,10 @@ public abstract class DockerConnection implements Closeable {
             output.write(entity);
             output.flush();
         }
+
+        @Override
+        long length() {
+            return entity.length;
+        }
     }
 }
@@ -15,19 +15,38 @@ import com.google.inject.Inject;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Unix socket connections are kept alive after the response is read completely and reused by the next
+ * requests when {@value #CONNECTION_POOL_SIZE_PROPERTY} is greater than 0. TCP connections are kept alive only
+ * when {@value #CONNECTION_TCP_KEEP_ALIVE_PROPERTY} is set to true, otherwise they are closed after each request
+ * as a workaround of <a href="https://github.com/docker/docker/issues/12845">docker bug</a>.
+ *
+ * <p>The number of connections which are open at the same time is limited by {@value #MAX_CONNECTIONS_PROPERTY},
+ * a request waits for a free connection up to the connection timeout. Connections of streaming requests, e.g. events
+ * or attach to container, are held for a long time, so the limit has to be much greater than the number of running
+ * containers, it is disabled by default.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "che.docker.tcp_connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String CONNECTION_POOL_SIZE_PROPERTY       = "che.docker.connection_pool_size";
+    public static final String CONNECTION_TCP_KEEP_ALIVE_PROPERTY  = "che.docker.tcp_keep_alive";
+    public static final String MAX_CONNECTIONS_PROPERTY            = "che.docker.max_connections";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,18 +56,75 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    @Inject(optional = true)
+    @Named(CONNECTION_POOL_SIZE_PROPERTY)
+    private int connectionPoolSize = 10;
+
+    @Inject(optional = true)
+    @Named(CONNECTION_TCP_KEEP_ALIVE_PROPERTY)
+    private boolean tcpKeepAlive;
+
+    @Inject(optional = true)
+    @Named(MAX_CONNECTIONS_PROPERTY)
+    private int maxConnections;
+
+    private final DockerCertificates                              dockerCertificates;
+    private final DockerApiMetrics                                metrics;
+    private final ConcurrentMap<String, UnixSocketConnectionPool> unixSocketPools;
+
+    private volatile Semaphore connectionPermits;
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+        this.metrics = new DockerApiMetrics();
+        this.unixSocketPools = new ConcurrentHashMap<>();
     }
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
+        final DockerConnection connection;
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            final String socketPath = dockerDaemonUri.getPath();
+            connection = new UnixSocketConnection(socketPath,
+                                                  connectionPoolSize > 0
+                                                  ? unixSocketPools.computeIfAbsent(socketPath,
+                                                                                    path -> new UnixSocketConnectionPool(connectionPoolSize))
+                                                  : null);
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            connection = new TcpConnection(dockerDaemonUri,
+                                           dockerCertificates,
+                                           connectionTimeoutMs,
+                                           connectionReadTimeoutMs,
+                                           tcpKeepAlive);
         }
+        connection.metrics(metrics);
+        if (maxConnections > 0) {
+            connection.permits(getConnectionPermits(), connectionTimeoutMs);
+        }
+        return connection;
+    }
+
+    private Semaphore getConnectionPermits() {
+        // created lazily since the limit is injected into the field after construction
+        Semaphore permits = connectionPermits;
+        if (permits == null) {
+            synchronized (this) {
+                permits = connectionPermits;
+                if (permits == null) {
+                    connectionPermits = permits = new Semaphore(maxConnections, true);
+                }
+            }
+        }
+        return permits;
+    }
+
+    /** Returns latency of docker API calls made through connections of this factory. */
+    public DockerApiMetrics getMetrics() {
+        return metrics;
+    }
+
+    @PreDestroy
+    public void closeIdleConnections() {
+        unixSocketPools.values().forEach(UnixSocketConnectionPool::closeIdleConnections);
     }
 }
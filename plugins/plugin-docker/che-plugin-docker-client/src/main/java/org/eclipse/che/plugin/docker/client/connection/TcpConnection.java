@@ -32,10 +32,22 @@ public class TcpConnection extends DockerConnection {
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
+    private final boolean            keepAlive;
 
     private HttpURLConnection connection;
+    private TcpDockerResponse response;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, false);
+    }
+
+    /**
+     * @param keepAlive
+     *         whether connection should be kept open after response is read completely, so the next request reuses it,
+     *         idle connections are kept by {@link HttpURLConnection} implementation, see {@code http.maxConnections}
+     *         system property
+     */
+    public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs, boolean keepAlive) {
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,6 +59,7 @@ public class TcpConnection extends DockerConnection {
         this.certificates = certificates;
         this.connectionTimeout = connectionTimeoutMs;
         this.readTimeout = readTimeoutMs;
+        this.keepAlive = keepAlive;
     }
 
     @Override
@@ -62,8 +75,23 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        final boolean idempotent = isIdempotent(method);
+        if (!keepAlive) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
+        // HttpURLConnection silently resends a request which failed on a cached connection unless its body is streamed,
+        // the failure may happen after docker processed the request, so the request mustn't be repeated
+        final boolean streaming = keepAlive && !idempotent;
+        if (streaming) {
+            final long length = entity == null ? 0 : entity.length();
+            if (length < 0) {
+                connection.setChunkedStreamingMode(0);
+            } else {
+                connection.setFixedLengthStreamingMode(length);
+            }
+            connection.setDoOutput(true);
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -78,14 +106,30 @@ public class TcpConnection extends DockerConnection {
             try (OutputStream output = connection.getOutputStream()) {
                 entity.writeTo(output);
             }
+        } else if (streaming) {
+            connection.getOutputStream().close();
         }
-        return new TcpDockerResponse(connection);
+        return response = new TcpDockerResponse(connection);
+    }
+
+    private static boolean isIdempotent(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
     }
 
     @Override
     public void close() {
+        releasePermit();
         if (connection != null) {
-            connection.disconnect();
+            if (keepAlive && response != null && response.isReadCompletely()) {
+                // closing of completely read stream returns connection to the keep-alive cache
+                try {
+                    response.getInputStream().close();
+                } catch (IOException e) {
+                    connection.disconnect();
+                }
+            } else {
+                connection.disconnect();
+            }
         }
     }
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
@@ -22,13 +23,27 @@ import java.util.Map;
 public class TcpDockerResponse implements DockerResponse {
     private final HttpURLConnection connection;
 
+    private int                    status = -1;
+    private EofTrackingInputStream entityStream;
+
     TcpDockerResponse(HttpURLConnection connection) {
         this.connection = connection;
     }
 
     @Override
     public int getStatus() throws IOException {
-        return connection.getResponseCode();
+        if (status == -1) {
+            status = connection.getResponseCode();
+        }
+        return status;
+    }
+
+    /** Whether the response body is read to the end or the response has no body. */
+    boolean isReadCompletely() {
+        if (entityStream != null) {
+            return entityStream.eof;
+        }
+        return status != -1 && (status == 204 || connection.getContentLength() == 0);
     }
 
     @Override
@@ -54,11 +69,40 @@ public class TcpDockerResponse implements DockerResponse {
     }
 
     @Override
-    public InputStream getInputStream() throws IOException {
-        InputStream entityStream = connection.getErrorStream();
+    public synchronized InputStream getInputStream() throws IOException {
         if (entityStream == null) {
-            entityStream = connection.getInputStream();
+            InputStream stream = connection.getErrorStream();
+            if (stream == null) {
+                stream = connection.getInputStream();
+            }
+            entityStream = new EofTrackingInputStream(stream);
         }
         return entityStream;
     }
+
+    private static class EofTrackingInputStream extends FilterInputStream {
+        volatile boolean eof;
+
+        EofTrackingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b == -1) {
+                eof = true;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int n = super.read(b, off, len);
+            if (n == -1) {
+                eof = true;
+            }
+            return n;
+        }
+    }
 }
@@ -35,18 +35,54 @@ import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private final String                   dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
 
-    private int fd = -1;
+    private int                      fd = -1;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
+        this(dockerSocketPath, null);
+    }
+
+    /**
+     * @param pool
+     *         pool of idle connections, connection is taken from it for GET and HEAD requests if possible, connection of
+     *         any request is returned to it after the response is read completely, may be {@code null}, then new
+     *         connection is opened for each request
+     */
+    UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool pool) {
         this.dockerSocketPath = dockerSocketPath;
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
+        // Failure on idle connection can't be told apart from failure after docker processed the request,
+        // so only requests which are safe to repeat are sent over idle connections and retried on new one
+        if (pool != null && isIdempotent(method) && !(entity instanceof StreamEntity)) {
+            fd = pool.acquire();
+            if (fd != -1) {
+                try {
+                    response = doRequest(method, path, query, headers, entity);
+                    response.getStatus();
+                    return response;
+                } catch (IOException e) {
+                    // most likely docker closed idle connection
+                    getCLibrary().close(fd);
+                }
+            }
+        }
         fd = connect();
+        return response = doRequest(method, path, query, headers, entity);
+    }
+
+    private UnixSocketDockerResponse doRequest(String method,
+                                               String path,
+                                               String query,
+                                               List<Pair<String, ?>> headers,
+                                               Entity<?> entity) throws IOException {
         final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
         writeHttpHeaders(output, method, path, query, headers);
         if (entity != null) {
@@ -55,11 +91,28 @@ public class UnixSocketConnection extends DockerConnection {
         return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
     }
 
-
     @Override
     public void close() {
+        releasePermit();
         if (fd != -1) {
-            getCLibrary().close(fd);
+            if (pool != null && isReusable()) {
+                pool.release(fd);
+            } else {
+                getCLibrary().close(fd);
+            }
+            fd = -1;
+        }
+    }
+
+    private static boolean isIdempotent(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private boolean isReusable() {
+        try {
+            return response != null && response.isReusable();
+        } catch (IOException e) {
+            return false;
         }
     }
 
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Keeps connected sockets of a docker unix socket, so sequential requests to docker API reuse connections
+ * (HTTP keep-alive) instead of opening new socket for each request.
+ * <p>
+ * Only idle connections are kept and their number is limited, the number of connections which are in use isn't limited
+ * since streaming requests, e.g. attach to container or events, hold connection for a long time.
+ */
+class UnixSocketConnectionPool {
+    private final int            maxIdleConnections;
+    private final Deque<Integer> idle = new ArrayDeque<>();
+
+    UnixSocketConnectionPool(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    /** Returns file descriptor of idle connection or -1 if there is no such connection. */
+    synchronized int acquire() {
+        // the most recently used connection is the least likely to be closed by docker
+        final Integer fd = idle.pollFirst();
+        return fd == null ? -1 : fd;
+    }
+
+    /** Returns connection to the pool, connection is closed when the pool is full. */
+    void release(int fd) {
+        synchronized (this) {
+            if (idle.size() < maxIdleConnections) {
+                idle.addFirst(fd);
+                return;
+            }
+        }
+        getCLibrary().close(fd);
+    }
+
+    /** Closes all idle connections. */
+    void closeIdleConnections() {
+        final Integer[] fds;
+        synchronized (this) {
+            fds = idle.toArray(new Integer[idle.size()]);
+            idle.clear();
+        }
+        for (Integer fd : fds) {
+            getCLibrary().close(fd);
+        }
+    }
+}
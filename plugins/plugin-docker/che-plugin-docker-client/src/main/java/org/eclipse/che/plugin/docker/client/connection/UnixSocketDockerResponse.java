@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -109,6 +110,24 @@ public class UnixSocketDockerResponse implements DockerResponse {
         return headers.toArray(new String[headers.size()]);
     }
 
+    /**
+     * Whether the response is read completely, so the connection can be used for the next request.
+     * Responses which body isn't delimited, e.g. attached streams, aren't reusable.
+     */
+    synchronized boolean isReusable() throws IOException {
+        if (headersFields == null || "close".equalsIgnoreCase(getHeader("Connection"))) {
+            return false;
+        }
+        final int status = getStatus();
+        if (data == EMPTY || status == 204 || status == 304) {
+            return true;
+        }
+        if (data instanceof LimitedInputStream) {
+            return ((LimitedInputStream)data).isExhausted();
+        }
+        return data instanceof ChunkedInputStream && ((ChunkedInputStream)data).isEof();
+    }
+
     @Override
     public synchronized InputStream getInputStream() throws IOException {
         if (this.headersFields != null) {
@@ -120,6 +139,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
         for (int i = 0; i < 8; i++) {
             int c = rawData.read();
             if (c == -1) {
+                if (i == 0) {
+                    throw new EOFException("Connection is closed by docker API");
+                }
                 break;
             }
             lineBuf.append((char)c);
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Test for {@link DockerApiMetrics}
+ */
+public class DockerApiMetricsTest {
+
+    @DataProvider(name = "paths")
+    public static Object[][] paths() {
+        return new Object[][] {
+            {"/v1.20/containers/json", "/containers/json"},
+            {"/containers/create", "/containers/create"},
+            {"/v1.20/containers/4fa6e0f0c678/json", "/containers/{id}/json"},
+            {"/containers/4fa6e0f0c678", "/containers/{id}"},
+            {"/exec/1b6f4c1d/start", "/exec/{id}/start"},
+            {"/networks/prune", "/networks/prune"},
+            {"/images/json", "/images/json"},
+            {"/images/create", "/images/create"},
+            {"/v1.20/images/eclipse/ubuntu_jdk8", "/images/{name}"},
+            {"/images/registry:5000/eclipse/ubuntu_jdk8/json", "/images/{name}/json"},
+            {"/images/machine_snapshot_abc/push", "/images/{name}/push"},
+            {"/v1.20/version", "/version"},
+            {"", "/"}
+        };
+    }
+
+    @Test(dataProvider = "paths")
+    public void shouldReplaceIdentifiersInPath(String path, String expected) {
+        assertEquals(DockerApiMetrics.normalize(path), expected);
+    }
+
+    @Test
+    public void shouldAggregateCallsOfTheSameEndpoint() {
+        DockerApiMetrics metrics = new DockerApiMetrics();
+
+        metrics.record("GET", "/containers/first/json", 2_000_000);
+        metrics.record("GET", "/containers/second/json", 4_000_000);
+        metrics.record("POST", "/containers/first/start", 1_000_000);
+
+        Map<String, DockerApiMetrics.EndpointStatistics> statistics = metrics.getStatistics();
+        assertEquals(statistics.size(), 2);
+        DockerApiMetrics.EndpointStatistics inspect = statistics.get("GET /containers/{id}/json");
+        assertEquals(inspect.getCount(), 2);
+        assertEquals(inspect.getTotalMillis(), 6);
+        assertEquals(inspect.getMaxMillis(), 4);
+        assertEquals(inspect.getAverageMillis(), 3.0);
+    }
+
+    @Test
+    public void shouldRecordCallsOfEndpointsOverLimitAsOther() {
+        DockerApiMetrics metrics = new DockerApiMetrics();
+
+        for (int i = 0; i < DockerApiMetrics.MAX_ENDPOINTS + 10; i++) {
+            metrics.record("GET", "/unknown" + i, 1_000_000);
+        }
+
+        Map<String, DockerApiMetrics.EndpointStatistics> statistics = metrics.getStatistics();
+        assertEquals(statistics.size(), DockerApiMetrics.MAX_ENDPOINTS + 1);
+        assertEquals(statistics.get(DockerApiMetrics.OTHER_ENDPOINTS).getCount(), 10);
+        assertEquals(statistics.get("GET /unknown0").getCount(), 1);
+    }
+}
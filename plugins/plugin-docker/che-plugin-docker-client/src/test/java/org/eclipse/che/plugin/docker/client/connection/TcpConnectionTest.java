@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpServer;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Test for {@link TcpConnection}
+ */
+public class TcpConnectionTest {
+    private HttpServer                  server;
+    private URI                         serverUri;
+    private BlockingQueue<List<String>> connectionHeaders;
+    private BlockingQueue<String>       bodies;
+
+    @BeforeMethod
+    public void startServer() throws Exception {
+        connectionHeaders = new LinkedBlockingQueue<>();
+        bodies = new LinkedBlockingQueue<>();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            List<String> connection = exchange.getRequestHeaders().get("Connection");
+            connectionHeaders.add(connection == null ? singletonList(null) : connection);
+            bodies.add(new String(ByteStreams.toByteArray(exchange.getRequestBody()), UTF_8));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        serverUri = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterMethod
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void shouldCloseConnectionWhenKeepAliveIsNotEnabled() throws Exception {
+        request(new TcpConnection(serverUri, null, 1000, 1000).method("GET").path("/version"));
+
+        assertEquals(connectionHeaders.poll(5, SECONDS).get(0), "close");
+    }
+
+    @Test
+    public void shouldKeepConnectionOfGetRequestWhenKeepAliveIsEnabled() throws Exception {
+        request(new TcpConnection(serverUri, null, 1000, 1000, true).method("GET").path("/version"));
+
+        assertNotEquals(connectionHeaders.poll(5, SECONDS).get(0), "close");
+    }
+
+    @Test
+    public void shouldKeepConnectionOfPostRequestWhenKeepAliveIsEnabled() throws Exception {
+        request(new TcpConnection(serverUri, null, 1000, 1000, true).method("POST")
+                                                                     .path("/containers/create")
+                                                                     .entity("{}".getBytes(UTF_8)));
+        request(new TcpConnection(serverUri, null, 1000, 1000, true).method("POST").path("/containers/abc/start"));
+
+        assertNotEquals(connectionHeaders.poll(5, SECONDS).get(0), "close");
+        assertEquals(bodies.poll(5, SECONDS), "{}");
+        assertNotEquals(connectionHeaders.poll(5, SECONDS).get(0), "close");
+        assertEquals(bodies.poll(5, SECONDS), "");
+    }
+
+    @Test
+    public void shouldWaitForFreeConnectionWhenLimitIsReached() throws Exception {
+        Semaphore permits = new Semaphore(1);
+        DockerConnection first = new TcpConnection(serverUri, null, 1000, 1000).permits(permits, 100)
+                                                                                .method("GET")
+                                                                                .path("/version");
+        first.request();
+
+        try {
+            request(new TcpConnection(serverUri, null, 1000, 1000).permits(permits, 100).method("GET").path("/version"));
+            fail("Request must fail when all connections are in use");
+        } catch (IOException expected) {
+            assertEquals(permits.availablePermits(), 0);
+        }
+
+        first.close();
+        request(new TcpConnection(serverUri, null, 1000, 1000).permits(permits, 100).method("GET").path("/version"));
+        assertEquals(permits.availablePermits(), 1);
+    }
+
+    private static void request(DockerConnection connection) throws Exception {
+        try {
+            DockerResponse response = connection.request();
+            assertEquals(response.getStatus(), 200);
+            try (InputStream ignored = response.getInputStream()) {
+                // response has no body
+            }
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -32,9 +32,12 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
+import org.eclipse.che.plugin.docker.client.params.InspectImageParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
 import org.eclipse.che.plugin.docker.client.params.PutResourceParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
@@ -55,6 +58,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHINE_SNAPSHOT_PREFIX;
 
@@ -74,6 +78,9 @@ public class DockerInstance extends AbstractInstance {
      */
     public static final String LATEST_TAG = "latest";
 
+    /** Max time to wait until committed image becomes available, e.g. on all swarm nodes */
+    private static final long SNAPSHOT_IMAGE_WAIT_TIMEOUT_MS = 30_000;
+
     private static final AtomicInteger pidSequence           = new AtomicInteger(1);
     private static final String        PID_FILE_TEMPLATE     = "/tmp/docker-exec-%s.pid";
     private static final Pattern       PID_FILE_PATH_PATTERN = Pattern.compile(String.format(PID_FILE_TEMPLATE, "([0-9]+)"));
@@ -103,6 +110,7 @@ public class DockerInstance extends AbstractInstance {
     private final ConcurrentHashMap<Integer, InstanceProcess> machineProcesses;
     private final boolean                                     snapshotUseRegistry;
     private final MachineRuntimeInfoImpl                      machineRuntime;
+    private final DockerSnapshotStatistics                    snapshotStatistics;
 
     @Inject
     public DockerInstance(DockerConnectorProvider dockerProvider,
@@ -116,7 +124,8 @@ public class DockerInstance extends AbstractInstance {
                           @Assisted LineConsumer outputConsumer,
                           DockerInstanceStopDetector dockerInstanceStopDetector,
                           DockerInstanceProcessesCleaner processesCleaner,
-                          @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry) throws MachineException {
+                          @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry,
+                          DockerSnapshotStatistics snapshotStatistics) throws MachineException {
         super(machine);
         this.dockerMachineFactory = dockerMachineFactory;
         this.container = container;
@@ -131,6 +140,7 @@ public class DockerInstance extends AbstractInstance {
         this.machineProcesses = new ConcurrentHashMap<>();
         processesCleaner.trackProcesses(this);
         this.snapshotUseRegistry = snapshotUseRegistry;
+        this.snapshotStatistics = snapshotStatistics;
         this.machineRuntime = doGetRuntime();
     }
 
@@ -201,10 +211,19 @@ public class DockerInstance extends AbstractInstance {
 
     @Override
     public MachineSource saveToSnapshot() throws MachineException {
+        final long start = System.currentTimeMillis();
         try {
             String image = generateRepository();
             if(!snapshotUseRegistry) {
                 commitContainer(image, LATEST_TAG);
+                // image isn't pushed anywhere, so it is waited for only for finding out its size
+                ImageInfo snapshot = null;
+                try {
+                    snapshot = waitImageAvailable(image + ':' + LATEST_TAG);
+                } catch (MachineException e) {
+                    LOG.warn("{} Size of snapshot of machine {} is unknown", e.getLocalizedMessage(), getId());
+                }
+                snapshotStatistics.record(getWorkspaceId(), System.currentTimeMillis() - start, reportSnapshotSize(snapshot));
                 return new DockerMachineSource(image).withTag(LATEST_TAG);
             }
 
@@ -214,9 +233,10 @@ public class DockerInstance extends AbstractInstance {
 
             final String fullRepo = pushParams.getFullRepo();
             commitContainer(fullRepo, LATEST_TAG);
-            //TODO fix this workaround. Docker image is not visible after commit when using swarm
-            Thread.sleep(2000);
+            // image may be not visible right after commit when using swarm
+            final long size = reportSnapshotSize(waitImageAvailable(fullRepo + ':' + LATEST_TAG));
             final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
+            // layers which the registry already has, e.g. layers of the previous snapshot, are not pushed again
             final String digest = docker.push(pushParams,
                                               progressMonitor -> {
                                                   try {
@@ -225,6 +245,7 @@ public class DockerInstance extends AbstractInstance {
                                                   }
                                               });
             docker.removeImage(RemoveImageParams.create(fullRepo).withForce(false));
+            snapshotStatistics.record(getWorkspaceId(), System.currentTimeMillis() - start, size);
             return new DockerMachineSource(image).withRegistry(registry).withDigest(digest).withTag(LATEST_TAG);
         } catch (IOException ioEx) {
             throw new MachineException(ioEx);
@@ -234,6 +255,67 @@ public class DockerInstance extends AbstractInstance {
         }
     }
 
+    /**
+     * Waits until committed image can be inspected.
+     *
+     * @return information about the image
+     * @throws MachineException
+     *         when image is not available during {@link #SNAPSHOT_IMAGE_WAIT_TIMEOUT_MS}
+     */
+    private ImageInfo waitImageAvailable(String image) throws IOException, InterruptedException, MachineException {
+        final long deadline = System.currentTimeMillis() + SNAPSHOT_IMAGE_WAIT_TIMEOUT_MS;
+        long delay = 50;
+        while (true) {
+            try {
+                return docker.inspectImage(InspectImageParams.create(image));
+            } catch (ImageNotFoundException e) {
+                if (System.currentTimeMillis() + delay > deadline) {
+                    throw new MachineException(format("Snapshot image '%s' is not available in %d ms after commit.",
+                                                      image, SNAPSHOT_IMAGE_WAIT_TIMEOUT_MS));
+                }
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, 1000);
+            }
+        }
+    }
+
+    /**
+     * Writes size of the new layer of the snapshot image to the machine output.
+     *
+     * @return size of the new layer in bytes or -1 if it can't be found out
+     */
+    private long reportSnapshotSize(ImageInfo snapshot) {
+        if (snapshot == null) {
+            return -1;
+        }
+        long size;
+        try {
+            size = getLayerSize(snapshot);
+        } catch (IOException e) {
+            LOG.debug("Can't get size of snapshot of machine {}. {}", getId(), e.getMessage());
+            return -1;
+        }
+        try {
+            outputConsumer.writeLine(format("[DOCKER] Snapshot of machine '%s' is committed, new layer size is %.1f MB",
+                                            getConfig().getName(), size / 1024.0 / 1024.0));
+        } catch (IOException ignored) {
+        }
+        return size;
+    }
+
+    private long getLayerSize(ImageInfo snapshot) throws IOException {
+        // older docker API reports size of the image's own layer separately from the size of all layers
+        if (snapshot.getVirtualSize() > snapshot.getSize() || isNullOrEmpty(snapshot.getParent())) {
+            return snapshot.getSize();
+        }
+        try {
+            final ImageInfo parent = docker.inspectImage(InspectImageParams.create(snapshot.getParent()));
+            return Math.max(0, snapshot.getSize() - parent.getSize());
+        } catch (ImageNotFoundException e) {
+            return snapshot.getSize();
+        }
+    }
+
     @VisibleForTesting
     protected void commitContainer(String repository, String tag) throws IOException {
         String comment = format("Suspended at %1$ta %1$tb %1$td %1$tT %1$tZ %1$tY",
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects duration and size of snapshots of docker machines per workspace.
+ *
+ * <p>Statistics of a workspace are dropped when the workspace is removed.
+ */
+@Singleton
+public class DockerSnapshotStatistics implements EventSubscriber<WorkspaceRemovedEvent> {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerSnapshotStatistics.class);
+
+    private final ConcurrentMap<String, WorkspaceStatistics> statistics = new ConcurrentHashMap<>();
+    private final EventService                               eventService;
+
+    @Inject
+    public DockerSnapshotStatistics(EventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        eventService.unsubscribe(this);
+    }
+
+    @Override
+    public void onEvent(WorkspaceRemovedEvent event) {
+        remove(event.getWorkspace().getId());
+    }
+
+    /**
+     * Records snapshot of a machine.
+     *
+     * @param workspaceId
+     *         id of the workspace the machine belongs to
+     * @param durationMillis
+     *         time spent on the snapshot, including commit and push of the image
+     * @param bytes
+     *         size of the new layer of the snapshot image or -1 if it is unknown
+     */
+    public void record(String workspaceId, long durationMillis, long bytes) {
+        WorkspaceStatistics workspaceStatistics = statistics.computeIfAbsent(workspaceId, id -> new WorkspaceStatistics());
+        synchronized (workspaceStatistics) {
+            workspaceStatistics.count++;
+            workspaceStatistics.totalDurationMillis += durationMillis;
+            workspaceStatistics.lastDurationMillis = durationMillis;
+            workspaceStatistics.lastBytes = bytes;
+            if (bytes > 0) {
+                workspaceStatistics.totalBytes += bytes;
+            }
+        }
+        LOG.info("Snapshot of machine of workspace {} took {} ms, {} bytes", workspaceId, durationMillis, bytes);
+    }
+
+    /** Returns statistics of the workspace snapshots or {@code null} if no snapshot of the workspace is made yet. */
+    public WorkspaceStatistics get(String workspaceId) {
+        WorkspaceStatistics workspaceStatistics = statistics.get(workspaceId);
+        return workspaceStatistics == null ? null : workspaceStatistics.copy();
+    }
+
+    /** Returns statistics of snapshots of all workspaces, workspace id -> statistics. */
+    public Map<String, WorkspaceStatistics> getAll() {
+        Map<String, WorkspaceStatistics> result = new HashMap<>();
+        statistics.forEach((workspaceId, workspaceStatistics) -> result.put(workspaceId, workspaceStatistics.copy()));
+        return result;
+    }
+
+    /** Removes statistics of the workspace, e.g. when the workspace is removed. */
+    public void remove(String workspaceId) {
+        statistics.remove(workspaceId);
+    }
+
+    public static class WorkspaceStatistics {
+        private long count;
+        private long totalDurationMillis;
+        private long totalBytes;
+        private long lastDurationMillis;
+        private long lastBytes;
+
+        /** Number of snapshots made. */
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalDurationMillis() {
+            return totalDurationMillis;
+        }
+
+        /** Sum of known sizes of the snapshots. */
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public long getLastDurationMillis() {
+            return lastDurationMillis;
+        }
+
+        /** Size of the latest snapshot or -1 if it is unknown. */
+        public long getLastBytes() {
+            return lastBytes;
+        }
+
+        private synchronized WorkspaceStatistics copy() {
+            WorkspaceStatistics copy = new WorkspaceStatistics();
+            copy.count = count;
+            copy.totalDurationMillis = totalDurationMillis;
+            copy.totalBytes = totalBytes;
+            copy.lastDurationMillis = lastDurationMillis;
+            copy.lastBytes = lastBytes;
+            return copy;
+        }
+    }
+}
@@ -14,23 +14,30 @@ import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
+import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.MachineLimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
+import org.eclipse.che.plugin.docker.client.params.InspectImageParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -42,12 +49,14 @@ import java.io.IOException;
 import static java.lang.String.format;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -85,11 +94,14 @@ public class DockerInstanceTest {
     @Mock
     private LineConsumer               outputConsumer;
 
+    private DockerSnapshotStatistics   snapshotStatistics;
+
     private DockerInstance dockerInstance;
 
     @BeforeMethod
     public void setUp() throws IOException, MachineException {
         when(dockerConnectorProviderMock.get()).thenReturn(dockerConnectorMock);
+        snapshotStatistics = new DockerSnapshotStatistics(mock(EventService.class));
         dockerInstance = getDockerInstance();
         when(dockerConnectorMock.createExec(any(CreateExecParams.class))).thenReturn(execMock);
         when(execMock.getId()).thenReturn(EXEC_ID);
@@ -186,6 +198,65 @@ public class DockerInstanceTest {
         assertEquals(dockerMachineSource.getRegistry(), REGISTRY);
     }
 
+    @Test
+    public void shouldWaitUntilCommittedImageIsAvailableBeforePush() throws Exception {
+        final ImageInfo snapshotInfo = new ImageInfo();
+        snapshotInfo.setSize(2048);
+        dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true);
+        when(dockerConnectorMock.inspectImage(any(InspectImageParams.class))).thenThrow(new ImageNotFoundException("not found"))
+                                                                               .thenReturn(snapshotInfo);
+
+        dockerInstance.saveToSnapshot();
+
+        InOrder inOrder = inOrder(dockerConnectorMock);
+        inOrder.verify(dockerConnectorMock, times(2)).inspectImage(any(InspectImageParams.class));
+        inOrder.verify(dockerConnectorMock).push(any(PushParams.class), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldWriteSizeOfNewLayerOfSnapshotToMachineOutput() throws Exception {
+        final ImageInfo snapshotInfo = new ImageInfo();
+        snapshotInfo.setSize(3 * 1024 * 1024);
+        snapshotInfo.setParent("parent");
+        final ImageInfo parentInfo = new ImageInfo();
+        parentInfo.setSize(1024 * 1024);
+        when(dockerConnectorMock.inspectImage(any(InspectImageParams.class))).thenReturn(snapshotInfo, parentInfo);
+
+        dockerInstance.saveToSnapshot();
+
+        verify(outputConsumer).writeLine(format("[DOCKER] Snapshot of machine '%s' is committed, new layer size is %.1f MB",
+                                                dockerInstance.getConfig().getName(), 2.0));
+    }
+
+    @Test
+    public void shouldRecordSnapshotStatisticsOfWorkspace() throws Exception {
+        final ImageInfo snapshotInfo = new ImageInfo();
+        snapshotInfo.setSize(3072);
+        snapshotInfo.setParent("parent");
+        final ImageInfo parentInfo = new ImageInfo();
+        parentInfo.setSize(1024);
+        when(dockerConnectorMock.inspectImage(any(InspectImageParams.class))).thenReturn(snapshotInfo, parentInfo);
+
+        dockerInstance.saveToSnapshot();
+
+        DockerSnapshotStatistics.WorkspaceStatistics statistics = snapshotStatistics.get(WORKSPACE_ID);
+        assertEquals(statistics.getCount(), 1);
+        assertEquals(statistics.getLastBytes(), 2048);
+        assertEquals(statistics.getTotalBytes(), 2048);
+    }
+
+    @Test
+    public void shouldRemoveSnapshotStatisticsOfWorkspaceWhenWorkspaceIsRemoved() throws Exception {
+        snapshotStatistics.record(WORKSPACE_ID, 100, 2048);
+        final Workspace workspace = mock(Workspace.class);
+        when(workspace.getId()).thenReturn(WORKSPACE_ID);
+
+        snapshotStatistics.onEvent(new WorkspaceRemovedEvent(workspace));
+
+        assertNull(snapshotStatistics.get(WORKSPACE_ID));
+        assertTrue(snapshotStatistics.getAll().isEmpty());
+    }
+
     @Test(expectedExceptions = MachineException.class)
     public void shouldThrowMachineExceptionWhenDockerCommitFailed() throws Exception{
         when(dockerConnectorMock.commit(any(CommitParams.class))).thenThrow(new IOException("err"));
@@ -224,7 +295,8 @@ public class DockerInstanceTest {
                                   outputConsumer,
                                   dockerInstanceStopDetectorMock,
                                   mock(DockerInstanceProcessesCleaner.class),
-                                  snapshotUseRegistry);
+                                  snapshotUseRegistry,
+                                  snapshotStatistics);
     }
 
     private Machine getMachine() {
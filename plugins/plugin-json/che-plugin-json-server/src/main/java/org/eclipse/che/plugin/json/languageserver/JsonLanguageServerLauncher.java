@@ -57,6 +57,12 @@ public class JsonLanguageServerLauncher extends LanguageServerLauncherTemplate {
         return Files.exists(launchScript);
     }
 
+    @Override
+    public boolean isSharedAcrossProjects() {
+        // JSON language server doesn't depend on project, so one server is enough for all projects
+        return true;
+    }
+
     protected LanguageServer connectToLanguageServer(final Process languageServerProcess, LanguageClient client) {
         Launcher<LanguageServer> launcher = Launcher.createLauncher(client, LanguageServer.class,
                                                                     languageServerProcess.getInputStream(),
@@ -12,15 +12,19 @@ package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
  *
- * Manages and cache MavenServerWrapper instances
+ * Manages and cache MavenServerWrapper instances.
+ * Up to {@code poolSize} released servers of each type are kept for reuse, so concurrent tasks use a pool of maven server JVMs
+ * instead of starting new JVM each time.
  *
  * @author Evgen Vidolob
  */
@@ -28,36 +32,39 @@ import java.util.Set;
 public class MavenWrapperManager {
 
 
-    private final MavenServerManager    serverManager;
-    private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-    private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+    private final MavenServerManager                         serverManager;
+    private final int                                        poolSize;
+    private final Map<ServerType, Deque<MavenServerWrapper>> idleServers = new EnumMap<>(ServerType.class);
+    private final Map<MavenServerWrapper, ServerType>        usedServers = new HashMap<>();
 
 
-    @Inject
     public MavenWrapperManager(MavenServerManager serverManager) {
+        this(serverManager, 1);
+    }
+
+    @Inject
+    public MavenWrapperManager(MavenServerManager serverManager, @Named("che.maven.server.pool_size") int poolSize) {
         this.serverManager = serverManager;
+        this.poolSize = Math.max(1, poolSize);
     }
 
     public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-        MavenServerWrapper wrapper = cache.get(type);
+        MavenServerWrapper wrapper = idleServers.computeIfAbsent(type, key -> new ArrayDeque<>()).poll();
         if (wrapper == null) {
             wrapper = serverManager.createMavenServer();
-            cache.put(type, wrapper);
-        }
-
-        if (usedServers.contains(wrapper)) {
-            //need to warn here
-            return serverManager.createMavenServer();
         }
 
-        usedServers.add(wrapper);
+        usedServers.put(wrapper, type);
         return wrapper;
     }
 
     public synchronized void release(MavenServerWrapper wrapper) {
-        if (usedServers.contains(wrapper)) {
+        ServerType type = usedServers.remove(wrapper);
+        Deque<MavenServerWrapper> idle = type == null ? null : idleServers.get(type);
+        if (idle != null && idle.size() < poolSize) {
             wrapper.reset();
-            usedServers.remove(wrapper);
+            // the most recently used server is taken first, it is warmed up
+            idle.push(wrapper);
         } else {
             wrapper.dispose();
         }
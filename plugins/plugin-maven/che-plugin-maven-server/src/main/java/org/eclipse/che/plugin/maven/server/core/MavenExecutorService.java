@@ -11,7 +11,9 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
@@ -32,18 +34,33 @@ public class MavenExecutorService {
     private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
     private final ExecutorService service;
+    private final int             parallelism;
 
     public MavenExecutorService() {
+        this(1);
+    }
+
+    /**
+     * @param parallelism
+     *         number of maven tasks (e.g. resolving of projects) which may run at the same time
+     */
+    @Inject
+    public MavenExecutorService(@Named("che.maven.resolve.parallelism") int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Maven Executor - %d")
                                                                 .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                                                                 .build();
-        service = Executors.newFixedThreadPool(1, threadFactory);
+        service = Executors.newFixedThreadPool(this.parallelism, threadFactory);
     }
 
     public void submit(Runnable task) {
         service.execute(task);
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
     @PreDestroy
     public void shutdown() throws InterruptedException {
         // Tell threads to finish off.
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.shared.dto.event.PomModifiedEventDto;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Persistent cache of resolved models of maven projects, so projects which poms aren't changed since the previous start of
+ * workspace agent aren't resolved again, and their classpath is computed from the cached model.
+ * <p>
+ * Model is stored together with the hash of poms it depends on (the pom of the project, poms of its parents and of its
+ * dependencies which are projects of the workspace) and of the profiles of the project. Dependencies of a project are known only
+ * after it is resolved, so before restoring, the hash is computed over the poms stored with the model, see
+ * {@link #getModelPoms(MavenProject)}. Cached model is used only when the hash is the same. Models are stored under the workspace metadata folder, one file per project. Entries which depend on a modified pom
+ * are removed when {@link PomModifiedEventDto} is received.
+ */
+@Singleton
+public class MavenProjectCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenProjectCache.class);
+
+    private static final String ENTRY_EXTENSION = ".model";
+
+    private final Path                         cacheDir;
+    /** Project path -> cache entry, entries are loaded from disk on first access */
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Inject
+    public MavenProjectCache(@Named("che.workspace.metadata") String wsMetadata, EventService eventService) {
+        this(Paths.get(System.getProperty("user.home"), wsMetadata, "maven"));
+        eventService.subscribe(new EventSubscriber<PomModifiedEventDto>() {
+            @Override
+            public void onEvent(PomModifiedEventDto event) {
+                invalidate(event.getPath());
+            }
+        });
+    }
+
+    MavenProjectCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Computes hash of the model of the project.
+     *
+     * @param project
+     *         project which model is computed
+     * @param modelProjects
+     *         workspace projects which poms the model depends on, including the project itself
+     * @return hash of the model or {@code null} if hash can't be computed
+     */
+    public String computeHash(MavenProject project, Collection<MavenProject> modelProjects) {
+        Hasher hasher = Hashing.md5().newHasher();
+        try {
+            for (MavenProject modelProject : sortByPath(modelProjects)) {
+                File pom = modelProject.getPomFile();
+                if (pom == null || !pom.exists()) {
+                    return null;
+                }
+                hasher.putString(modelProject.getPomPath(), UTF_8);
+                hasher.putBytes(Files.readAllBytes(pom.toPath()));
+            }
+        } catch (IOException e) {
+            LOG.debug("Can't compute model hash of project {}", project.getPomPath(), e);
+            return null;
+        }
+        putProfiles(hasher, "active", project.getActiveProfiles());
+        putProfiles(hasher, "inactive", project.getInactiveProfiles());
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Returns paths of poms which the stored model of the project depends on, including the pom of the project itself,
+     * or empty set if there is no stored model of the project.
+     */
+    public Set<String> getModelPoms(MavenProject project) {
+        Entry entry = getEntry(projectPath(project));
+        return entry == null ? Collections.emptySet() : Collections.unmodifiableSet(entry.poms);
+    }
+
+    /**
+     * Applies cached model to the project if the model has the same hash.
+     *
+     * @return modifications of the project or {@code null} if there is no suitable model in the cache
+     */
+    public MavenProjectModifications restore(MavenProject project, String hash) {
+        Entry entry = getEntry(projectPath(project));
+        if (entry == null || !entry.hash.equals(hash)) {
+            return null;
+        }
+        try {
+            return project.restoreModel(entry.model);
+        } catch (RuntimeException e) {
+            LOG.debug("Can't restore cached model of project {}", project.getPomPath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores resolved model of the project.
+     *
+     * @param project
+     *         resolved project
+     * @param hash
+     *         hash of the model, computed before the project was resolved
+     * @param modelProjects
+     *         workspace projects which poms the model depends on, their changes invalidate the stored model
+     */
+    public void store(MavenProject project, String hash, Collection<MavenProject> modelProjects) {
+        Set<String> poms = new TreeSet<>();
+        modelProjects.forEach(modelProject -> poms.add(modelProject.getPomPath()));
+        String projectPath = projectPath(project);
+        Entry entry = new Entry(projectPath, hash, poms, project.getModel());
+        entries.put(projectPath, entry);
+        try {
+            Files.createDirectories(cacheDir);
+            Path file = entryFile(projectPath);
+            Path tmp = Files.createTempFile(cacheDir, null, null);
+            try (OutputStream out = Files.newOutputStream(tmp);
+                 ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+                objectOut.writeObject(entry);
+            }
+            Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Can't store model of project {}. {}", projectPath, e.getMessage());
+        }
+    }
+
+    /** Removes models which depend on the pom. */
+    public void invalidate(String pomPath) {
+        String normalized = pomPath.startsWith("/") ? pomPath : '/' + pomPath;
+        String projectPath = normalized.substring(0, normalized.lastIndexOf('/'));
+        remove(projectPath.isEmpty() ? "/" : projectPath);
+        entries.values()
+               .stream()
+               .filter(entry -> entry.poms.contains(normalized))
+               .map(entry -> entry.projectPath)
+               .forEach(this::remove);
+    }
+
+    /** Removes model of the project, e.g. when the project is deleted. */
+    public void remove(String projectPath) {
+        entries.remove(projectPath);
+        try {
+            Files.deleteIfExists(entryFile(projectPath));
+        } catch (IOException e) {
+            LOG.warn("Can't remove cached model of project {}. {}", projectPath, e.getMessage());
+        }
+    }
+
+    private Entry getEntry(String projectPath) {
+        Entry entry = entries.get(projectPath);
+        if (entry != null) {
+            return entry;
+        }
+        Path file = entryFile(projectPath);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file);
+             ObjectInputStream objectIn = new ObjectInputStream(in)) {
+            entry = (Entry)objectIn.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // written by another version of the plugin or corrupted
+            LOG.debug("Can't read cached model of project {}", projectPath, e);
+            remove(projectPath);
+            return null;
+        }
+        Entry existing = entries.putIfAbsent(projectPath, entry);
+        return existing != null ? existing : entry;
+    }
+
+    private Path entryFile(String projectPath) {
+        return cacheDir.resolve(Hashing.md5().hashString(projectPath, UTF_8).toString() + ENTRY_EXTENSION);
+    }
+
+    private static String projectPath(MavenProject project) {
+        return project.getProject().getFullPath().toOSString();
+    }
+
+    private static List<MavenProject> sortByPath(Collection<MavenProject> projects) {
+        return projects.stream()
+                       .sorted(Comparator.comparing(MavenProject::getPomPath))
+                       .collect(Collectors.toList());
+    }
+
+    private static void putProfiles(Hasher hasher, String kind, List<String> profiles) {
+        hasher.putString(kind, UTF_8);
+        if (profiles != null) {
+            new TreeSet<>(profiles).forEach(profile -> hasher.putString(profile, UTF_8).putChar(','));
+        }
+    }
+
+    private static class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String       projectPath;
+        final String       hash;
+        final Set<String>  poms;
+        final Serializable model;
+
+        Entry(String projectPath, String hash, Set<String> poms, Serializable model) {
+            this.projectPath = projectPath;
+            this.hash = hash;
+            this.poms = poms;
+            this.model = model;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +67,7 @@ public class MavenProjectManager {
     private final MavenTerminal         terminal;
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
+    private final MavenProjectCache     projectCache;
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
@@ -73,12 +75,26 @@ public class MavenProjectManager {
 
     private final MavenProjectListener dispatcher;
 
-    @Inject
     public MavenProjectManager(MavenWrapperManager wrapperManager,
                                MavenServerManager serverManager,
                                MavenTerminal terminal,
                                MavenProgressNotifier mavenNotifier,
                                EclipseWorkspaceProvider workspaceProvider) {
+        this(wrapperManager, serverManager, terminal, mavenNotifier, workspaceProvider, null);
+    }
+
+    /**
+     * @param projectCache
+     *         cache of resolved models of projects, may be {@code null}, then projects are always resolved by maven server
+     */
+    @Inject
+    public MavenProjectManager(MavenWrapperManager wrapperManager,
+                               MavenServerManager serverManager,
+                               MavenTerminal terminal,
+                               MavenProgressNotifier mavenNotifier,
+                               EclipseWorkspaceProvider workspaceProvider,
+                               MavenProjectCache projectCache) {
+        this.projectCache = projectCache;
         this.wrapperManager = wrapperManager;
         this.serverManager = serverManager;
         this.terminal = terminal;
@@ -113,12 +129,34 @@ public class MavenProjectManager {
     }
 
     public void resolveMavenProject(IProject project, MavenProject mavenProject) {
+        List<MavenProject> modelProjects = null;
+        String modelHash = null;
+        if (projectCache != null) {
+            modelProjects = findCachedModelProjects(mavenProject);
+            modelHash = modelProjects == null ? null : projectCache.computeHash(mavenProject, modelProjects);
+            MavenProjectModifications modifications = modelHash == null ? null : projectCache.restore(mavenProject, modelHash);
+            if (modifications != null) {
+                dispatcher.projectResolved(mavenProject, modifications);
+                return;
+            }
+        }
+
         MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
         try {
 
             mavenNotifier.setText("Resolving project: " + mavenProject.getName());
             mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
             MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
+            // models with problems, e.g. unresolved dependencies, are resolved again next time
+            if (projectCache != null && mavenProject.getProblems().isEmpty()) {
+                List<MavenProject> resolvedModelProjects = findModelProjects(mavenProject);
+                if (modelProjects == null || !new HashSet<>(resolvedModelProjects).equals(new HashSet<>(modelProjects))) {
+                    modelHash = projectCache.computeHash(mavenProject, resolvedModelProjects);
+                }
+                if (modelHash != null) {
+                    projectCache.store(mavenProject, modelHash, resolvedModelProjects);
+                }
+            }
             dispatcher.projectResolved(mavenProject, modifications);
 
         } finally {
@@ -127,6 +165,68 @@ public class MavenProjectManager {
 
     }
 
+    /**
+     * Returns the project together with workspace projects which poms its resolved model depends on: parents of the project and
+     * the projects it depends on, with their parents too.
+     */
+    private List<MavenProject> findModelProjects(MavenProject mavenProject) {
+        readLock.lock();
+        try {
+            Set<MavenProject> result = new LinkedHashSet<>();
+            addWithParents(mavenProject, result);
+            List<MavenArtifact> dependencies = mavenProject.getDependencies();
+            if (dependencies != null) {
+                for (MavenArtifact dependency : dependencies) {
+                    MavenKey key = new MavenKey(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+                    MavenProject dependencyProject = keyToProjectMap.get(key);
+                    if (dependencyProject != null) {
+                        addWithParents(dependencyProject, result);
+                    }
+                }
+            }
+            return new ArrayList<>(result);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the project with its parents and the workspace projects which poms the cached model of the project depends on.
+     * Dependencies of the project which is not resolved yet are unknown, so they are taken from the cache, the same
+     * projects give the same hash whether the project was resolved before or not.
+     *
+     * @return model projects or {@code null} if some of the poms the cached model depends on don't belong to the workspace anymore
+     */
+    private List<MavenProject> findCachedModelProjects(MavenProject mavenProject) {
+        Set<String> modelPoms = projectCache.getModelPoms(mavenProject);
+        readLock.lock();
+        try {
+            Set<MavenProject> result = new LinkedHashSet<>();
+            addWithParents(mavenProject, result);
+            if (!modelPoms.isEmpty()) {
+                Map<String, MavenProject> pomToProject = new HashMap<>();
+                projectToMavenProjectMap.values().forEach(project -> pomToProject.put(project.getPomPath(), project));
+                for (String pom : modelPoms) {
+                    MavenProject modelProject = pomToProject.get(pom);
+                    if (modelProject == null) {
+                        return null;
+                    }
+                    result.add(modelProject);
+                }
+            }
+            return new ArrayList<>(result);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void addWithParents(MavenProject mavenProject, Set<MavenProject> result) {
+        for (MavenProject project = mavenProject; project != null && result.add(project); ) {
+            MavenKey parentKey = project.getParentKey();
+            project = parentKey == null ? null : keyToProjectMap.get(parentKey);
+        }
+    }
+
 
     public void update(List<IProject> projects, boolean recursive) {
         if (projects.isEmpty()) {
@@ -280,6 +380,9 @@ public class MavenProjectManager {
         }
 
         state.remove(removedModule);
+        if (projectCache != null) {
+            projectCache.remove(removedModule.getProject().getFullPath().toOSString());
+        }
 
     }
 
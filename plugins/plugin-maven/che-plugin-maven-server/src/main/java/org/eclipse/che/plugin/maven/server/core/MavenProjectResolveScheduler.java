@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Resolves maven projects concurrently using {@link MavenExecutorService}. Project is resolved only after the projects it depends
+ * on (its parent and dependencies which are modules of the workspace) and which are scheduled too, so independent modules of
+ * a multi-module project are resolved at the same time, while the dependent ones wait for them.
+ * <p>
+ * Resolved projects are passed to the listener in batches, so classpath of several projects is updated at once.
+ */
+public class MavenProjectResolveScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenProjectResolveScheduler.class);
+
+    /** Number of resolved projects after which they are passed to the listener even if other projects are being resolved. */
+    static final int BATCH_SIZE = 10;
+
+    private final MavenExecutorService           service;
+    private final MavenProgressNotifier          notifier;
+    private final int                            parallelism;
+    private final Consumer<MavenProject>         resolver;
+    private final Consumer<List<MavenProject>>   resolvedListener;
+    private final Object                         listenerLock = new Object();
+
+    private final Set<MavenProject>  waiting  = new LinkedHashSet<>();
+    private final Set<MavenProject>  running  = new HashSet<>();
+    private final List<MavenProject> resolved = new ArrayList<>();
+
+    private int projectsDone;
+    private int batchesInProgress;
+
+    /**
+     * @param service
+     *         executor service which runs resolving
+     * @param notifier
+     *         notifier of the resolving progress
+     * @param resolver
+     *         resolves single project
+     * @param resolvedListener
+     *         receives batches of resolved projects
+     */
+    public MavenProjectResolveScheduler(MavenExecutorService service,
+                                        MavenProgressNotifier notifier,
+                                        Consumer<MavenProject> resolver,
+                                        Consumer<List<MavenProject>> resolvedListener) {
+        this.service = service;
+        this.notifier = notifier;
+        this.parallelism = service.getParallelism();
+        this.resolver = resolver;
+        this.resolvedListener = resolvedListener;
+    }
+
+    /** Schedules resolving of the projects, projects which are already waiting for resolving are not scheduled twice. */
+    public void schedule(Collection<MavenProject> projects) {
+        if (projects.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (isIdle()) {
+                notifier.start();
+            }
+            waiting.addAll(projects);
+            runReadyProjects();
+        }
+    }
+
+    /**
+     * Waits until all scheduled projects are resolved and passed to the listener.
+     * For test only.
+     */
+    public synchronized void waitForEndAllTasks() {
+        try {
+            while (!isIdle()) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.debug(e.getMessage(), e);
+        }
+    }
+
+    /** Submits projects which don't depend on waiting or running projects while there are free slots. Must be called under lock. */
+    private void runReadyProjects() {
+        if (running.size() >= parallelism || waiting.isEmpty()) {
+            return;
+        }
+        Set<MavenKey> blockingKeys = new HashSet<>();
+        waiting.forEach(project -> addKey(blockingKeys, project.getMavenKey()));
+        running.forEach(project -> addKey(blockingKeys, project.getMavenKey()));
+
+        List<MavenProject> ready = new ArrayList<>();
+        for (Iterator<MavenProject> it = waiting.iterator(); it.hasNext() && running.size() + ready.size() < parallelism; ) {
+            MavenProject project = it.next();
+            if (!running.contains(project) && !dependsOn(project, blockingKeys)) {
+                it.remove();
+                ready.add(project);
+            }
+        }
+
+        if (ready.isEmpty() && running.isEmpty()) {
+            // all waiting projects depend on each other, break the cycle
+            MavenProject project = waiting.iterator().next();
+            LOG.debug("Cyclic dependency between projects found, resolving {}", project.getName());
+            waiting.remove(project);
+            ready.add(project);
+        }
+
+        for (MavenProject project : ready) {
+            running.add(project);
+            service.submit(() -> resolve(project));
+        }
+    }
+
+    private void resolve(MavenProject project) {
+        try {
+            resolver.accept(project);
+        } catch (Throwable throwable) {
+            LOG.error(throwable.getMessage(), throwable);
+        }
+
+        List<MavenProject> batch = null;
+        synchronized (this) {
+            running.remove(project);
+            resolved.add(project);
+            projectsDone++;
+            notifier.setPercent((double)projectsDone / (double)(projectsDone + running.size() + waiting.size()));
+            runReadyProjects();
+
+            if (resolved.size() >= BATCH_SIZE || (running.isEmpty() && waiting.isEmpty())) {
+                batch = new ArrayList<>(resolved);
+                resolved.clear();
+                batchesInProgress++;
+            }
+        }
+
+        if (batch != null) {
+            try {
+                synchronized (listenerLock) {
+                    resolvedListener.accept(batch);
+                }
+            } catch (Throwable throwable) {
+                LOG.error(throwable.getMessage(), throwable);
+            } finally {
+                synchronized (this) {
+                    batchesInProgress--;
+                    if (isIdle()) {
+                        projectsDone = 0;
+                        notifier.stop();
+                        notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isIdle() {
+        return waiting.isEmpty() && running.isEmpty() && resolved.isEmpty() && batchesInProgress == 0;
+    }
+
+    /** Whether the project has a parent or a dependency among the given keys, the project's own key is ignored. */
+    private static boolean dependsOn(MavenProject project, Set<MavenKey> keys) {
+        MavenKey ownKey = project.getMavenKey();
+        MavenKey parentKey = project.getParentKey();
+        if (parentKey != null && !parentKey.equals(ownKey) && keys.contains(parentKey)) {
+            return true;
+        }
+        List<MavenArtifact> dependencies = project.getDependencies();
+        if (dependencies == null) {
+            return false;
+        }
+        for (MavenArtifact dependency : dependencies) {
+            MavenKey key = new MavenKey(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+            if (!key.equals(ownKey) && keys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addKey(Set<MavenKey> keys, MavenKey key) {
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+}
@@ -49,6 +49,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
 
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.MAVEN_ID;
 
@@ -65,8 +66,8 @@ public class MavenWorkspace {
     private final MavenCommunication        communication;
     private final ClasspathManager          classpathManager;
 
-    private MavenTaskExecutor resolveExecutor;
-    private MavenTaskExecutor classPathExecutor;
+    private MavenProjectResolveScheduler resolveScheduler;
+    private MavenTaskExecutor            classPathExecutor;
 
     private Set<MavenProject> projectsToResolve = new CopyOnWriteArraySet<>();
 
@@ -84,7 +85,10 @@ public class MavenWorkspace {
         this.communication = communication;
         this.classpathManager = classpathManager;
         this.manager = manager;
-        resolveExecutor = new MavenTaskExecutor(executorService, notifier);
+        resolveScheduler = new MavenProjectResolveScheduler(executorService,
+                                                            notifier,
+                                                            project -> new MavenProjectResolveTask(project, manager, null).perform(),
+                                                            this::updateClasspath);
         eventService.subscribe(new EventSubscriber<ProjectDeletedEvent>() {
             @Override
             public void onEvent(ProjectDeletedEvent event) {
@@ -154,14 +158,15 @@ public class MavenWorkspace {
         Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
         projectsToResolve.clear();
 
-        for (MavenProject mavenProject : needResolve) {
-
-            resolveExecutor.submitTask(new MavenProjectResolveTask(mavenProject, manager, () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
-            }));
-        }
+        resolveScheduler.schedule(needResolve);
+    }
 
+    private void updateClasspath(List<MavenProject> resolvedProjects) {
+        List<MavenProject> existingProjects = resolvedProjects.stream()
+                                                              .filter(project -> project.getProject().exists())
+                                                              .collect(Collectors.toList());
+        existingProjects.forEach(this::addSourcesFromBuildHelperPlugin);
+        classpathManager.updateClasspath(existingProjects);
     }
 
     private void updateJavaProject(MavenProject project) {
@@ -239,6 +244,6 @@ public class MavenWorkspace {
      * For test only.
      */
     public void waitForUpdate() {
-        resolveExecutor.waitForEndAllTasks();
+        resolveScheduler.waitForEndAllTasks();
     }
 }
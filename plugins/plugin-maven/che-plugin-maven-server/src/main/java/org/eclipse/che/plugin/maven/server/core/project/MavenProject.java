@@ -30,6 +30,7 @@ import org.eclipse.core.runtime.Path;
 import org.jdom.Element;
 
 import java.io.File;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -178,6 +179,38 @@ public class MavenProject {
         return setModel(reader.readMavenProject(getPom(project), serverManager), false, true);
     }
 
+    public List<String> getActiveProfiles() {
+        return info.activeProfiles;
+    }
+
+    public List<String> getInactiveProfiles() {
+        return info.inactiveProfiles;
+    }
+
+    /**
+     * Returns model of the project which can be stored and applied later with {@link #restoreModel(Serializable)}
+     * instead of resolving the project again.
+     */
+    public Serializable getModel() {
+        return info.clone();
+    }
+
+    /**
+     * Applies model returned by {@link #getModel()}.
+     *
+     * @return the modification types that applied to this project or {@code null} if the model refers to artifacts
+     * which don't exist anymore, in this case the model isn't applied
+     */
+    public MavenProjectModifications restoreModel(Serializable model) {
+        Info newInfo = ((Info)model).clone();
+        if (newInfo.dependencies != null && newInfo.dependencies.stream()
+                                                                .map(MavenArtifact::getFile)
+                                                                .anyMatch(file -> file != null && !file.exists())) {
+            return null;
+        }
+        return setInfo(newInfo);
+    }
+
     private MavenProjectModifications setModel(MavenModelReaderResult readerResult, boolean clearArtifacts, boolean clearProfiles) {
         Info newInfo = info.clone();
         newInfo.problems = readerResult.getProblems();
@@ -352,7 +385,9 @@ public class MavenProject {
     }
 
 
-    private static class Info implements Cloneable {
+    private static class Info implements Cloneable, Serializable {
+        private static final long serialVersionUID = 1L;
+
         public MavenKey mavenKey;
         public MavenKey parentKey;
 
@@ -379,7 +414,7 @@ public class MavenProject {
         public Map<String, String> modulesNameToPath;
 
         public Set<MavenKey> unresolvedArtifacts;
-        public List<MavenProjectProblem> problemsCache;
+        public transient List<MavenProjectProblem> problemsCache;
 
         public Info clone() {
             try {
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenConstants;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.Path;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MavenProjectCache}
+ */
+public class MavenProjectCacheTest {
+    private File              root;
+    private File              cacheDir;
+    private MavenProjectCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDir();
+        cacheDir = new File(root, "cache");
+        cache = new MavenProjectCache(cacheDir.toPath());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldRestoreStoredModelAfterRestart() throws Exception {
+        MavenProject project = project("parent", "<project/>");
+        String hash = cache.computeHash(project, Collections.singletonList(project));
+        cache.store(project, hash, Collections.singletonList(project));
+
+        assertNotNull(new MavenProjectCache(cacheDir.toPath()).restore(project, hash));
+    }
+
+    @Test
+    public void shouldNotRestoreModelWhenPomIsChanged() throws Exception {
+        MavenProject project = project("parent", "<project/>");
+        String hash = cache.computeHash(project, Collections.singletonList(project));
+        cache.store(project, hash, Collections.singletonList(project));
+
+        Files.write("<project><packaging>pom</packaging></project>", project.getPomFile(), UTF_8);
+        String newHash = cache.computeHash(project, Collections.singletonList(project));
+
+        assertNotEquals(newHash, hash);
+        assertNull(cache.restore(project, newHash));
+    }
+
+    @Test
+    public void shouldInvalidateModelsWhichDependOnModifiedPom() throws Exception {
+        MavenProject parent = project("parent", "<project/>");
+        MavenProject module = project("module", "<project/>");
+        String hash = cache.computeHash(module, Arrays.asList(module, parent));
+        cache.store(module, hash, Arrays.asList(module, parent));
+
+        cache.invalidate("/parent/pom.xml");
+
+        assertNull(cache.restore(module, hash));
+        assertNull(new MavenProjectCache(cacheDir.toPath()).restore(module, hash));
+    }
+
+    @Test
+    public void shouldReturnPomsOfStoredModelAfterRestart() throws Exception {
+        MavenProject parent = project("parent", "<project/>");
+        MavenProject module = project("module", "<project/>");
+        MavenProject dependency = project("dependency", "<project/>");
+        assertTrue(cache.getModelPoms(module).isEmpty());
+
+        String hash = cache.computeHash(module, Arrays.asList(module, parent, dependency));
+        cache.store(module, hash, Arrays.asList(module, parent, dependency));
+
+        assertEquals(new MavenProjectCache(cacheDir.toPath()).getModelPoms(module),
+                     ImmutableSet.of("/module/pom.xml", "/parent/pom.xml", "/dependency/pom.xml"));
+        assertEquals(cache.computeHash(module, Arrays.asList(dependency, parent, module)), hash);
+    }
+
+    private MavenProject project(String name, String pomContent) throws Exception {
+        File projectDir = new File(root, name);
+        projectDir.mkdirs();
+        File pomFile = new File(projectDir, MavenConstants.POM_FILE_NAME);
+        Files.write(pomContent, pomFile, UTF_8);
+
+        IProject project = mock(IProject.class);
+        IFile pom = mock(IFile.class);
+        when(project.getFile(MavenConstants.POM_FILE_NAME)).thenReturn(pom);
+        when(project.getFullPath()).thenReturn(new Path("/" + name));
+        when(pom.getLocation()).thenReturn(new Path(pomFile.getAbsolutePath()));
+        when(pom.getFullPath()).thenReturn(new Path("/" + name + "/pom.xml"));
+        return new MavenProject(project, mock(IWorkspace.class));
+    }
+}
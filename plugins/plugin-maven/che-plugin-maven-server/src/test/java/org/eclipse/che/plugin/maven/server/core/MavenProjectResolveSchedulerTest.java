@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MavenProjectResolveScheduler}
+ */
+public class MavenProjectResolveSchedulerTest {
+    private MavenExecutorService     executorService;
+    private List<MavenProject>       resolveOrder;
+    private List<List<MavenProject>> batches;
+
+    @BeforeMethod
+    public void setUp() {
+        executorService = new MavenExecutorService(4);
+        resolveOrder = new CopyOnWriteArrayList<>();
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        executorService.shutdown();
+    }
+
+    @Test
+    public void shouldResolveProjectAfterItsParentAndDependencies() throws Exception {
+        MavenProject parent = project("parent", null);
+        MavenProject api = project("api", "parent");
+        MavenProject impl = project("impl", "parent", "api");
+        MavenProjectResolveScheduler scheduler = new MavenProjectResolveScheduler(executorService, mock(MavenProgressNotifier.class),
+                                                                                  resolveOrder::add, batches::add);
+
+        scheduler.schedule(Arrays.asList(impl, api, parent));
+        scheduler.waitForEndAllTasks();
+
+        assertEquals(resolveOrder, Arrays.asList(parent, api, impl));
+    }
+
+    @Test
+    public void shouldResolveIndependentProjectsConcurrently() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        AtomicInteger notConcurrent = new AtomicInteger();
+        MavenProjectResolveScheduler scheduler = new MavenProjectResolveScheduler(executorService, mock(MavenProgressNotifier.class),
+                                                                                  project -> {
+                                                                                      allStarted.countDown();
+                                                                                      try {
+                                                                                          if (!allStarted.await(5, SECONDS)) {
+                                                                                              notConcurrent.incrementAndGet();
+                                                                                          }
+                                                                                      } catch (InterruptedException e) {
+                                                                                          Thread.currentThread().interrupt();
+                                                                                      }
+                                                                                  },
+                                                                                  batches::add);
+
+        scheduler.schedule(Arrays.asList(project("a", null), project("b", null), project("c", null)));
+        scheduler.waitForEndAllTasks();
+
+        assertEquals(notConcurrent.get(), 0);
+    }
+
+    @Test
+    public void shouldPassResolvedProjectsInBatches() throws Exception {
+        List<MavenProject> projects = new ArrayList<>();
+        for (int i = 0; i < MavenProjectResolveScheduler.BATCH_SIZE * 2 + 1; i++) {
+            projects.add(project("module" + i, null));
+        }
+        MavenProjectResolveScheduler scheduler = new MavenProjectResolveScheduler(executorService, mock(MavenProgressNotifier.class),
+                                                                                  resolveOrder::add, batches::add);
+
+        scheduler.schedule(projects);
+        scheduler.waitForEndAllTasks();
+
+        int resolved = batches.stream().mapToInt(List::size).sum();
+        assertEquals(resolved, projects.size());
+        assertTrue(batches.size() < projects.size());
+    }
+
+    @Test
+    public void shouldResolveProjectsWithCyclicDependencies() throws Exception {
+        MavenProject first = project("first", null, "second");
+        MavenProject second = project("second", null, "first");
+        MavenProjectResolveScheduler scheduler = new MavenProjectResolveScheduler(executorService, mock(MavenProgressNotifier.class),
+                                                                                  resolveOrder::add, batches::add);
+
+        scheduler.schedule(Arrays.asList(first, second));
+        scheduler.waitForEndAllTasks();
+
+        assertEquals(resolveOrder.size(), 2);
+    }
+
+    private static MavenProject project(String artifactId, String parentArtifactId, String... dependencies) {
+        MavenProject project = mock(MavenProject.class);
+        when(project.getName()).thenReturn(artifactId);
+        when(project.getMavenKey()).thenReturn(new MavenKey("org.test", artifactId, "1.0"));
+        if (parentArtifactId != null) {
+            when(project.getParentKey()).thenReturn(new MavenKey("org.test", parentArtifactId, "1.0"));
+        }
+        List<MavenArtifact> artifacts = new ArrayList<>();
+        for (String dependency : dependencies) {
+            MavenArtifact artifact = mock(MavenArtifact.class);
+            when(artifact.getGroupId()).thenReturn("org.test");
+            when(artifact.getArtifactId()).thenReturn(dependency);
+            when(artifact.getVersion()).thenReturn("1.0");
+            artifacts.add(artifact);
+        }
+        when(project.getDependencies()).thenReturn(artifacts.isEmpty() ? Collections.emptyList() : artifacts);
+        return project;
+    }
+}
@@ -16,11 +16,11 @@ import com.google.inject.name.Names;
 
 import org.eclipse.che.api.project.server.handlers.ProjectHandler;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.vfs.PathElementMatcher;
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.plugin.nodejs.generator.NodeJsProjectGenerator;
 import org.eclipse.che.plugin.nodejs.projecttype.NodeJsProjectType;
 
-import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
@@ -45,13 +45,6 @@ public class NodeJsModule extends AbstractModule {
     private void configureVfsExcludeFilter() {
         newSetBinder(binder(), PathMatcher.class, Names.named("vfs.index_filter_matcher"))
                 .addBinding()
-                .toInstance(path -> {
-                    for (Path pathElement : path) {
-                        if (pathElement == null || "node_modules".equals(pathElement.toString())) {
-                            return true;
-                        }
-                    }
-                    return false;
-                });
+                .toInstance(new PathElementMatcher("node_modules"));
     }
 }
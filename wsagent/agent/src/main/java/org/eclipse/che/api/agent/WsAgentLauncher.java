@@ -12,17 +12,23 @@ package org.eclipse.che.api.agent;
 
 import org.eclipse.che.api.agent.server.WsAgentPingRequestFactory;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.AgentLaunchingStatistics;
+import org.eclipse.che.api.agent.server.launcher.AgentLaunchingWaiter;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.environment.server.MachineProcessManager;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,12 +39,17 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static org.eclipse.che.api.workspace.shared.Constants.WS_AGENT_PROCESS_NAME;
 
 /**
  * Starts ws agent in the machine and waits until ws agent sends notification about its start.
+ * <p>
+ * Ws agent is pinged with exponential back-off limited by the ping delay. When the process of ws agent
+ * is terminated before the agent responds, launching fails immediately instead of waiting for the timeout.
  *
  * @author Alexander Garagatyi
  * @author Anatolii Bazko
@@ -52,24 +63,29 @@ public class WsAgentLauncher implements AgentLauncher {
 
     private final Provider<MachineProcessManager> machineProcessManagerProvider;
     private final WsAgentPingRequestFactory       wsAgentPingRequestFactory;
+    private final EventService                    eventService;
     private final long                            wsAgentMaxStartTimeMs;
     private final long                            wsAgentPingDelayMs;
     private final String                          pingTimedOutErrorMessage;
     private final String                          wsAgentRunCommand;
+    private final AgentLaunchingStatistics        statistics;
 
     @Inject
     public WsAgentLauncher(Provider<MachineProcessManager> machineProcessManagerProvider,
                            WsAgentPingRequestFactory wsAgentPingRequestFactory,
+                           EventService eventService,
                            @Nullable @Named("machine.ws_agent.run_command") String wsAgentRunCommand,
                            @Named("che.workspace.agent.dev.max_start_time_ms") long wsAgentMaxStartTimeMs,
                            @Named("che.workspace.agent.dev.ping_delay_ms") long wsAgentPingDelayMs,
                            @Named("che.workspace.agent.dev.ping_timeout_error_msg") String pingTimedOutErrorMessage) {
         this.machineProcessManagerProvider = machineProcessManagerProvider;
         this.wsAgentPingRequestFactory = wsAgentPingRequestFactory;
+        this.eventService = eventService;
         this.wsAgentMaxStartTimeMs = wsAgentMaxStartTimeMs;
         this.wsAgentPingDelayMs = wsAgentPingDelayMs;
         this.pingTimedOutErrorMessage = pingTimedOutErrorMessage;
         this.wsAgentRunCommand = wsAgentRunCommand;
+        this.statistics = new AgentLaunchingStatistics();
     }
 
     @Override
@@ -82,6 +98,11 @@ public class WsAgentLauncher implements AgentLauncher {
         return "docker";
     }
 
+    /** Returns start time and number of pings of ws agents. */
+    public AgentLaunchingStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public void launch(Instance machine, Agent agent) throws ServerException {
         final HttpJsonRequest wsAgentPingRequest;
@@ -94,35 +115,54 @@ public class WsAgentLauncher implements AgentLauncher {
         String script = agent.getScript() + "\n" + firstNonNull(wsAgentRunCommand, DEFAULT_WS_AGENT_RUN_COMMAND);
 
         final String wsAgentPingUrl = wsAgentPingRequest.getUrl();
+        final AgentLaunchingWaiter waiter = new AgentLaunchingWaiter(wsAgentPingDelayMs);
+        final ProcessTerminationSubscriber terminationSubscriber = new ProcessTerminationSubscriber(machine.getId(), waiter);
+        eventService.subscribe(terminationSubscriber);
         try {
             // for server side type of command mean nothing
             // but we will use it as marker on
             // client side for track this command
             CommandImpl command = new CommandImpl(getAgentId(), script, WS_AGENT_PROCESS_NAME);
 
-            machineProcessManagerProvider.get().exec(machine.getWorkspaceId(),
-                                                     machine.getId(),
-                                                     command,
-                                                     getWsAgentProcessOutputChannel(machine.getWorkspaceId()));
+            final InstanceProcess process = machineProcessManagerProvider.get().exec(machine.getWorkspaceId(),
+                                                                                     machine.getId(),
+                                                                                     command,
+                                                                                     getWsAgentProcessOutputChannel(
+                                                                                             machine.getWorkspaceId()));
 
-            final long pingStartTimestamp = System.currentTimeMillis();
             LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
                       machine.getWorkspaceId(),
                       wsAgentPingUrl,
-                      pingStartTimestamp);
-
-            while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
-                if (pingWsAgent(wsAgentPingRequest)) {
-                    return;
-                } else {
-                    Thread.sleep(wsAgentPingDelayMs);
-                }
+                      System.currentTimeMillis());
+
+            final boolean launched;
+            try {
+                launched = waiter.await(() -> {
+                    final MachineProcessEvent termination = terminationSubscriber.getTermination(process.getPid());
+                    if (termination != null) {
+                        throw new ServerException(termination.getError() != null
+                                                  ? termination.getError()
+                                                  : "Ws agent process is terminated before ws agent is started");
+                    }
+                    return pingWsAgent(wsAgentPingRequest);
+                }, wsAgentMaxStartTimeMs);
+            } finally {
+                statistics.record(waiter);
+            }
+            if (launched) {
+                LOG.info("Ws agent in '{}' workspace is started in {} ms, {} pings",
+                         machine.getWorkspaceId(),
+                         waiter.getLaunchTimeMs(),
+                         waiter.getChecks());
+                return;
             }
         } catch (BadRequestException | ServerException | NotFoundException e) {
             throw new ServerException(e.getServiceError());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new ServerException("Ws agent pinging is interrupted");
+        } finally {
+            eventService.unsubscribe(terminationSubscriber);
         }
         LOG.error("Fail pinging ws agent with {} url in {} workspace in {} machine on {} node.",
                   wsAgentPingUrl,
@@ -151,4 +191,28 @@ public class WsAgentLauncher implements AgentLauncher {
         }
         return false;
     }
+
+    /** Remembers terminated processes of the machine and wakes up pinging of ws agent. */
+    private static class ProcessTerminationSubscriber implements EventSubscriber<MachineProcessEvent> {
+        private final String                            machineId;
+        private final AgentLaunchingWaiter              waiter;
+        private final Map<Integer, MachineProcessEvent> terminations = new ConcurrentHashMap<>();
+
+        ProcessTerminationSubscriber(String machineId, AgentLaunchingWaiter waiter) {
+            this.machineId = machineId;
+            this.waiter = waiter;
+        }
+
+        @Override
+        public void onEvent(MachineProcessEvent event) {
+            if (machineId.equals(event.getMachineId()) && event.getEventType() != MachineProcessEvent.EventType.STARTED) {
+                terminations.put(event.getProcessId(), event);
+                waiter.signal();
+            }
+        }
+
+        MachineProcessEvent getTermination(int pid) {
+            return terminations.get(pid);
+        }
+    }
 }
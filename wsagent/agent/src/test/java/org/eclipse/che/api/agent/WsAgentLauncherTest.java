@@ -15,6 +15,8 @@ import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.model.machine.Server;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
@@ -28,8 +30,11 @@ import org.eclipse.che.api.machine.server.model.impl.ServerImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerPropertiesImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceNode;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 import org.eclipse.che.api.machine.shared.Constants;
+import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.commons.test.mockito.answer.SelfReturningAnswer;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -79,6 +84,10 @@ public class WsAgentLauncherTest {
     private WsAgentPingRequestFactory wsAgentPingRequestFactory;
     @Mock
     private Agent                     agent;
+    @Mock
+    private EventService              eventService;
+    @Mock
+    private InstanceProcess           process;
 
     private HttpJsonRequest pingRequest;
     private WsAgentLauncher wsAgentLauncher;
@@ -86,7 +95,9 @@ public class WsAgentLauncherTest {
     @BeforeMethod
     public void setUp() throws Exception {
         wsAgentLauncher = new WsAgentLauncher(() -> machineProcessManager,
-                                              wsAgentPingRequestFactory, null,
+                                              wsAgentPingRequestFactory,
+                                              eventService,
+                                              null,
                                               WS_AGENT_MAX_START_TIME_MS,
                                               WS_AGENT_PING_DELAY_MS,
                                               WS_AGENT_TIMED_OUT_MESSAGE
@@ -102,6 +113,12 @@ public class WsAgentLauncherTest {
         Mockito.when(wsAgentPingRequestFactory.createRequest(machine)).thenReturn(pingRequest);
         Mockito.when(pingRequest.request()).thenReturn(pingResponse);
         Mockito.when(pingResponse.getResponseCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        Mockito.when(process.getPid()).thenReturn(1);
+        Mockito.when(machineProcessManager.exec(Matchers.anyString(),
+                                                Matchers.anyString(),
+                                                Matchers.any(Command.class),
+                                                Matchers.anyString()))
+               .thenReturn(process);
     }
 
     @Test
@@ -218,4 +235,27 @@ public class WsAgentLauncherTest {
         wsAgentLauncher.launch(machine, agent);
     }
 
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Process is killed")
+    public void shouldFailWithoutWaitingForTimeoutIfWsAgentProcessIsTerminated() throws Exception {
+        ArgumentCaptor<EventSubscriber> subscriberCaptor = ArgumentCaptor.forClass(EventSubscriber.class);
+        MachineProcessEvent processEvent = Mockito.mock(MachineProcessEvent.class);
+        Mockito.when(processEvent.getEventType()).thenReturn(MachineProcessEvent.EventType.ERROR);
+        Mockito.when(processEvent.getMachineId()).thenReturn(MACHINE_ID);
+        Mockito.when(processEvent.getProcessId()).thenReturn(1);
+        Mockito.when(processEvent.getError()).thenReturn("Process is killed");
+        Mockito.when(pingRequest.request()).thenAnswer(invocation -> {
+            Mockito.verify(eventService).subscribe(subscriberCaptor.capture());
+            @SuppressWarnings("unchecked")
+            EventSubscriber<MachineProcessEvent> subscriber = subscriberCaptor.getValue();
+            subscriber.onEvent(processEvent);
+            throw new ServerException("");
+        });
+
+        try {
+            wsAgentLauncher.launch(machine, agent);
+        } finally {
+            Mockito.verify(pingRequest).request();
+            Mockito.verify(eventService).unsubscribe(subscriberCaptor.getValue());
+        }
+    }
 }
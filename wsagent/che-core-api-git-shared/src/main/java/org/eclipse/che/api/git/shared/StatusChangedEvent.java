@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Change of git status of a project. Lists of the status are updated by removing entries of {@link #getRemovedEntries()} and
+ * adding entries of {@link #getAddedEntries()}.
+ */
+@DTO
+public interface StatusChangedEvent {
+
+    /** Path of the project, which is a root of the working tree, in the workspace. */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    StatusChangedEvent withProjectPath(String projectPath);
+
+    /** Current branch of the repository. */
+    String getBranchName();
+
+    void setBranchName(String branchName);
+
+    StatusChangedEvent withBranchName(String branchName);
+
+    /** Whether working tree is clean after the change. */
+    boolean isClean();
+
+    void setClean(boolean clean);
+
+    StatusChangedEvent withClean(boolean clean);
+
+    /** Entries that appeared in the lists of the status. */
+    Status getAddedEntries();
+
+    void setAddedEntries(Status addedEntries);
+
+    StatusChangedEvent withAddedEntries(Status addedEntries);
+
+    /** Entries that disappeared from the lists of the status. */
+    Status getRemovedEntries();
+
+    void setRemovedEntries(Status removedEntries);
+
+    StatusChangedEvent withRemovedEntries(Status removedEntries);
+}
@@ -26,6 +26,7 @@ public class LogParams {
     private String       filePath;
     private int          skip;
     private int          maxCount;
+    private boolean      skipDiffFiles;
 
     private LogParams() {
         skip = -1;
@@ -166,4 +167,26 @@ public class LogParams {
         this.fileFilter = fileFilter;
         return this;
     }
+
+    /** Returns {@code true} if lists of files changed by commits are not computed when calling log command. */
+    public boolean isSkipDiffFiles() {
+        return skipDiffFiles;
+    }
+
+    /** Set whether lists of files changed by commits are not computed when calling log command. */
+    public void setSkipDiffFiles(boolean skipDiffFiles) {
+        this.skipDiffFiles = skipDiffFiles;
+    }
+
+    /**
+     * Create a {@link LogParams} object based on a given flag which defines whether lists of files changed by commits
+     * are not computed when calling log command, e.g. for lightweight history views
+     *
+     * @param skipDiffFiles
+     *         {@code true} to skip computing of files changed by commits
+     */
+    public LogParams withSkipDiffFiles(boolean skipDiffFiles) {
+        this.skipDiffFiles = skipDiffFiles;
+        return this;
+    }
 }
@@ -17,8 +17,10 @@ import org.eclipse.che.api.git.GitConnection;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.params.AddParams;
+import org.eclipse.che.api.git.params.CheckoutParams;
 import org.eclipse.che.api.git.params.CommitParams;
 import org.eclipse.che.api.git.params.LogParams;
+import org.eclipse.che.api.git.shared.Branch;
 import org.eclipse.che.api.git.shared.Revision;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -29,12 +31,15 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
+import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Igor Vinokur
@@ -316,4 +321,60 @@ public class LogTest {
         assertEquals(thirdAndFourthCommits.get(0).getMessage(), "add 4.txt file");
         assertEquals(thirdAndFourthCommits.get(1).getMessage(), "add 3.txt file");
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogBranchesOfCommits(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "README.txt", "someChanges");
+        connection.add(AddParams.create(ImmutableList.of("README.txt")));
+        connection.commit(CommitParams.create("Initial add"));
+        connection.branchCreate("feature", null);
+        connection.log(LogParams.create());
+
+        connection.checkout(CheckoutParams.create("feature"));
+        addFile(connection, "README.txt", "featureChanges");
+        connection.add(AddParams.create(ImmutableList.of("README.txt")));
+        connection.commit(CommitParams.create("Feature commit"));
+
+        //when
+        List<Revision> commits = connection.log(LogParams.create()).getCommits();
+
+        //then
+        assertEquals(getBranchNames(commits.get(0)), Collections.singletonList("refs/heads/feature"));
+        assertEquals(getBranchNames(commits.get(1)), asList("refs/heads/feature", "refs/heads/master"));
+
+        //when
+        connection.checkout(CheckoutParams.create("master"));
+        connection.branchDelete("feature", true);
+        commits = connection.log(LogParams.create()).getCommits();
+
+        //then
+        assertEquals(commits.size(), 1);
+        assertEquals(getBranchNames(commits.get(0)), Collections.singletonList("refs/heads/master"));
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogWithoutDiffFiles(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "README.txt", "someChanges");
+        connection.add(AddParams.create(ImmutableList.of("README.txt")));
+        connection.commit(CommitParams.create("Initial add"));
+
+        //when
+        List<Revision> commits = connection.log(LogParams.create().withSkipDiffFiles(true)).getCommits();
+
+        //then
+        assertEquals(commits.size(), 1);
+        assertTrue(commits.get(0).getDiffCommitFile().isEmpty());
+        assertEquals(getBranchNames(commits.get(0)), Collections.singletonList("refs/heads/master"));
+    }
+
+    private List<String> getBranchNames(Revision revision) {
+        return revision.getBranches()
+                       .stream()
+                       .map(Branch::getName)
+                       .collect(Collectors.toList());
+    }
 }
@@ -31,4 +31,11 @@ public interface LanguageServerLauncher {
     LanguageDescription getLanguageDescription();
 
     boolean isAbleToLaunch();
+
+    /**
+     * Whether one started server is able to serve files of all projects. Otherwise a separate server is started for each project.
+     */
+    default boolean isSharedAcrossProjects() {
+        return false;
+    }
 }
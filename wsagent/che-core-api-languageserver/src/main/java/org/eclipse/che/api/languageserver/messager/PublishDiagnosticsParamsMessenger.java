@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.messager;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls;
@@ -25,27 +27,66 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.EncodeException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+/**
+ * {@link EventSubscriber} for incoming <code>textDocument/publishDiagnostics</code> notifications.
+ * <p>
+ * Diagnostics are sent to clients in batches every {@link #SEND_DELAY_MS} milliseconds, only the latest diagnostics of a document
+ * received within this time are sent.
+ */
 @Singleton
 public class PublishDiagnosticsParamsMessenger implements EventSubscriber<PublishDiagnosticsParams> {
     private final static Logger LOG = LoggerFactory.getLogger(PublishDiagnosticsParamsMessenger.class);
 
-    private final EventService eventService;
+    private static final long SEND_DELAY_MS = 200;
+
+    private final EventService             eventService;
+    private final ScheduledExecutorService executor;
+    /** Document URI -> the latest diagnostics which are not sent yet */
+    private final Map<String, PublishDiagnosticsParams> pending = new LinkedHashMap<>();
 
     @Inject
     public PublishDiagnosticsParamsMessenger(EventService eventService) {
         this.eventService = eventService;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LSDiagnostics-%d")
+                                                                                              .setDaemon(true)
+                                                                                              .build());
     }
 
     public void onEvent(final PublishDiagnosticsParams event) {
-        try {
-            event.setUri(event.getUri().substring(16));
-            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
-            bm.setChannel("languageserver/textDocument/publishDiagnostics");
-            bm.setBody(new DtoServerImpls.PublishDiagnosticsParamsDto(event).toJson());
-            WSConnectionContext.sendMessage(bm);
-        } catch (EncodeException | IOException e) {
-            LOG.error(e.getMessage(), e);
+        event.setUri(event.getUri().substring(16));
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                executor.schedule(this::sendPending, SEND_DELAY_MS, MILLISECONDS);
+            }
+            // replaces diagnostics of the document which are not sent yet
+            pending.put(event.getUri(), event);
+        }
+    }
+
+    private void sendPending() {
+        List<PublishDiagnosticsParams> diagnostics;
+        synchronized (pending) {
+            diagnostics = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        for (PublishDiagnosticsParams params : diagnostics) {
+            try {
+                final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+                bm.setChannel("languageserver/textDocument/publishDiagnostics");
+                bm.setBody(new DtoServerImpls.PublishDiagnosticsParamsDto(params).toJson());
+                WSConnectionContext.sendMessage(bm);
+            } catch (EncodeException | IOException e) {
+                LOG.error(e.getMessage(), e);
+            }
         }
     }
 
@@ -57,5 +98,6 @@ public class PublishDiagnosticsParamsMessenger implements EventSubscriber<Publis
     @PreDestroy
     public void unsubscribe() {
         eventService.unsubscribe(this);
+        executor.shutdownNow();
     }
 }
@@ -35,4 +35,15 @@ public interface LanguageServerRegistry {
     List<LanguageDescription> getSupportedLanguages();
 
     Map<ProjectExtensionKey, LanguageServerDescription> getInitializedLanguages();
+
+    /**
+     * Notifies that the document is opened by a client. Server which has opened documents isn't stopped when it is idle,
+     * since a new server wouldn't know about documents opened before it is started.
+     */
+    void onDocumentOpened(LanguageServer server, String fileUri);
+
+    /**
+     * Notifies that the document is closed by a client.
+     */
+    void onDocumentClosed(LanguageServer server, String fileUri);
 }
@@ -10,9 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.registry;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
@@ -21,26 +23,51 @@ import org.eclipse.che.api.languageserver.shared.ProjectExtensionKey;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.RegisteredProject;
 import org.eclipse.che.api.project.server.VirtualFileEntry;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.services.LanguageServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import static com.google.common.io.Files.getFileExtension;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.eclipse.che.api.languageserver.shared.ProjectExtensionKey.createProjectKey;
 
+/**
+ * Starts language servers lazily on the first request for a file of a project and keeps them running while they are used.
+ * <p>
+ * Servers which aren't used for {@code che.languageserver.idle_timeout_min} minutes and have no documents opened by clients
+ * are stopped, the next request starts them again. If {@code che.languageserver.prewarm} is enabled, servers are started
+ * in background for projects which language, see project attribute {@link #LANGUAGE_ATTRIBUTE}, is supported by a launcher,
+ * so the first request doesn't wait for startup.
+ */
 @Singleton
 public class LanguageServerRegistryImpl implements LanguageServerRegistry, ServerInitializerObserver {
+    private static final Logger LOG = LoggerFactory.getLogger(LanguageServerRegistryImpl.class);
+
     public final static String PROJECT_FOLDER_PATH = "/projects";
+    public final static String LANGUAGE_ATTRIBUTE  = "language";
 
     /**
      * Available {@link LanguageServerLauncher} by extension.
@@ -52,17 +79,58 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
      */
     private final ConcurrentHashMap<ProjectExtensionKey, LanguageServer> projectToServer;
 
-    private final Provider<ProjectManager> projectManagerProvider;
-    private final ServerInitializer        initializer;
+    /**
+     * Time of the last request by started {@link LanguageServer}.
+     */
+    private final ConcurrentHashMap<LanguageServer, Long> serverToLastUse;
+
+    /**
+     * Uris of documents opened by clients by started {@link LanguageServer}.
+     */
+    private final ConcurrentHashMap<LanguageServer, Set<String>> serverToOpenedDocuments;
+
+    /**
+     * Lookups of servers hold read lock and eviction of idle servers holds write lock, so a server which is being stopped
+     * is never returned or marked as used.
+     */
+    private final ReadWriteLock lock;
+
+    private final Provider<ProjectManager>    projectManagerProvider;
+    private final ServerInitializer           initializer;
+    private final Set<LanguageServerLauncher> launchers;
+    private final long                        idleTimeout;
+    private final boolean                     prewarm;
+
+    private ScheduledExecutorService executor;
 
-    @Inject
     public LanguageServerRegistryImpl(Set<LanguageServerLauncher> languageServerLaunchers,
                                       Provider<ProjectManager> projectManagerProvider,
                                       ServerInitializer initializer) {
+        this(languageServerLaunchers, projectManagerProvider, initializer, 0, false);
+    }
+
+    /**
+     * @param idleTimeout
+     *         time in minutes after which unused server is stopped, {@code 0} means servers are never stopped
+     * @param prewarm
+     *         whether servers have to be started for existing projects at start of workspace agent
+     */
+    @Inject
+    public LanguageServerRegistryImpl(Set<LanguageServerLauncher> languageServerLaunchers,
+                                      Provider<ProjectManager> projectManagerProvider,
+                                      ServerInitializer initializer,
+                                      @Named("che.languageserver.idle_timeout_min") long idleTimeout,
+                                      @Named("che.languageserver.prewarm") boolean prewarm) {
         this.projectManagerProvider = projectManagerProvider;
         this.initializer = initializer;
+        this.launchers = languageServerLaunchers;
+        this.idleTimeout = MINUTES.toMillis(idleTimeout);
+        this.prewarm = prewarm;
         this.extensionToLauncher = new ConcurrentHashMap<>();
         this.projectToServer = new ConcurrentHashMap<>();
+        this.serverToLastUse = new ConcurrentHashMap<>();
+        this.serverToOpenedDocuments = new ConcurrentHashMap<>();
+        this.lock = new ReentrantReadWriteLock();
         this.initializer.addObserver(this);
 
         for (LanguageServerLauncher launcher : languageServerLaunchers) {
@@ -85,23 +153,132 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
 
     @Nullable
     protected LanguageServer findServer(String extension, String projectPath) throws LanguageServerException {
+        lock.readLock().lock();
+        try {
+            for (LanguageServerLauncher launcher : extensionToLauncher.getOrDefault(extension, Collections.emptyList())) {
+                LanguageServer server = startServer(launcher, projectPath, extension);
+                serverToLastUse.put(server, System.currentTimeMillis());
+                return server;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return null;
+    }
+
+    /** Returns server which is responsible for files with given extension in the project, starts server if it isn't running. */
+    private LanguageServer startServer(LanguageServerLauncher launcher, String projectPath, String extension)
+            throws LanguageServerException {
         ProjectExtensionKey projectKey = createProjectKey(projectPath, extension);
+        LanguageServer server = projectToServer.get(projectKey);
+        if (server == null) {
+            synchronized (launcher) {
+                server = projectToServer.get(projectKey);
+                if (server == null) {
+                    server = initializer.initialize(launcher, projectPath);
+                    projectToServer.put(projectKey, server);
+                }
+            }
+        }
+        return server;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (idleTimeout == 0 && !prewarm) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LanguageServerRegistry-%d")
+                                                                                         .setDaemon(true)
+                                                                                         .build());
+        if (prewarm) {
+            executor.execute(this::prewarmServers);
+        }
+        if (idleTimeout > 0) {
+            long period = Math.max(idleTimeout / 4, MINUTES.toMillis(1));
+            executor.scheduleWithFixedDelay(this::stopIdleServers, period, period, MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
 
-        for (LanguageServerLauncher launcher : extensionToLauncher.get(extension)) {
-            if (!projectToServer.containsKey(projectKey)) {
-                synchronized (launcher) {
-                    if (!projectToServer.containsKey(projectKey)) {
-                        LanguageServer server = initializer.initialize(launcher, projectPath);
-                        projectToServer.put(projectKey, server);
+    /** Starts servers for projects which language is supported by launchers. */
+    protected void prewarmServers() {
+        List<RegisteredProject> projects;
+        try {
+            projects = projectManagerProvider.get().getProjects();
+        } catch (ServerException e) {
+            LOG.warn("Can't start language servers for projects. {}", e.getMessage());
+            return;
+        }
+        for (RegisteredProject project : projects) {
+            List<String> languages = project.getAttributes().get(LANGUAGE_ATTRIBUTE);
+            if (languages == null || languages.isEmpty()) {
+                continue;
+            }
+            for (LanguageServerLauncher launcher : launchers) {
+                LanguageDescription description = launcher.getLanguageDescription();
+                if (languages.contains(description.getLanguageId()) && launcher.isAbleToLaunch()
+                    && !description.getFileExtensions().isEmpty()) {
+                    String projectPath = PROJECT_FOLDER_PATH + project.getPath();
+                    lock.readLock().lock();
+                    try {
+                        LanguageServer server = startServer(launcher, projectPath, description.getFileExtensions().get(0));
+                        serverToLastUse.putIfAbsent(server, System.currentTimeMillis());
+                    } catch (LanguageServerException e) {
+                        LOG.warn("Can't start language server {} for project {}. {}",
+                                 description.getLanguageId(), projectPath, e.getMessage());
+                    } finally {
+                        lock.readLock().unlock();
                     }
                 }
             }
-            return projectToServer.get(projectKey);
         }
-
-        return null;
     }
 
+    /**
+     * Stops servers which aren't used longer than idle timeout and have no opened documents. Server is removed from the registry
+     * and detached from the initializer while the write lock is held, so the next request for its files starts a new one,
+     * and is shut down after the lock is released.
+     * <p>
+     * Eviction is skipped when a server is being looked up or started at the moment, it is done on the next run then,
+     * so lookups never wait for eviction and eviction never waits for startup of a server.
+     */
+    protected void stopIdleServers() {
+        if (!lock.writeLock().tryLock()) {
+            return;
+        }
+        List<LanguageServer> idleServers = new ArrayList<>();
+        try {
+            long now = System.currentTimeMillis();
+            for (Iterator<Map.Entry<LanguageServer, Long>> it = serverToLastUse.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<LanguageServer, Long> entry = it.next();
+                LanguageServer server = entry.getKey();
+                if (now - entry.getValue() > idleTimeout && !serverToOpenedDocuments.containsKey(server)) {
+                    it.remove();
+                    projectToServer.values().removeIf(server::equals);
+                    if (initializer.detach(server)) {
+                        idleServers.add(server);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (LanguageServer server : idleServers) {
+            try {
+                initializer.stop(server);
+            } catch (RuntimeException e) {
+                LOG.warn("Can't stop idle language server. {}", e.getMessage(), e);
+            }
+        }
+    }
 
     @Override
     public List<LanguageDescription> getSupportedLanguages() {
@@ -121,6 +298,32 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
                               .collect(Collectors.toMap(Map.Entry::getKey, e -> initializedServers.get(e.getValue())));
     }
 
+    @Override
+    public void onDocumentOpened(LanguageServer server, String fileUri) {
+        lock.readLock().lock();
+        try {
+            if (!serverToLastUse.containsKey(server)) {
+                // server is already stopped as idle
+                return;
+            }
+            serverToOpenedDocuments.compute(server, (key, documents) -> {
+                Set<String> opened = documents == null ? new HashSet<>() : documents;
+                opened.add(fileUri);
+                return opened;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDocumentClosed(LanguageServer server, String fileUri) {
+        serverToOpenedDocuments.computeIfPresent(server, (key, documents) -> {
+            documents.remove(fileUri);
+            return documents.isEmpty() ? null : documents;
+        });
+    }
+
     protected String extractProjectPath(String filePath) throws LanguageServerException {
         FolderEntry root;
         try {
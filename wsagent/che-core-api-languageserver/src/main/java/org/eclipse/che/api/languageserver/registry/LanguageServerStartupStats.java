@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.registry;
+
+/**
+ * Latency of starting language servers of one launcher: time spent to launch server process and time spent to complete
+ * <code>initialize</code> request, in milliseconds.
+ */
+public class LanguageServerStartupStats {
+    private long startCount;
+    private long totalLaunchTime;
+    private long maxLaunchTime;
+    private long totalInitializeTime;
+    private long maxInitializeTime;
+
+    synchronized void record(long launchTime, long initializeTime) {
+        startCount++;
+        totalLaunchTime += launchTime;
+        maxLaunchTime = Math.max(maxLaunchTime, launchTime);
+        totalInitializeTime += initializeTime;
+        maxInitializeTime = Math.max(maxInitializeTime, initializeTime);
+    }
+
+    /** Returns number of started servers. */
+    public synchronized long getStartCount() {
+        return startCount;
+    }
+
+    public synchronized long getAverageLaunchTime() {
+        return startCount == 0 ? 0 : totalLaunchTime / startCount;
+    }
+
+    public synchronized long getMaxLaunchTime() {
+        return maxLaunchTime;
+    }
+
+    public synchronized long getAverageInitializeTime() {
+        return startCount == 0 ? 0 : totalInitializeTime / startCount;
+    }
+
+    public synchronized long getMaxInitializeTime() {
+        return maxInitializeTime;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LanguageServerStartupStats{" +
+               "startCount=" + startCount +
+               ", averageLaunchTime=" + getAverageLaunchTime() +
+               ", maxLaunchTime=" + maxLaunchTime +
+               ", averageInitializeTime=" + getAverageInitializeTime() +
+               ", maxInitializeTime=" + maxInitializeTime +
+               '}';
+    }
+}
@@ -31,4 +31,17 @@ public interface ServerInitializer extends ServerInitializerObservable {
      * Returns initialized servers.
      */
     Map<LanguageServer, LanguageServerDescription> getInitializedServers();
+
+    /**
+     * Removes initialized {@link LanguageServer} from initialized servers, so it is never returned by
+     * {@link #initialize(LanguageServerLauncher, String)} again, but doesn't shut it down, see {@link #stop(LanguageServer)}.
+     *
+     * @return {@code true} if server was initialized and isn't stopped yet
+     */
+    boolean detach(LanguageServer server);
+
+    /**
+     * Shuts down initialized or detached {@link LanguageServer}, does nothing if server is already stopped.
+     */
+    void stop(LanguageServer server);
 }
@@ -32,13 +32,17 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import java.lang.management.ManagementFactory;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * @author Anatoliy Bazko
@@ -47,22 +51,28 @@ import java.util.concurrent.ExecutionException;
 public class ServerInitializerImpl implements ServerInitializer {
     private final static Logger LOG = LoggerFactory.getLogger(ServerInitializerImpl.class);
 
-    private static final int    PROCESS_ID  = getProcessId();
-    private static final String CLIENT_NAME = "EclipseChe";
+    private static final int    PROCESS_ID           = getProcessId();
+    private static final String CLIENT_NAME          = "EclipseChe";
+    /** Time of waiting for the response to shutdown request before the server is asked to exit. */
+    private static final long   SHUTDOWN_TIMEOUT_SEC = 10;
 
     private final List<ServerInitializerObserver> observers;
 
     private final ConcurrentHashMap<String, LanguageServer>                    languageIdToServers;
     private final ConcurrentHashMap<LanguageServer, LanguageServerDescription> serversToInitResult;
+    private final ConcurrentHashMap<LanguageServer, LanguageServerDescription> detachedServers;
+    private final ConcurrentHashMap<String, LanguageServerStartupStats>        languageIdToStartupStats;
 
     private LanguageClient languageClient;
 
     @Inject
     public ServerInitializerImpl(final PublishDiagnosticsParamsMessenger publishDiagnosticsParamsMessenger,
                                  final ShowMessageMessenger showMessageMessenger) {
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
         this.languageIdToServers = new ConcurrentHashMap<>();
         this.serversToInitResult = new ConcurrentHashMap<>();
+        this.detachedServers = new ConcurrentHashMap<>();
+        this.languageIdToStartupStats = new ConcurrentHashMap<>();
         languageClient = new LanguageClient() {
 
             @Override
@@ -123,14 +133,18 @@ public class ServerInitializerImpl implements ServerInitializer {
         String languageId = launcher.getLanguageDescription().getLanguageId();
 
         synchronized (launcher) {
-            LanguageServer server = languageIdToServers.get(languageId);
-            if (server != null) {
-                server = doInitialize(launcher, projectPath);
-            } else {
+            LanguageServer server = launcher.isSharedAcrossProjects() ? languageIdToServers.get(languageId) : null;
+            LanguageServerDescription description = server == null ? null : serversToInitResult.get(server);
+            if (description == null) {
+                // server isn't started yet or has been detached in the meantime
                 server = doInitialize(launcher, projectPath);
                 languageIdToServers.put(languageId, server);
+                description = serversToInitResult.get(server);
+                if (description == null) {
+                    throw new LanguageServerException("Language Server " + languageId + " has been stopped during initialization");
+                }
             }
-            onServerInitialized(server, serversToInitResult.get(server).getInitializeResult().getCapabilities(),
+            onServerInitialized(server, description.getInitializeResult().getCapabilities(),
                                 launcher.getLanguageDescription(), projectPath);
             return server;
         }
@@ -141,11 +155,44 @@ public class ServerInitializerImpl implements ServerInitializer {
         return Collections.unmodifiableMap(serversToInitResult);
     }
 
+    @Override
+    public boolean detach(LanguageServer server) {
+        LanguageServerDescription description = serversToInitResult.remove(server);
+        if (description == null) {
+            return false;
+        }
+        languageIdToServers.values().remove(server);
+        detachedServers.put(server, description);
+        return true;
+    }
+
+    @Override
+    public void stop(LanguageServer server) {
+        detach(server);
+        LanguageServerDescription description = detachedServers.remove(server);
+        if (description == null) {
+            return;
+        }
+        if (server instanceof ServerInitializerObserver) {
+            removeObserver((ServerInitializerObserver)server);
+        }
+        shutdownAndExit(server);
+        LOG.info("Stopped Language Server {}", description.getLanguageDescription().getLanguageId());
+    }
+
+    /**
+     * Returns latency of starting language servers by language id.
+     */
+    public Map<String, LanguageServerStartupStats> getStartupStats() {
+        return Collections.unmodifiableMap(languageIdToStartupStats);
+    }
+
     protected LanguageServer doInitialize(LanguageServerLauncher launcher, String projectPath) throws LanguageServerException {
         String languageId = launcher.getLanguageDescription().getLanguageId();
         InitializeParams initializeParams = prepareInitializeParams(projectPath);
 
         LanguageServer server;
+        long start = System.nanoTime();
         try {
             server = launcher.launch(projectPath, languageClient);
         } catch (LanguageServerException e) {
@@ -154,18 +201,24 @@ public class ServerInitializerImpl implements ServerInitializer {
         }
         registerCallbacks(server);
 
+        long launched = System.nanoTime();
         CompletableFuture<InitializeResult> completableFuture = server.initialize(initializeParams);
+        long launchTime;
+        long initializeTime;
         try {
             InitializeResult initializeResult = completableFuture.get();
+            launchTime = NANOSECONDS.toMillis(launched - start);
+            initializeTime = NANOSECONDS.toMillis(System.nanoTime() - launched);
             serversToInitResult.put(server, new LanguageServerDescription(initializeResult, launcher.getLanguageDescription()));
         } catch (InterruptedException | ExecutionException e) {
-            server.shutdown();
-            server.exit();
+            shutdownAndExit(server);
 
             throw new LanguageServerException("Error fetching server capabilities " + languageId + ". " + e.getMessage(), e);
         }
 
-        LOG.info("Initialized Language Server {} on project {}", languageId, projectPath);
+        languageIdToStartupStats.computeIfAbsent(languageId, key -> new LanguageServerStartupStats()).record(launchTime, initializeTime);
+        LOG.info("Initialized Language Server {} on project {}, launched in {} ms, initialized in {} ms",
+                 languageId, projectPath, launchTime, initializeTime);
         return server;
     }
 
@@ -195,9 +248,23 @@ public class ServerInitializerImpl implements ServerInitializer {
     @PreDestroy
     protected void shutdown() {
         for (LanguageServer server : serversToInitResult.keySet()) {
-            server.shutdown();
-            server.exit();
+            shutdownAndExit(server);
+        }
+    }
+
+    /**
+     * Asks the server to shut down and then to exit. Protocol requires exit notification to be sent after the response to
+     * shutdown request is received, the server which doesn't respond in time is asked to exit anyway.
+     */
+    private void shutdownAndExit(LanguageServer server) {
+        try {
+            server.shutdown().get(SHUTDOWN_TIMEOUT_SEC, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOG.warn("Language server didn't shut down properly. {}", e.getMessage());
         }
+        server.exit();
     }
 
 }
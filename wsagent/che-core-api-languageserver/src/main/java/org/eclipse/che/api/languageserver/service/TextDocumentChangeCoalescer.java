@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Collects <code>textDocument/didChange</code> notifications of a document for a short time and forwards them to the language
+ * server as one notification, which contains all content changes in their order and the latest version of the document.
+ * <p>
+ * Pending changes of a document have to be flushed before any other request for the document is sent to the language server,
+ * see {@link #flush(String)}.
+ */
+class TextDocumentChangeCoalescer {
+    private static final Logger LOG = LoggerFactory.getLogger(TextDocumentChangeCoalescer.class);
+
+    private final long                                  delay;
+    private final ScheduledExecutorService              executor;
+    /** Document URI -> changes which are not sent yet */
+    private final ConcurrentMap<String, PendingChanges> pending  = new ConcurrentHashMap<>();
+    /** Keeps order of notifications when changes of the same document are flushed concurrently */
+    private final Object                                sendLock = new Object();
+
+    /**
+     * @param delay
+     *         time in milliseconds during which changes of a document are collected
+     */
+    TextDocumentChangeCoalescer(long delay) {
+        this.delay = delay;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LSDidChange-%d")
+                                                                                              .setDaemon(true)
+                                                                                              .build());
+    }
+
+    /** Adds change of the document, it is sent to the language server later with the other changes made meanwhile. */
+    void didChange(LanguageServer server, DidChangeTextDocumentParams change) {
+        String uri = change.getTextDocument().getUri();
+        pending.compute(uri, (key, changes) -> {
+            if (changes == null) {
+                executor.schedule(() -> flush(uri), delay, MILLISECONDS);
+                return new PendingChanges(server, change);
+            }
+            changes.add(change);
+            return changes;
+        });
+    }
+
+    /** Sends pending changes of the document to the language server, does nothing if there are no such changes. */
+    void flush(String uri) {
+        synchronized (sendLock) {
+            PendingChanges changes = pending.remove(uri);
+            if (changes != null) {
+                try {
+                    changes.server.getTextDocumentService().didChange(changes.params);
+                } catch (RuntimeException e) {
+                    LOG.error("Can't send changes of {} to language server. {}", uri, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /** Sends all pending changes and stops collecting of changes. */
+    void shutdown() {
+        executor.shutdownNow();
+        new ArrayList<>(pending.keySet()).forEach(this::flush);
+    }
+
+    private static class PendingChanges {
+        final LanguageServer              server;
+        final DidChangeTextDocumentParams params;
+
+        PendingChanges(LanguageServer server, DidChangeTextDocumentParams params) {
+            this.server = server;
+            this.params = params;
+            params.setContentChanges(new ArrayList<>(params.getContentChanges()));
+        }
+
+        @SuppressWarnings("deprecation")
+        void add(DidChangeTextDocumentParams change) {
+            List<TextDocumentContentChangeEvent> contentChanges = params.getContentChanges();
+            for (TextDocumentContentChangeEvent contentChange : change.getContentChanges()) {
+                if (contentChange.getRange() == null) {
+                    // full content of the document replaces all previous changes
+                    contentChanges.clear();
+                }
+                contentChanges.add(contentChange);
+            }
+            params.setTextDocument(change.getTextDocument());
+            params.setUri(change.getUri());
+        }
+    }
+}
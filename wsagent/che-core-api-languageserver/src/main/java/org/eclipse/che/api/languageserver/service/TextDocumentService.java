@@ -33,12 +33,16 @@ import org.eclipse.lsp4j.DocumentHighlight;
 import org.eclipse.lsp4j.DocumentOnTypeFormattingParams;
 import org.eclipse.lsp4j.DocumentRangeFormattingParams;
 import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
 import org.eclipse.lsp4j.services.LanguageServer;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -46,25 +50,52 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 /**
  * REST API for the textDoc
  * <p>
- * Dispatches onto the {@link LanguageServerRegistryImpl}.
+ * Dispatches onto the {@link LanguageServerRegistryImpl}. Requests to language servers are awaited no longer than
+ * {@code che.languageserver.request.timeout_sec} seconds. Completion, hover and signature help requests are superseded by the
+ * next request of the same kind for the same document: the previous one is cancelled, so language server is notified with
+ * {@code $/cancelRequest} and the thread which waits for it is released at once.
+ * <p>
+ * Changes of a document made within {@link #DID_CHANGE_DELAY_MS} are sent to language server as one
+ * <code>textDocument/didChange</code> notification, pending changes are sent before any other request for the document.
  */
 @Singleton
 @Path("languageserver/textDocument")
 public class TextDocumentService {
 
-    private static final String FILE_PROJECTS = "file:///projects";
+    private static final String FILE_PROJECTS       = "file:///projects";
+    private static final long   DID_CHANGE_DELAY_MS = 100;
 
-    private final LanguageServerRegistry languageServerRegistry;
+    private final LanguageServerRegistry      languageServerRegistry;
+    private final long                        requestTimeout;
+    private final TextDocumentChangeCoalescer changeCoalescer;
+
+    /** Kind of request and document URI -> the latest request of this kind for the document */
+    private final ConcurrentMap<String, CompletableFuture<?>> latestRequests = new ConcurrentHashMap<>();
 
     @Inject
-    public TextDocumentService(LanguageServerRegistry languageServerRegistry) {
+    public TextDocumentService(LanguageServerRegistry languageServerRegistry,
+                               @Named("che.languageserver.request.timeout_sec") long requestTimeout) {
         this.languageServerRegistry = languageServerRegistry;
+        this.requestTimeout = requestTimeout;
+        this.changeCoalescer = new TextDocumentChangeCoalescer(DID_CHANGE_DELAY_MS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        changeCoalescer.shutdown();
     }
 
     static String prefixURI(String relativePath) {
@@ -84,16 +115,17 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionListDto completion(TextDocumentPositionParams textDocumentPositionParams)
-            throws InterruptedException, ExecutionException, LanguageServerException {
+            throws LanguageServerException {
         textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
         textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
         LanguageServer server = getServer(textDocumentPositionParams.getTextDocument().getUri());
         if (server == null) {
             return null;
         }
-        CompletionList result = server.getTextDocumentService().completion(textDocumentPositionParams).get();
+        CompletionList result = awaitLatest("completion", textDocumentPositionParams.getTextDocument().getUri(),
+                                            server.getTextDocumentService().completion(textDocumentPositionParams));
 
-        return new CompletionListDto(result);
+        return result == null ? null : new CompletionListDto(result);
     }
 
     @POST
@@ -101,15 +133,15 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends SymbolInformationDto> documentSymbol(DocumentSymbolParams documentSymbolParams)
-            throws ExecutionException, InterruptedException, LanguageServerException {
+            throws LanguageServerException {
         documentSymbolParams.getTextDocument().setUri(prefixURI(documentSymbolParams.getTextDocument().getUri()));
         LanguageServer server = getServer(documentSymbolParams.getTextDocument().getUri());
         if (server == null) {
             return Collections.emptyList();
         }
 
-        return server.getTextDocumentService().documentSymbol(documentSymbolParams).get().stream().map(o -> new SymbolInformationDto(o))
-                     .collect(Collectors.toList());
+        return await("documentSymbol", server.getTextDocumentService().documentSymbol(documentSymbolParams))
+                .stream().map(o -> new SymbolInformationDto(o)).collect(Collectors.toList());
     }
 
     @POST
@@ -117,14 +149,14 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends LocationDto> references(ReferenceParams params)
-            throws ExecutionException, InterruptedException, LanguageServerException {
+            throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return Collections.emptyList();
         }
 
-        List<? extends Location> locations = server.getTextDocumentService().references(params).get();
+        List<? extends Location> locations = await("references", server.getTextDocumentService().references(params));
         locations.forEach(o -> {
             o.setUri(removePrefixUri(o.getUri()));
         });
@@ -136,14 +168,14 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends LocationDto> definition(TextDocumentPositionParams params)
-            throws ExecutionException, InterruptedException, LanguageServerException {
+            throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return Collections.emptyList();
         }
 
-        List<? extends Location> locations = server.getTextDocumentService().definition(params).get();
+        List<? extends Location> locations = await("definition", server.getTextDocumentService().definition(params));
         locations.forEach(o -> {
             o.setUri(removePrefixUri(o.getUri()));
         });
@@ -156,10 +188,11 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionItemDto resolveCompletionItem(ExtendedCompletionItemDto unresolved)
-            throws InterruptedException, ExecutionException, LanguageServerException {
+            throws LanguageServerException {
         LanguageServer server = getServer(prefixURI(unresolved.getTextDocumentIdentifier().getUri()));
         if (server != null) {
-            return new CompletionItemDto(server.getTextDocumentService().resolveCompletionItem(unresolved).get());
+            return new CompletionItemDto(await("completionItem/resolve",
+                                               server.getTextDocumentService().resolveCompletionItem(unresolved)));
         } else {
             return new CompletionItemDto(unresolved);
         }
@@ -171,12 +204,14 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public HoverDto hover(TextDocumentPositionParams positionParams)
-            throws LanguageServerException, ExecutionException, InterruptedException {
+            throws LanguageServerException {
         positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
         positionParams.setUri(prefixURI(positionParams.getUri()));
         LanguageServer server = getServer(positionParams.getTextDocument().getUri());
         if (server != null) {
-            return new HoverDto(server.getTextDocumentService().hover(positionParams).get());
+            Hover hover = awaitLatest("hover", positionParams.getTextDocument().getUri(),
+                                      server.getTextDocumentService().hover(positionParams));
+            return hover == null ? null : new HoverDto(hover);
         } else {
             return null;
         }
@@ -188,12 +223,14 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public SignatureHelpDto signatureHelp(TextDocumentPositionParams positionParams)
-            throws LanguageServerException, ExecutionException, InterruptedException {
+            throws LanguageServerException {
         positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
         positionParams.setUri(prefixURI(positionParams.getUri()));
         LanguageServer server = getServer(positionParams.getTextDocument().getUri());
         if (server != null) {
-            return new SignatureHelpDto(server.getTextDocumentService().signatureHelp(positionParams).get());
+            SignatureHelp signatureHelp = awaitLatest("signatureHelp", positionParams.getTextDocument().getUri(),
+                                                      server.getTextDocumentService().signatureHelp(positionParams));
+            return signatureHelp == null ? null : new SignatureHelpDto(signatureHelp);
         } else {
             return null;
         }
@@ -204,13 +241,14 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends TextEditDto> formatting(DocumentFormattingParams params)
-            throws InterruptedException, ExecutionException, LanguageServerException {
+            throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return Collections.emptyList();
         }
-        return server.getTextDocumentService().formatting(params).get().stream().map(o -> new TextEditDto(o)).collect(Collectors.toList());
+        return await("formatting", server.getTextDocumentService().formatting(params))
+                .stream().map(o -> new TextEditDto(o)).collect(Collectors.toList());
 
     }
 
@@ -219,14 +257,14 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends TextEditDto> rangeFormatting(DocumentRangeFormattingParams params)
-            throws InterruptedException, ExecutionException, LanguageServerException {
+            throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return Collections.emptyList();
         }
-        return server.getTextDocumentService().rangeFormatting(params).get().stream().map(o -> new TextEditDto(o))
-                     .collect(Collectors.toList());
+        return await("rangeFormatting", server.getTextDocumentService().rangeFormatting(params))
+                .stream().map(o -> new TextEditDto(o)).collect(Collectors.toList());
 
     }
 
@@ -235,14 +273,14 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends TextEditDto> onTypeFormatting(DocumentOnTypeFormattingParams params)
-            throws InterruptedException, ExecutionException, LanguageServerException {
+            throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return Collections.emptyList();
         }
-        return server.getTextDocumentService().onTypeFormatting(params).get().stream().map(o -> new TextEditDto(o))
-                     .collect(Collectors.toList());
+        return await("onTypeFormatting", server.getTextDocumentService().onTypeFormatting(params))
+                .stream().map(o -> new TextEditDto(o)).collect(Collectors.toList());
 
     }
 
@@ -253,9 +291,9 @@ public class TextDocumentService {
     public void didChange(DidChangeTextDocumentParams change) throws LanguageServerException {
         change.getTextDocument().setUri(prefixURI(change.getTextDocument().getUri()));
         change.setUri(prefixURI(change.getUri()));
-        LanguageServer server = getServer(change.getTextDocument().getUri());
+        LanguageServer server = languageServerRegistry.findServer(change.getTextDocument().getUri());
         if (server != null) {
-            server.getTextDocumentService().didChange(change);
+            changeCoalescer.didChange(server, change);
         }
     }
 
@@ -267,6 +305,7 @@ public class TextDocumentService {
         LanguageServer server = getServer(openEvent.getTextDocument().getUri());
         if (server != null) {
             server.getTextDocumentService().didOpen(openEvent);
+            languageServerRegistry.onDocumentOpened(server, openEvent.getTextDocument().getUri());
         }
     }
 
@@ -278,6 +317,7 @@ public class TextDocumentService {
         LanguageServer server = getServer(closeEvent.getTextDocument().getUri());
         if (server != null) {
             server.getTextDocumentService().didClose(closeEvent);
+            languageServerRegistry.onDocumentClosed(server, closeEvent.getTextDocument().getUri());
         }
     }
 
@@ -296,17 +336,59 @@ public class TextDocumentService {
     @Path("documentHighlight")
     @Consumes(MediaType.APPLICATION_JSON)
     public DocumentHighlight documentHighlight(TextDocumentPositionParams positionParams)
-            throws LanguageServerException, InterruptedException, ExecutionException {
+            throws LanguageServerException {
         positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
         LanguageServer server = getServer(positionParams.getTextDocument().getUri());
         if (server != null) {
-            return server.getTextDocumentService().documentHighlight(positionParams).get().get(0);
+            return await("documentHighlight", server.getTextDocumentService().documentHighlight(positionParams)).get(0);
         }
         return null;
     }
 
 
+    /** Returns language server of the document, changes of the document which are not sent yet are sent to the server first. */
     private LanguageServer getServer(String uri) throws LanguageServerException {
+        changeCoalescer.flush(uri);
         return languageServerRegistry.findServer(uri);
     }
+
+    /**
+     * Waits for result of the request to language server. Request which isn't completed in time is cancelled.
+     */
+    private <T> T await(String method, CompletableFuture<T> request) throws LanguageServerException {
+        try {
+            return request.get(requestTimeout, SECONDS);
+        } catch (TimeoutException e) {
+            request.cancel(true);
+            throw new LanguageServerException(
+                    "Language server didn't respond to '" + method + "' request in " + requestTimeout + " seconds");
+        } catch (InterruptedException e) {
+            request.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LanguageServerException("Interrupted while waiting for '" + method + "' request", e);
+        } catch (ExecutionException e) {
+            throw new LanguageServerException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Waits for result of the request as {@link #await(String, CompletableFuture)} does, but cancels the previous request of the
+     * same kind for the same document first, since the client isn't interested in its result anymore.
+     *
+     * @return result of the request or {@code null} if it was superseded by a newer one
+     */
+    private <T> T awaitLatest(String method, String uri, CompletableFuture<T> request) throws LanguageServerException {
+        String key = method + ':' + uri;
+        CompletableFuture<?> previous = latestRequests.put(key, request);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        try {
+            return await(method, request);
+        } catch (CancellationException e) {
+            return null;
+        } finally {
+            latestRequests.remove(key, request);
+        }
+    }
 }
@@ -12,11 +12,14 @@ package org.eclipse.che.api.languageserver.registry;
 
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.RegisteredProject;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.eclipse.lsp4j.services.TextDocumentService;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -26,11 +29,16 @@ import org.testng.annotations.Test;
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -101,4 +109,44 @@ public class LanguageServerRegistryImplTest {
         verify(initializer).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
         verify(registry).onServerInitialized(eq(languageServer), eq(serverCapabilities), eq(languageDescription), eq(PROJECT_PATH));
     }
+
+    @Test
+    public void shouldNotStopIdleServerWhichHasOpenedDocuments() throws Exception {
+        LanguageServer server = registry.findServer(PREFIX + FILE_PATH);
+        registry.onDocumentOpened(server, PREFIX + FILE_PATH);
+        Thread.sleep(10);
+
+        registry.stopIdleServers();
+
+        verify(initializer, never()).stop(any(LanguageServer.class));
+    }
+
+    @Test
+    public void shouldStopIdleServerWhenItsDocumentsAreClosed() throws Exception {
+        LanguageServer server = registry.findServer(PREFIX + FILE_PATH);
+        registry.onDocumentOpened(server, PREFIX + FILE_PATH);
+        registry.onDocumentClosed(server, PREFIX + FILE_PATH);
+        when(initializer.detach(languageServer)).thenReturn(true);
+        Thread.sleep(10);
+
+        registry.stopIdleServers();
+
+        InOrder inOrder = inOrder(initializer);
+        inOrder.verify(initializer).detach(languageServer);
+        inOrder.verify(initializer).stop(languageServer);
+    }
+
+    @Test
+    public void shouldStartServersForLanguagesOfProjects() throws Exception {
+        ProjectManager projectManager = mock(ProjectManager.class);
+        RegisteredProject project = mock(RegisteredProject.class);
+        when(project.getPath()).thenReturn(PROJECT_PATH);
+        when(project.getAttributes()).thenReturn(singletonMap("language", singletonList("id")));
+        when(projectManager.getProjects()).thenReturn(singletonList(project));
+        registry = spy(new LanguageServerRegistryImpl(singleton(languageServerLauncher), () -> projectManager, initializer, 0, true));
+
+        registry.prewarmServers();
+
+        verify(initializer).initialize(eq(languageServerLauncher), eq("/projects" + PROJECT_PATH));
+    }
 }
@@ -18,6 +18,7 @@ import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.services.LanguageServer;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -30,11 +31,16 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Anatoliy Bazko
@@ -80,4 +86,85 @@ public class ServerInitializerImplTest {
         assertEquals(server, languageServer);
         verify(observer).onServerInitialized(eq(server), any(ServerCapabilities.class), eq(languageDescription), eq("/path"));
     }
+
+    @Test
+    public void initializerShouldAskServerToExitWhenShutdownFails() throws Exception {
+        when(languageDescription.getLanguageId()).thenReturn("languageId");
+        when(server.initialize(any(InitializeParams.class))).thenReturn(completableFuture);
+        when(completableFuture.get()).thenReturn(mock(InitializeResult.class));
+        CompletableFuture<Object> shutdown = new CompletableFuture<>();
+        shutdown.completeExceptionally(new IllegalStateException("failed"));
+        when(server.shutdown()).thenReturn(shutdown);
+
+        when(launcher.getLanguageDescription()).thenReturn(languageDescription);
+        when(launcher.launch(anyString(), any())).thenReturn(server);
+        doNothing().when(initializer).registerCallbacks(server);
+
+        initializer.initialize(launcher, "/path");
+        initializer.stop(server);
+
+        verify(server).exit();
+    }
+
+    @Test
+    public void initializerShouldShareServerWhenLauncherAllowsIt() throws Exception {
+        when(languageDescription.getLanguageId()).thenReturn("languageId");
+        when(server.initialize(any(InitializeParams.class))).thenReturn(completableFuture);
+        when(completableFuture.get()).thenReturn(mock(InitializeResult.class));
+
+        when(launcher.getLanguageDescription()).thenReturn(languageDescription);
+        when(launcher.launch(anyString(), any())).thenReturn(server);
+        when(launcher.isSharedAcrossProjects()).thenReturn(true);
+        doNothing().when(initializer).registerCallbacks(server);
+
+        initializer.addObserver(observer);
+        LanguageServer first = initializer.initialize(launcher, "/path1");
+        LanguageServer second = initializer.initialize(launcher, "/path2");
+
+        assertEquals(first, second);
+        verify(launcher, times(1)).launch(anyString(), any());
+        verify(observer).onServerInitialized(eq(server), any(ServerCapabilities.class), eq(languageDescription), eq("/path2"));
+    }
+
+    @Test
+    public void initializerShouldStopServer() throws Exception {
+        when(languageDescription.getLanguageId()).thenReturn("languageId");
+        when(server.initialize(any(InitializeParams.class))).thenReturn(completableFuture);
+        when(completableFuture.get()).thenReturn(mock(InitializeResult.class));
+
+        when(launcher.getLanguageDescription()).thenReturn(languageDescription);
+        when(launcher.launch(anyString(), any())).thenReturn(server);
+        when(server.shutdown()).thenReturn(CompletableFuture.completedFuture(null));
+        doNothing().when(initializer).registerCallbacks(server);
+
+        initializer.initialize(launcher, "/path");
+        initializer.stop(server);
+
+        InOrder inOrder = inOrder(server);
+        inOrder.verify(server).shutdown();
+        inOrder.verify(server).exit();
+        assertTrue(initializer.getInitializedServers().isEmpty());
+        assertEquals(initializer.getStartupStats().get("languageId").getStartCount(), 1);
+    }
+
+    @Test
+    public void initializerShouldStartNewSharedServerWhenPreviousIsDetached() throws Exception {
+        when(languageDescription.getLanguageId()).thenReturn("languageId");
+        when(server.initialize(any(InitializeParams.class))).thenReturn(completableFuture);
+        when(completableFuture.get()).thenReturn(mock(InitializeResult.class));
+        when(server.shutdown()).thenReturn(CompletableFuture.completedFuture(null));
+
+        when(launcher.getLanguageDescription()).thenReturn(languageDescription);
+        when(launcher.launch(anyString(), any())).thenReturn(server);
+        when(launcher.isSharedAcrossProjects()).thenReturn(true);
+        doNothing().when(initializer).registerCallbacks(server);
+
+        initializer.initialize(launcher, "/path1");
+        assertTrue(initializer.detach(server));
+        assertFalse(initializer.detach(server));
+        initializer.initialize(launcher, "/path2");
+
+        verify(launcher, times(2)).launch(anyString(), any());
+        verify(server, never()).shutdown();
+    }
 }
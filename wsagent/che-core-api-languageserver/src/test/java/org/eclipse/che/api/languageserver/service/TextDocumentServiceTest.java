@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.HoverDto;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link TextDocumentService}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class TextDocumentServiceTest {
+    private static final String FILE_URI = "/1/test.txt";
+
+    @Mock
+    private LanguageServerRegistry                          registry;
+    @Mock
+    private LanguageServer                                  languageServer;
+    @Mock
+    private org.eclipse.lsp4j.services.TextDocumentService lsTextDocumentService;
+
+    private ExecutorService     executor;
+    private TextDocumentService service;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        when(registry.findServer(anyString())).thenReturn(languageServer);
+        when(languageServer.getTextDocumentService()).thenReturn(lsTextDocumentService);
+
+        service = new TextDocumentService(registry, 1);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+        service.shutdown();
+    }
+
+    @Test
+    public void shouldCancelSupersededHoverRequest() throws Exception {
+        CompletableFuture<Hover> first = new CompletableFuture<>();
+        Hover hover = new Hover();
+        hover.setContents(Collections.emptyList());
+        when(lsTextDocumentService.hover(any(TextDocumentPositionParams.class))).thenReturn(first)
+                                                                                 .thenReturn(CompletableFuture.completedFuture(hover));
+
+        Future<HoverDto> firstResult = executor.submit(() -> service.hover(positionParams()));
+        // wait until the first request is being awaited
+        while (first.getNumberOfDependents() == 0) {
+            Thread.sleep(10);
+        }
+        HoverDto secondResult = service.hover(positionParams());
+
+        assertTrue(first.isCancelled());
+        assertNull(firstResult.get(1, SECONDS));
+        assertNotNull(secondResult);
+    }
+
+    @Test(expectedExceptions = LanguageServerException.class)
+    public void shouldCancelRequestWhenLanguageServerDoesNotRespondInTime() throws Exception {
+        CompletableFuture<List<? extends Location>> definition = new CompletableFuture<>();
+        when(lsTextDocumentService.definition(any(TextDocumentPositionParams.class))).thenReturn(definition);
+
+        try {
+            service.definition(positionParams());
+        } finally {
+            assertTrue(definition.isCancelled());
+        }
+    }
+
+    @Test
+    public void shouldSendCoalescedChangesBeforeNextRequestForDocument() throws Exception {
+        when(lsTextDocumentService.hover(any(TextDocumentPositionParams.class)))
+                .thenReturn(CompletableFuture.completedFuture(new Hover()));
+
+        service.didChange(change(1, "a", new Range(new Position(0, 0), new Position(0, 0))));
+        service.didChange(change(2, "b", new Range(new Position(0, 1), new Position(0, 1))));
+        service.didChange(change(3, "c", new Range(new Position(0, 2), new Position(0, 2))));
+        service.hover(positionParams());
+
+        ArgumentCaptor<DidChangeTextDocumentParams> captor = ArgumentCaptor.forClass(DidChangeTextDocumentParams.class);
+        verify(lsTextDocumentService).didChange(captor.capture());
+        assertEquals((int)captor.getValue().getTextDocument().getVersion(), 3);
+        assertEquals(captor.getValue().getContentChanges().size(), 3);
+        assertEquals(captor.getValue().getContentChanges().get(2).getText(), "c");
+    }
+
+    @Test
+    public void shouldDropChangesReplacedByFullContentOfDocument() throws Exception {
+        when(lsTextDocumentService.hover(any(TextDocumentPositionParams.class)))
+                .thenReturn(CompletableFuture.completedFuture(new Hover()));
+
+        service.didChange(change(1, "a", new Range(new Position(0, 0), new Position(0, 0))));
+        service.didChange(change(2, "full content", null));
+        service.hover(positionParams());
+
+        ArgumentCaptor<DidChangeTextDocumentParams> captor = ArgumentCaptor.forClass(DidChangeTextDocumentParams.class);
+        verify(lsTextDocumentService).didChange(captor.capture());
+        assertEquals(captor.getValue().getContentChanges().size(), 1);
+        assertEquals(captor.getValue().getContentChanges().get(0).getText(), "full content");
+    }
+
+    @SuppressWarnings("deprecation")
+    private static DidChangeTextDocumentParams change(int version, String text, Range range) {
+        VersionedTextDocumentIdentifier document = new VersionedTextDocumentIdentifier();
+        document.setUri(FILE_URI);
+        document.setVersion(version);
+        TextDocumentContentChangeEvent contentChange = new TextDocumentContentChangeEvent();
+        contentChange.setText(text);
+        contentChange.setRange(range);
+        DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
+        params.setTextDocument(document);
+        params.setUri(FILE_URI);
+        params.setContentChanges(new ArrayList<>(Collections.singletonList(contentChange)));
+        return params;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static TextDocumentPositionParams positionParams() {
+        TextDocumentPositionParams params = new TextDocumentPositionParams();
+        params.setTextDocument(new TextDocumentIdentifier(FILE_URI));
+        params.setUri(FILE_URI);
+        return params;
+    }
+}
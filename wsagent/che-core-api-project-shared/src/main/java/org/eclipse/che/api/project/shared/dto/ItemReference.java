@@ -85,4 +85,11 @@ public interface ItemReference extends Hyperlinks {
     ProjectConfigDto getProjectConfig();
 
     void setProjectConfig(ProjectConfigDto config);
+
+    /** Matches of the searched text in content of file, set only for items returned by search. */
+    List<SearchOccurrenceDto> getContentOccurrences();
+
+    void setContentOccurrences(List<SearchOccurrenceDto> contentOccurrences);
+
+    ItemReference withContentOccurrences(List<SearchOccurrenceDto> contentOccurrences);
 }
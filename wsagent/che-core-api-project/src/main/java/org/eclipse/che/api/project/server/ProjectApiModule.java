@@ -24,6 +24,7 @@ import org.eclipse.che.api.project.server.importer.ProjectImportersService;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.InitBaseProjectTypeHandler;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.vfs.PathElementMatcher;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
@@ -34,6 +35,7 @@ import org.eclipse.che.api.vfs.impl.file.event.detectors.ProjectTreeTracker;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
+import org.eclipse.che.api.vfs.watcher.ChildrenCacheInvalidator;
 import org.eclipse.che.api.vfs.watcher.FileTreeWalker;
 import org.eclipse.che.api.vfs.watcher.FileWatcherByPathMatcher;
 import org.eclipse.che.api.vfs.watcher.IndexedFileCreateConsumer;
@@ -127,6 +129,9 @@ public class ProjectApiModule extends AbstractModule {
         fileDeleteConsumers.addBinding().to(FileWatcherByPathMatcher.class);
         directoryCreateConsumers.addBinding().to(FileWatcherByPathMatcher.class);
         directoryDeleteConsumers.addBinding().to(FileWatcherByPathMatcher.class);
+
+        directoryUpdateConsumers.addBinding().to(ChildrenCacheInvalidator.class);
+        directoryDeleteConsumers.addBinding().to(ChildrenCacheInvalidator.class);
     }
 
     private void configureVfsFilters(Multibinder<PathMatcher> excludeMatcher) {
@@ -135,14 +140,7 @@ public class ProjectApiModule extends AbstractModule {
     }
 
     private void addVfsFilter(Multibinder<PathMatcher> excludeMatcher, String filter) {
-        excludeMatcher.addBinding().toInstance(path -> {
-            for (Path pathElement : path) {
-                if (pathElement == null || filter.equals(pathElement.toString())) {
-                    return true;
-                }
-            }
-            return false;
-        });
+        excludeMatcher.addBinding().toInstance(new PathElementMatcher(filter));
     }
 
     private void configureVfsEvent() {
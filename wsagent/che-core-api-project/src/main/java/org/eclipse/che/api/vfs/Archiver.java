@@ -14,6 +14,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -56,4 +57,24 @@ public abstract class Archiver {
      */
     public abstract void extract(InputStream compressedInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException;
+
+    /**
+     * Extract compressed content straight to {@code ioFolder}, the location of {@code folder} on the local file system.
+     * Unlike {@link #extract(InputStream, boolean, int)} entries are written to the file system directly instead of through
+     * the virtual file system, and extracted files aren't indexed, the caller should index {@code folder} once
+     * extraction is done. Default implementation extracts content through the virtual file system.
+     *
+     * @param compressedInput
+     *         compressed content that needed to be extracted
+     * @param overwrite
+     *         overwrite existing files
+     * @param stripNumber
+     *         strip number leading components from file names on extraction.
+     * @param ioFolder
+     *         location of {@code folder} on the local file system
+     */
+    public void extract(InputStream compressedInput, boolean overwrite, int stripNumber, File ioFolder)
+            throws IOException, ForbiddenException, ConflictException, ServerException {
+        extract(compressedInput, overwrite, stripNumber);
+    }
 }
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+/**
+ * Matches paths which contain an element with the given name, e.g. {@code node_modules} matches
+ * {@code /project/node_modules/module/index.js}.
+ * <p>
+ * {@link #toString()} describes the name, so exclude patterns built of such matchers have stable description,
+ * which is used for detecting changes of index filters between starts.
+ */
+public class PathElementMatcher implements PathMatcher {
+    private final String name;
+
+    public PathElementMatcher(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean matches(Path path) {
+        for (Path pathElement : path) {
+            if (pathElement == null || name.equals(pathElement.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PathElementMatcher)) {
+            return false;
+        }
+        return name.equals(((PathElementMatcher)o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PathElementMatcher{" + name + '}';
+    }
+}
@@ -18,8 +18,10 @@ import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.util.ExtractedFilesWriter;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -134,4 +136,37 @@ public class TarArchiver extends Archiver {
             }
         }
     }
+
+    /**
+     * Tar has no central directory, so entries are read sequentially, while content of files which are not bigger than
+     * {@link ExtractedFilesWriter#MAX_BUFFERED_FILE_SIZE} is written in parallel.
+     */
+    @Override
+    public void extract(InputStream tarInput, boolean overwrite, int stripNumber, File ioFolder)
+            throws IOException, ForbiddenException, ConflictException, ServerException {
+        final ExtractedFilesWriter writer = new ExtractedFilesWriter(ioFolder, overwrite);
+        try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(tarInput)) {
+            TarArchiveEntry tarEntry;
+            while ((tarEntry = tarInputStream.getNextTarEntry()) != null) {
+                Path relativePath = Path.of(tarEntry.getName());
+
+                if (stripNumber > 0) {
+                    if (relativePath.length() <= stripNumber) {
+                        continue;
+                    }
+                    relativePath = relativePath.subPath(stripNumber);
+                }
+
+                if (tarEntry.isDirectory()) {
+                    writer.createFolder(relativePath);
+                } else {
+                    writer.writeFile(relativePath, tarInputStream, tarEntry.getSize());
+                }
+            }
+        } catch (IOException | ForbiddenException | ConflictException | ServerException | RuntimeException e) {
+            writer.cancel();
+            throw e;
+        }
+        writer.await();
+    }
 }
@@ -15,13 +15,20 @@ import com.google.common.io.ByteStreams;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.util.ExtractedFilesWriter;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
 import org.eclipse.che.api.vfs.util.ZipContent;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeSet;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
@@ -133,4 +140,96 @@ public class ZipArchiver extends Archiver {
             }
         }
     }
+
+    /**
+     * Spooled zip is read with {@link ZipFile}: its central directory gives all the entries upfront, so all folders are
+     * created in one pass and then files are written in parallel. Small zip kept in memory is read sequentially.
+     */
+    @Override
+    public void extract(InputStream zipInput, boolean overwrite, int stripNumber, File ioFolder)
+            throws IOException, ForbiddenException, ConflictException, ServerException {
+        final ZipContent zipContent = ZipContent.of(zipInput);
+        final ExtractedFilesWriter writer = new ExtractedFilesWriter(ioFolder, overwrite);
+        try (InputStream content = zipContent.getContent()) {
+            if (zipContent.getFile() == null) {
+                extract(new ZipInputStream(content), stripNumber, writer);
+            } else {
+                try (ZipFile zip = new ZipFile(zipContent.getFile())) {
+                    extract(zip, stripNumber, writer);
+                }
+            }
+        }
+    }
+
+    private void extract(ZipFile zip, int stripNumber, ExtractedFilesWriter writer)
+            throws ForbiddenException, ConflictException, ServerException {
+        final TreeSet<Path> folders = new TreeSet<>((path1, path2) -> path1.toString().compareTo(path2.toString()));
+        final List<ZipEntry> files = new ArrayList<>();
+        final List<Path> filePaths = new ArrayList<>();
+        final Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            final ZipEntry zipEntry = entries.nextElement();
+            final Path relativePath = stripPath(zipEntry.getName(), stripNumber);
+            if (relativePath == null) {
+                continue;
+            }
+            if (zipEntry.isDirectory()) {
+                folders.add(relativePath);
+            } else {
+                if (relativePath.length() > 1) {
+                    folders.add(relativePath.getParent());
+                }
+                files.add(zipEntry);
+                filePaths.add(relativePath);
+            }
+        }
+
+        try {
+            for (Path folder : folders) {
+                writer.createFolder(folder);
+            }
+            for (int i = 0; i < files.size(); i++) {
+                final ZipEntry zipEntry = files.get(i);
+                writer.writeFile(filePaths.get(i), () -> zip.getInputStream(zipEntry));
+            }
+        } catch (ForbiddenException | ConflictException | ServerException | RuntimeException e) {
+            writer.cancel();
+            throw e;
+        }
+        writer.await();
+    }
+
+    private void extract(ZipInputStream zip, int stripNumber, ExtractedFilesWriter writer)
+            throws IOException, ForbiddenException, ConflictException, ServerException {
+        try {
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                final Path relativePath = stripPath(zipEntry.getName(), stripNumber);
+                if (relativePath == null) {
+                    continue;
+                }
+                if (zipEntry.isDirectory()) {
+                    writer.createFolder(relativePath);
+                } else {
+                    writer.writeFile(relativePath, zip, zipEntry.getSize());
+                }
+                zip.closeEntry();
+            }
+        } catch (IOException | ForbiddenException | ConflictException | ServerException | RuntimeException e) {
+            writer.cancel();
+            throw e;
+        }
+        writer.await();
+    }
+
+    private Path stripPath(String entryName, int stripNumber) {
+        Path relativePath = Path.of(entryName);
+        if (stripNumber > 0) {
+            if (relativePath.length() <= stripNumber) {
+                return null;
+            }
+            relativePath = relativePath.subPath(stripNumber);
+        }
+        return relativePath;
+    }
 }
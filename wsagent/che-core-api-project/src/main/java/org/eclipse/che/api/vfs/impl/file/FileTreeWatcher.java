@@ -44,6 +44,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
@@ -64,7 +65,9 @@ import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
-    private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
+    private static final long EVENT_PROCESS_TIMEOUT_SEC   = 2;
+    /** Pending events are processed at least that often even if file system doesn't become quiet. */
+    private static final long EVENT_PROCESS_MAX_DELAY_SEC = 10;
 
     private final File                           watchRoot;
     private final Path                           watchRootPath;
@@ -73,6 +76,8 @@ public class FileTreeWatcher {
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
+    private final AtomicLong                     coalescedEvents;
+    private final AtomicLong                     droppedEvents;
     private       WatchService                   watchService;
     private       WatchEvent.Modifier[]          watchEventModifiers;
 
@@ -93,6 +98,8 @@ public class FileTreeWatcher {
                                                                 .build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
+        coalescedEvents = new AtomicLong();
+        droppedEvents = new AtomicLong();
         watchedDirectories = newHashMap();
     }
 
@@ -247,8 +254,19 @@ public class FileTreeWatcher {
         }
     }
 
+    /** Number of directory change notifications merged with pending notifications of the same directory. */
+    public long getCoalescedEventsCount() {
+        return coalescedEvents.get();
+    }
+
+    /** Number of events lost by underlying watch service due to overflow. */
+    public long getDroppedEventsCount() {
+        return droppedEvents.get();
+    }
+
     private class WatchEventTask implements Runnable {
         final Set<PendingEvent> pendingEvents = newLinkedHashSet();
+        long firstPendingEventTime;
 
         @Override
         public void run() {
@@ -257,18 +275,28 @@ public class FileTreeWatcher {
                     WatchKey watchKey;
                     if (pendingEvents.isEmpty()) {
                         watchKey = watchService.take();
+                        firstPendingEventTime = System.currentTimeMillis();
                     } else {
                         watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
-                        if (watchKey == null) {
-                            processPendingEvents(pendingEvents);
-                            pendingEvents.clear();
-                        }
                     }
                     if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
+                        if (!pendingEvents.add(new PendingEvent((Path)watchKey.watchable()))) {
+                            coalescedEvents.incrementAndGet();
+                        }
+                        for (WatchEvent<?> event : watchKey.pollEvents()) {
+                            if (event.kind() == OVERFLOW) {
+                                // directory is rescanned anyway, lost events are recovered by comparing its entries
+                                droppedEvents.addAndGet(event.count());
+                                LOG.debug("Detected file system events overflowing in '{}'", watchKey.watchable());
+                            }
+                        }
                         watchKey.reset();
                     }
+                    if (watchKey == null
+                        || System.currentTimeMillis() - firstPendingEventTime >= SECONDS.toMillis(EVENT_PROCESS_MAX_DELAY_SEC)) {
+                        processPendingEvents(pendingEvents);
+                        pendingEvents.clear();
+                    }
                 } catch (InterruptedException | ClosedWatchServiceException e) {
                     running.set(false);
                 } catch (Throwable e) {
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -89,6 +90,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
 
+    /** Max number of folders which listings are cached. */
+    private static final int  CHILDREN_CACHE_SIZE              = 1024;
+    /**
+     * Modification time of folder might be too coarse to notice changes that are made in short time after listing of the
+     * folder, listings of recently modified folders are not cached.
+     */
+    private static final long FOLDER_MODIFICATION_GRANULARITY = 2000;
+
     private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
 
     private static final FilenameFilter VFS_LOCK_FILTER =
@@ -120,6 +129,16 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    private static class FolderListing {
+        final String[] names;
+        final long     lastModified;
+
+        FolderListing(String[] names, long lastModified) {
+            this.names = names;
+            this.lastModified = lastModified;
+        }
+    }
+
     private final File                                            ioRoot;
     private final ArchiverFactory                                 archiverFactory;
     private final SearcherProvider                                searcherProvider;
@@ -136,6 +155,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    /** Names of children of folders, each listing is valid while modification time of folder is not changed. */
+    private final Cache<Path, FolderListing> childrenCache;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +184,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        childrenCache = CacheBuilder.newBuilder()
+                                    .concurrencyLevel(8)
+                                    .maximumSize(CHILDREN_CACHE_SIZE)
+                                    .expireAfterAccess(10, MINUTES)
+                                    .build();
     }
 
     @Override
@@ -177,6 +205,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        childrenCache.invalidateAll();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -243,27 +272,47 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    /**
+     * Lists children of folder. Listing doesn't need any locking: names of children are read with single call to the file
+     * system and may be reused until the folder is modified.
+     */
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
+            final List<VirtualFile> children = toVirtualFiles(parent, listChildren(parent), filter);
             Collections.sort(children);
             return children;
         }
         return emptyList();
     }
 
-
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
+    private String[] listChildren(LocalVirtualFile folder) throws ServerException {
+        final File ioFolder = folder.toIoFile();
+        // read modification time before listing, if folder is modified in between then cached listing is just refreshed next time
+        final long lastModified = ioFolder.lastModified();
+        final FolderListing cached = childrenCache.getIfPresent(folder.getPath());
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached.names;
         }
-
-        final String[] names = parent.toIoFile().list(ioFileFilter);
+        final String[] names = ioFolder.list(DOT_VFS_DIR_FILTER);
         if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
+            childrenCache.invalidate(folder.getPath());
+            throw new ServerException(String.format("Unable get children of '%s'", folder.getPath()));
+        }
+        if (System.currentTimeMillis() - lastModified > FOLDER_MODIFICATION_GRANULARITY) {
+            childrenCache.put(folder.getPath(), new FolderListing(names, lastModified));
         }
+        return names;
+    }
+
+    /**
+     * Drops cached listings of the folder and all its descendants. Cached listing is never used after modification time of
+     * folder is changed, but cache should be cleaned when folder is changed by other means, e.g. noticed by file watcher.
+     */
+    public void invalidateChildrenCache(Path folderPath) {
+        childrenCache.asMap().keySet().removeIf(path -> path.equals(folderPath) || path.isChild(folderPath));
+    }
 
+    private List<VirtualFile> toVirtualFiles(LocalVirtualFile parent, String[] names, VirtualFileFilter vfsFilter) {
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
@@ -589,6 +638,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
 
+        invalidateChildrenCache(virtualFile.getPath());
+
         if (!deleteRecursive(virtualFile.toIoFile())) {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
@@ -614,7 +665,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            bulkExtract(parent, archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -639,7 +690,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            bulkExtract(parent, archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
@@ -662,6 +713,26 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    /**
+     * Extracts archive straight to the file system, the whole folder is indexed once afterwards instead of indexing each
+     * extracted file. Overwriting of locked files is checked by the virtual file system, so archive is extracted through it
+     * when there are locked files in the folder.
+     */
+    private void bulkExtract(LocalVirtualFile parent, Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
+            throws ConflictException, ServerException, ForbiddenException {
+        if (overwrite && !new LockedFileFinder(parent).findLockedFiles().isEmpty()) {
+            extract(archiver, compressed, overwrite, stripNumber);
+            return;
+        }
+        try {
+            archiver.extract(compressed, overwrite, stripNumber, parent.toIoFile());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            invalidateChildrenCache(parent.getPath());
+        }
+    }
+
     private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
         try {
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Published while a file tree is added to the search index.
+ *
+ * @see Searcher#add(org.eclipse.che.api.vfs.VirtualFile)
+ */
+@EventOrigin("vfs")
+public class IndexingProgressEvent {
+    public enum Status {
+        STARTED,
+        IN_PROGRESS,
+        COMPLETED,
+        FAILED
+    }
+
+    private Status status;
+    private String path;
+    private int    discoveredFiles;
+    private int    indexedFiles;
+    private long   elapsedTimeMillis;
+
+    public IndexingProgressEvent(Status status, String path, int discoveredFiles, int indexedFiles, long elapsedTimeMillis) {
+        this.status = status;
+        this.path = path;
+        this.discoveredFiles = discoveredFiles;
+        this.indexedFiles = indexedFiles;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+    }
+
+    public IndexingProgressEvent() {
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /** Path of the root of the indexed tree. */
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /** Number of files found in the tree so far. */
+    public int getDiscoveredFiles() {
+        return discoveredFiles;
+    }
+
+    public void setDiscoveredFiles(int discoveredFiles) {
+        this.discoveredFiles = discoveredFiles;
+    }
+
+    /** Number of files written to the index so far. */
+    public int getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    public void setIndexedFiles(int indexedFiles) {
+        this.indexedFiles = indexedFiles;
+    }
+
+    public long getElapsedTimeMillis() {
+        return elapsedTimeMillis;
+    }
+
+    public void setElapsedTimeMillis(long elapsedTimeMillis) {
+        this.elapsedTimeMillis = elapsedTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingProgressEvent{" +
+               "status=" + status +
+               ", path='" + path + '\'' +
+               ", discoveredFiles=" + discoveredFiles +
+               ", indexedFiles=" + indexedFiles +
+               ", elapsedTimeMillis=" + elapsedTimeMillis +
+               '}';
+    }
+}
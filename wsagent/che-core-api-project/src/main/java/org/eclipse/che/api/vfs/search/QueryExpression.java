@@ -12,11 +12,13 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private boolean regex;
+    private int     skipCount;
+    private int     maxItems;
+    private String  cursor;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +50,19 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * If {@code true} then {@link #getText()} is Java regular expression which is matched against whole content of files, lines
+     * may be matched with {@code ^} and {@code $}. Otherwise text is search keywords.
+     */
+    public boolean isRegex() {
+        return regex;
+    }
+
+    public QueryExpression setRegex(boolean regex) {
+        this.regex = regex;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -68,14 +83,30 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional opaque position in search result from which the next page should be retrieved. Cursor is provided by
+     * {@link SearchResult#getNextPageQueryExpression()} and allows to continue from the last retrieved item without re-scanning
+     * all skipped items. If cursor is not valid any more then {@link #getSkipCount()} is used instead.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public QueryExpression setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
+               ", regex=" + regex +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", cursor='" + cursor + '\'' +
                '}';
     }
 }
@@ -28,15 +28,18 @@ public class SearchResult {
     private final List<SearchResultEntry>   results;
     private final Optional<QueryExpression> nextPageQueryExpression;
     private final int                       totalHits;
+    private final boolean                   totalHitsExact;
     private final long                      elapsedTimeMillis;
 
     private SearchResult(List<SearchResultEntry> results,
                          Optional<QueryExpression> nextPageQueryExpression,
                          int totalHits,
+                         boolean totalHitsExact,
                          long elapsedTimeMillis) {
         this.results = results;
         this.nextPageQueryExpression = nextPageQueryExpression;
         this.totalHits = totalHits;
+        this.totalHitsExact = totalHitsExact;
         this.elapsedTimeMillis = elapsedTimeMillis;
     }
 
@@ -60,11 +63,16 @@ public class SearchResult {
         return results;
     }
 
-    /** Total number of files that match the search criteria. */
+    /** Total number of files that match the search criteria, it is a lower bound if {@link #isTotalHitsExact()} is {@code false}. */
     public int getTotalHits() {
         return totalHits;
     }
 
+    /** Whether all the matching files are counted by {@link #getTotalHits()} or search is stopped before. */
+    public boolean isTotalHitsExact() {
+        return totalHitsExact;
+    }
+
     /** Time spent on execution the query. */
     public long getElapsedTimeMillis() {
         return elapsedTimeMillis;
@@ -79,6 +87,7 @@ public class SearchResult {
         private QueryExpression         nextPageQueryExpression;
         private List<SearchResultEntry> results;
         private int                     totalHits;
+        private boolean                 totalHitsExact = true;
         private long                    elapsedTimeMillis;
 
         private SearchResultBuilder() {
@@ -99,6 +108,11 @@ public class SearchResult {
             return this;
         }
 
+        public SearchResultBuilder withTotalHitsExact(boolean totalHitsExact) {
+            this.totalHitsExact = totalHitsExact;
+            return this;
+        }
+
         public SearchResultBuilder withElapsedTimeMillis(long elapsedTimeMillis) {
             this.elapsedTimeMillis = elapsedTimeMillis;
             return this;
@@ -114,7 +128,7 @@ public class SearchResult {
             if (results == null) {
                 results = emptyList();
             }
-            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis);
+            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, totalHitsExact, elapsedTimeMillis);
         }
     }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.api.vfs.search.impl;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
@@ -33,6 +34,8 @@ import static com.google.common.collect.Lists.newArrayList;
 public abstract class AbstractLuceneSearcherProvider implements SearcherProvider {
     protected final VirtualFileFilter excludeFileIndexFilters;
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
+    protected final int                       indexingThreads;
+    protected final EventService              eventService;
     private final ExecutorService executor;
 
     /**
@@ -40,7 +43,23 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
      *         set filter for files that should not be indexed
      */
     protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters) {
+        this(excludeFileIndexFilters, 1, null);
+    }
+
+    /**
+     * @param excludeFileIndexFilters
+     *         set filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads used for indexing of file tree, if less than {@code 1} then number of available processors is used
+     * @param eventService
+     *         event service for publishing indexing progress, may be {@code null}
+     */
+    protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters,
+                                             int indexingThreads,
+                                             EventService eventService) {
         this.excludeFileIndexFilters = mergeFileIndexFilters(excludeFileIndexFilters);
+        this.indexingThreads = indexingThreads < 1 ? Runtime.getRuntime().availableProcessors() : indexingThreads;
+        this.eventService = eventService;
         executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
                                                              .setDaemon(true)
                                                              .setUncaughtExceptionHandler(
@@ -14,6 +14,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SingleInstanceLockFactory;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.slf4j.Logger;
@@ -25,14 +26,16 @@ import java.io.IOException;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher. Unless searcher is persistent it cleans index directory after call method {@link #close()}.
+ * Persistent searcher keeps index between restarts and re-indexes only files that were changed since the index was committed.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
     private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
 
-    private final File indexDirectory;
+    private final File    indexDirectory;
+    private final boolean persistent;
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
         this(indexDirectory, filter, null);
@@ -41,6 +44,30 @@ public class FSLuceneSearcher extends LuceneSearcher {
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
         super(filter, closeCallback);
         this.indexDirectory = indexDirectory;
+        this.persistent = false;
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     int indexingThreads,
+                     EventService eventService,
+                     boolean persistent,
+                     boolean ngramIndex) {
+        this(indexDirectory, filter, closeCallback, indexingThreads, eventService, persistent, ngramIndex, null);
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     int indexingThreads,
+                     EventService eventService,
+                     boolean persistent,
+                     boolean ngramIndex,
+                     String filtersHash) {
+        super(filter, closeCallback, indexingThreads, eventService, ngramIndex, filtersHash);
+        this.indexDirectory = indexDirectory;
+        this.persistent = persistent;
     }
 
     @Override
@@ -54,7 +81,7 @@ public class FSLuceneSearcher extends LuceneSearcher {
 
     @Override
     protected void afterClose() throws IOException {
-        if (!deleteRecursive(indexDirectory)) {
+        if (!persistent && !deleteRecursive(indexDirectory)) {
             LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
             FileCleaner.addFile(indexDirectory);
         }
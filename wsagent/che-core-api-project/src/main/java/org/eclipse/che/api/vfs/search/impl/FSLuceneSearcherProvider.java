@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 
 import javax.inject.Inject;
@@ -23,10 +26,17 @@ import java.util.Set;
 
 import static com.google.common.collect.Iterables.transform;
 import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
 
 @Singleton
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
-    private final File indexRootDirectory;
+    private static final String LAMBDA_CLASS_SUFFIX = "$$Lambda";
+
+    private final File    indexRootDirectory;
+    private final boolean persistentIndex;
+    private final boolean ngramIndex;
+    private final String  filtersHash;
 
     /**
      * @param indexRootDirectory
@@ -35,16 +45,79 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
      *         set filter for files that should not be indexed
      * @see LuceneSearcher
      */
+    public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns) throws IOException {
+        this(indexRootDirectory, excludePatterns, 1, null, false, false);
+    }
+
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads used for indexing of file tree, if less than {@code 1} then number of available processors is used
+     * @param eventService
+     *         event service for publishing indexing progress
+     * @param persistentIndex
+     *         if {@code true} then index is kept in {@code indexRootDirectory} when searcher is closed and reused at next start,
+     *         otherwise index is removed and built from scratch at each start
+     * @param ngramIndex
+     *         if {@code true} then trigrams of names and content of files are indexed for fast substring and regular expression
+     *         search, index takes a few times more space in this case
+     * @see LuceneSearcher
+     */
     @Inject
     public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns) throws IOException {
-        super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
+                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                                    @Named("vfs.local.index_threads") int indexingThreads,
+                                    EventService eventService,
+                                    @Named("vfs.local.fs_index_persistent") boolean persistentIndex,
+                                    @Named("vfs.local.index_ngrams") boolean ngramIndex) throws IOException {
+        super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)), indexingThreads, eventService);
         this.indexRootDirectory = indexRootDirectory;
+        this.persistentIndex = persistentIndex;
+        this.ngramIndex = ngramIndex;
+        this.filtersHash = hashOf(excludePatterns);
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory,
+                                    excludeFileIndexFilters,
+                                    closeCallback,
+                                    indexingThreads,
+                                    eventService,
+                                    persistentIndex,
+                                    ngramIndex,
+                                    filtersHash);
+    }
+
+    /**
+     * Returns hash of the configuration of the exclude patterns. Pattern which overrides {@link Object#toString()}, e.g.
+     * {@link org.eclipse.che.api.vfs.PathElementMatcher}, is described by it, so the hash changes when its configuration
+     * changes. Other patterns, lambdas mostly, expose nothing but their classes, so they are described by names of their classes,
+     * with lambdas named after the class which declares them.
+     */
+    static String hashOf(Set<PathMatcher> excludePatterns) {
+        final String descriptions = excludePatterns.stream()
+                                                   .map(FSLuceneSearcherProvider::describe)
+                                                   .sorted()
+                                                   .collect(joining("\n"));
+        return Hashing.sha1().hashString(descriptions, UTF_8).toString();
+    }
+
+    private static String describe(PathMatcher pattern) {
+        final Class<?> patternClass = pattern.getClass();
+        try {
+            if (patternClass.getMethod("toString").getDeclaringClass() != Object.class) {
+                return patternClass.getName() + ':' + pattern.toString();
+            }
+        } catch (NoSuchMethodException ignored) {
+            // never happens, every class has toString
+        }
+        final String name = patternClass.getName();
+        final int lambda = name.indexOf(LAMBDA_CLASS_SUFFIX);
+        return lambda < 0 ? name : name.substring(0, lambda + LAMBDA_CLASS_SUFFIX.length());
     }
 }
@@ -10,42 +10,60 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherLifetimeManager;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,12 +71,23 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.LinkedList;
+import java.io.StringReader;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
 
 /**
  * Lucene based searcher.
@@ -68,15 +97,64 @@ import static com.google.common.collect.Lists.newArrayList;
 public abstract class LuceneSearcher implements Searcher {
     private static final Logger LOG          = LoggerFactory.getLogger(LuceneSearcher.class);
     private static final int    RESULT_LIMIT = 1000;
+    /** Time after which searcher that is referenced by search cursor may be released. */
+    private static final double CURSOR_MAX_AGE_SECONDS = 600;
     private static final String PATH_FIELD   = "path";
     private static final String NAME_FIELD   = "name";
     private static final String TEXT_FIELD   = "text";
+    /** Modification date of indexed file, used for detecting files changed since the index was committed. */
+    private static final String MODIFIED_FIELD = "modified";
+    /** Length of indexed file, used for detecting files changed since the index was committed. */
+    private static final String LENGTH_FIELD   = "length";
+    /** Trigrams of file name, indexed only if n-gram index is enabled. */
+    private static final String NAME_NGRAM_FIELD = "name_ngram";
+    /** Trigrams of file content, indexed only if n-gram index is enabled. */
+    private static final String TEXT_NGRAM_FIELD = "text_ngram";
+
+    private static final Map<String, String> NGRAM_FIELDS = ImmutableMap.of(NAME_FIELD, NAME_NGRAM_FIELD, TEXT_FIELD, TEXT_NGRAM_FIELD);
+
+    private static final Set<String> FILE_STAMP_FIELDS = newHashSet(PATH_FIELD, MODIFIED_FIELD, LENGTH_FIELD);
+
+    /** Files which are bigger than this are not read for matching regular expressions and resolving snippets of matches. */
+    static final long MAX_READ_CONTENT_LENGTH = 1024 * 1024;
+    /** Max number of hits on a page for which files are read for resolving line numbers and snippets of matches. */
+    static final int  MAX_SNIPPET_HITS        = 100;
+    /** Max time of matching regular expression against files, protects from patterns with catastrophic backtracking. */
+    static final long REGEX_SEARCH_TIMEOUT_MS = 10_000;
+
+    /**
+     * Version of the index layout, stored in commit data. Index that has different version is cleared and built from scratch.
+     * Must be changed whenever set of indexed fields or the way they are indexed is changed.
+     */
+    private static final String INDEX_FORMAT_KEY = "che.index.format";
+    private static final String INDEX_FORMAT     = "3";
+    /** Hash of configuration of filters the index was built with, stored in commit data. */
+    private static final String INDEX_FILTERS_KEY = "che.index.filters";
+
+    /** Content of file is not stored but term vectors with offsets are kept for finding positions of matches. */
+    private static final FieldType TEXT_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        TEXT_FIELD_TYPE.setStoreTermVectors(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorPositions(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorOffsets(true);
+        TEXT_FIELD_TYPE.freeze();
+    }
 
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final int                                          indexingThreads;
+    private final EventService                                 eventService;
+    private final boolean                                      ngramIndex;
+    private final String                                       filtersHash;
 
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
+    /** Keeps searchers which are referenced by cursors returned to the clients. */
+    private SearcherLifetimeManager searcherLifetimeManager;
+    private ExecutorService indexingExecutor;
+
+    private volatile VirtualFileSystem virtualFileSystem;
 
     private boolean closed = true;
 
@@ -94,7 +172,56 @@ public abstract class LuceneSearcher implements Searcher {
      *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
      */
     protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(excludeFileIndexFilter, closeCallback, 1, null);
+    }
+
+    protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             int indexingThreads,
+                             EventService eventService) {
+        this(excludeFileIndexFilter, closeCallback, indexingThreads, eventService, false);
+    }
+
+    /**
+     * @param excludeFileIndexFilter
+     *         common filter for files that should not be indexed. If complex excluding rules needed then few filters might be combined
+     *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
+     * @param indexingThreads
+     *         number of threads that walk file tree and read content of files when tree is added to the index
+     * @param eventService
+     *         if not {@code null} then {@link org.eclipse.che.api.vfs.search.IndexingProgressEvent} is published while file tree
+     *         is added to the index
+     * @param ngramIndex
+     *         if {@code true} then trigrams of names and content of files are indexed. It makes index a few times bigger but
+     *         substring queries like {@code *name*} don't need to check all terms of index and candidates for regular expression
+     *         search are selected with the index instead of reading all files
+     */
+    protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             int indexingThreads,
+                             EventService eventService,
+                             boolean ngramIndex) {
+        this(excludeFileIndexFilter, closeCallback, indexingThreads, eventService, ngramIndex, null);
+    }
+
+    /**
+     * @param filtersHash
+     *         hash of configuration of {@code excludeFileIndexFilter}, if it differs from the hash the existing index was built with
+     *         then the index is built from scratch, since the index may contain files which are excluded now and miss files which
+     *         aren't excluded anymore. May be {@code null} if configuration of filters is unknown, then it is not checked
+     * @see #LuceneSearcher(VirtualFileFilter, AbstractLuceneSearcherProvider.CloseCallback, int, EventService, boolean)
+     */
+    protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             int indexingThreads,
+                             EventService eventService,
+                             boolean ngramIndex,
+                             String filtersHash) {
         this.closeCallback = closeCallback;
+        this.indexingThreads = Math.max(1, indexingThreads);
+        this.eventService = eventService;
+        this.ngramIndex = ngramIndex;
+        this.filtersHash = filtersHash;
         excludeFileIndexFilters = new CopyOnWriteArrayList<>();
         excludeFileIndexFilters.add(excludeFileIndexFilter);
     }
@@ -120,10 +247,26 @@ public abstract class LuceneSearcher implements Searcher {
         };
     }
 
+    /** Creates analyzer for writing documents, unlike to {@link #makeAnalyzer()} it splits n-gram fields in trigrams. */
+    private Analyzer makeIndexAnalyzer() {
+        if (!ngramIndex) {
+            return makeAnalyzer();
+        }
+        final Analyzer trigramAnalyzer = TrigramQueries.analyzer();
+        return new PerFieldAnalyzerWrapper(makeAnalyzer(), ImmutableMap.of(NAME_NGRAM_FIELD, trigramAnalyzer,
+                                                                           TEXT_NGRAM_FIELD, trigramAnalyzer));
+    }
+
+    /** Format of index depends on whether n-gram fields are indexed, so switching of n-gram index leads to re-indexing. */
+    private String indexFormat() {
+        return ngramIndex ? INDEX_FORMAT + "-ngram" : INDEX_FORMAT;
+    }
+
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Init lucene index. Scan all files in virtual filesystem and add to index. If index directory already contains index then
+     * only files that were changed since the last commit are re-indexed and documents of removed files are deleted from the index.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -131,16 +274,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        indexTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -150,8 +295,27 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeIndexAnalyzer()));
+            final String indexFormat = indexFormat();
+            final Map<String, String> commitData = luceneIndexWriter.getCommitData();
+            if (!indexFormat.equals(commitData.get(INDEX_FORMAT_KEY))
+                || filtersHash != null && !filtersHash.equals(commitData.get(INDEX_FILTERS_KEY))) {
+                luceneIndexWriter.deleteAll();
+            }
+            final Map<String, String> newCommitData = new HashMap<>();
+            newCommitData.put(INDEX_FORMAT_KEY, indexFormat);
+            if (filtersHash != null) {
+                newCommitData.put(INDEX_FILTERS_KEY, filtersHash);
+            }
+            luceneIndexWriter.setCommitData(newCommitData);
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            searcherLifetimeManager = new SearcherLifetimeManager();
+            indexingExecutor = Executors.newFixedThreadPool(indexingThreads, new ThreadFactoryBuilder()
+                                                                                     .setDaemon(true)
+                                                                                     .setUncaughtExceptionHandler(
+                                                                                             LoggingUncaughtExceptionHandler.getInstance())
+                                                                                     .setNameFormat("LuceneIndexer-%d")
+                                                                                     .build());
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
@@ -160,8 +324,9 @@ public abstract class LuceneSearcher implements Searcher {
 
     public final synchronized void close() {
         if (!closed) {
+            indexingExecutor.shutdownNow();
             try {
-                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager, searcherLifetimeManager);
                 afterClose();
             } catch (IOException e) {
                 LOG.error(e.getMessage(), e);
@@ -187,18 +352,39 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
+        if (query.isRegex() && query.getText() != null) {
+            return searchRegex(query);
+        }
         IndexSearcher luceneSearcher = null;
+        boolean cursorSearcher = false;
         try {
             final long startTime = System.currentTimeMillis();
             searcherManager.maybeRefresh();
-            luceneSearcher = searcherManager.acquire();
+            searcherLifetimeManager.prune(new SearcherLifetimeManager.PruneByAge(CURSOR_MAX_AGE_SECONDS));
 
             Query luceneQuery = createLuceneQuery(query);
+            // occurrences are found by terms of original query, rewritten query is used for searching only
+            final SearchOccurrenceFinder occurrenceFinder = new SearchOccurrenceFinder(TEXT_FIELD, luceneQuery);
+            if (ngramIndex) {
+                luceneQuery = TrigramQueries.rewriteWildcards(luceneQuery, NGRAM_FIELDS);
+            }
 
             ScoreDoc after = null;
             final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
-                after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+            final SearchCursor cursor = SearchCursor.parse(query.getCursor());
+            if (cursor != null) {
+                // continue from the last retrieved item, must use exactly the same searcher since ids of documents may be changed
+                luceneSearcher = searcherLifetimeManager.acquire(cursor.searcherVersion);
+                if (luceneSearcher != null) {
+                    cursorSearcher = true;
+                    after = cursor.scoreDoc;
+                }
+            }
+            if (luceneSearcher == null) {
+                luceneSearcher = searcherManager.acquire();
+                if (numSkipDocs > 0) {
+                    after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+                }
             }
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
@@ -209,7 +395,13 @@ public abstract class LuceneSearcher implements Searcher {
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField(PATH_FIELD).stringValue();
-                results.add(new SearchResultEntry(filePath));
+                // only the first hits get occurrences, since each of them needs its file to be read
+                if (occurrenceFinder.isEmpty() || i >= MAX_SNIPPET_HITS) {
+                    results.add(new SearchResultEntry(filePath));
+                } else {
+                    final List<int[]> offsets = occurrenceFinder.findOffsets(luceneSearcher.getIndexReader(), scoreDoc.doc);
+                    results.add(new SearchResultEntry(filePath, findOccurrences(filePath, offsets)));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
@@ -217,7 +409,11 @@ public abstract class LuceneSearcher implements Searcher {
             boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                final ScoreDoc last = topDocs.scoreDocs.length > 0 ? topDocs.scoreDocs[topDocs.scoreDocs.length - 1] : after;
+                final String nextPageCursor = last == null
+                                              ? null
+                                              : new SearchCursor(searcherLifetimeManager.record(luceneSearcher), last).toString();
+                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length, nextPageCursor);
             }
 
             return SearchResult.aSearchResult()
@@ -229,19 +425,208 @@ public abstract class LuceneSearcher implements Searcher {
         } catch (IOException | ParseException e) {
             throw new ServerException(e.getMessage(), e);
         } finally {
-            try {
-                searcherManager.release(luceneSearcher);
-            } catch (IOException e) {
-                LOG.error(e.getMessage());
+            if (luceneSearcher != null) {
+                try {
+                    if (cursorSearcher) {
+                        searcherLifetimeManager.release(luceneSearcher);
+                    } else {
+                        searcherManager.release(luceneSearcher);
+                    }
+                } catch (IOException e) {
+                    LOG.error(e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches files which content matches regular expression. Candidates are selected with the index by path and name and, if
+     * n-gram index is enabled, by literal fragments of the regular expression. Then content of each candidate is read and
+     * matched and paging is done with skip count only. Matching stops as soon as the requested page and one more hit are found,
+     * in that case total number of hits is not exact. Files bigger than {@link #MAX_READ_CONTENT_LENGTH} are skipped and search
+     * fails if matching takes longer than {@link #REGEX_SEARCH_TIMEOUT_MS}.
+     */
+    private SearchResult searchRegex(QueryExpression query) throws ServerException {
+        final long startTime = System.currentTimeMillis();
+        final long deadline = startTime + REGEX_SEARCH_TIMEOUT_MS;
+        final Pattern pattern;
+        try {
+            pattern = Pattern.compile(query.getText(), Pattern.MULTILINE);
+        } catch (PatternSyntaxException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        final int numSkipDocs = Math.max(0, query.getSkipCount());
+        final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+        // one hit after the requested page is enough to know there is the next page
+        final int maxHitsNum = numSkipDocs + numDocs + 1;
+        final List<SearchResultEntry> results = newArrayList();
+        int totalHitsNum = 0;
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            final Query candidatesQuery = createRegexCandidatesQuery(query, pattern);
+            ScoreDoc after = null;
+            TopDocs topDocs;
+            search:
+            do {
+                topDocs = luceneSearcher.searchAfter(after, candidatesQuery, RESULT_LIMIT);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    if (System.currentTimeMillis() > deadline) {
+                        throw new DeadlineCharSequence.TimeoutException();
+                    }
+                    final String filePath = luceneSearcher.doc(scoreDoc.doc).getField(PATH_FIELD).stringValue();
+                    final String content = readIndexedContent(filePath);
+                    if (content == null) {
+                        continue;
+                    }
+                    final Matcher matcher = pattern.matcher(new DeadlineCharSequence(content, deadline));
+                    if (!matcher.find()) {
+                        continue;
+                    }
+                    totalHitsNum++;
+                    if (totalHitsNum > numSkipDocs && results.size() < numDocs) {
+                        final List<int[]> offsets = newArrayList();
+                        do {
+                            offsets.add(new int[]{matcher.start(), matcher.end()});
+                        } while (offsets.size() < SearchOccurrenceFinder.MAX_OCCURRENCES && matcher.find());
+                        results.add(new SearchResultEntry(filePath, SearchOccurrenceFinder.toOccurrences(offsets, content)));
+                    }
+                    if (totalHitsNum == maxHitsNum) {
+                        break search;
+                    }
+                }
+                if (topDocs.scoreDocs.length > 0) {
+                    after = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                }
+            } while (topDocs.scoreDocs.length == RESULT_LIMIT);
+        } catch (IOException | ParseException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (DeadlineCharSequence.TimeoutException e) {
+            throw new ServerException(String.format("Search with regular expression '%s' takes longer than %d ms",
+                                                    query.getText(), REGEX_SEARCH_TIMEOUT_MS));
+        } finally {
+            if (luceneSearcher != null) {
+                try {
+                    searcherManager.release(luceneSearcher);
+                } catch (IOException e) {
+                    LOG.error(e.getMessage());
+                }
+            }
+        }
+
+        QueryExpression nextPageQueryExpression = null;
+        if (numSkipDocs + results.size() < totalHitsNum) {
+            nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + results.size(), null);
+        }
+        return SearchResult.aSearchResult()
+                           .withResults(results)
+                           .withTotalHits(totalHitsNum)
+                           .withTotalHitsExact(totalHitsNum < maxHitsNum)
+                           .withNextPageQueryExpression(nextPageQueryExpression)
+                           .withElapsedTimeMillis(System.currentTimeMillis() - startTime)
+                           .build();
+    }
+
+    private Query createRegexCandidatesQuery(QueryExpression query, Pattern pattern) throws ParseException {
+        final BooleanQuery candidatesQuery = createLuceneQuery(query, false);
+        if (ngramIndex) {
+            for (String literal : TrigramQueries.requiredLiterals(pattern.pattern())) {
+                candidatesQuery.add(TrigramQueries.substring(TEXT_NGRAM_FIELD, literal), BooleanClause.Occur.MUST);
+            }
+        }
+        if (candidatesQuery.clauses().isEmpty()) {
+            return new MatchAllDocsQuery();
+        }
+        return candidatesQuery;
+    }
+
+    /** Reads content of file for resolving line numbers and snippets of matches. */
+    private List<SearchOccurrence> findOccurrences(String filePath, List<int[]> offsets) {
+        if (offsets.isEmpty()) {
+            return emptyList();
+        }
+        final String content = readIndexedContent(filePath);
+        return content == null ? emptyList() : SearchOccurrenceFinder.toOccurrences(offsets, content);
+    }
+
+    /**
+     * Returns content of file or {@code null} if file doesn't exist, its content is not indexed or it is bigger than
+     * {@link #MAX_READ_CONTENT_LENGTH}.
+     */
+    private String readIndexedContent(String filePath) {
+        final VirtualFileSystem fileSystem = virtualFileSystem;
+        if (fileSystem == null) {
+            return null;
+        }
+        try {
+            final VirtualFile file = fileSystem.getRoot().getChild(Path.of(filePath));
+            if (file == null || !file.isFile() || file.getLength() > MAX_READ_CONTENT_LENGTH || !shouldIndexContent(file)) {
+                return null;
+            }
+            try (Reader fContentReader = new InputStreamReader(file.getContent())) {
+                return CharStreams.toString(fContentReader);
+            }
+        } catch (ForbiddenException | ServerException | IOException e) {
+            LOG.debug("Unable read content of file {}: {}", filePath, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Content of file which stops regular expression matching when deadline is reached. */
+    private static class DeadlineCharSequence implements CharSequence {
+        /** Number of accesses to characters between checks of time. */
+        private static final int CHECK_INTERVAL = 4096;
+
+        final CharSequence content;
+        final long         deadline;
+
+        private int accesses;
+
+        DeadlineCharSequence(CharSequence content, long deadline) {
+            this.content = content;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int length() {
+            return content.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++accesses % CHECK_INTERVAL == 0 && System.currentTimeMillis() > deadline) {
+                throw new TimeoutException();
+            }
+            return content.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(content.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return content.toString();
+        }
+
+        static class TimeoutException extends RuntimeException {
+            TimeoutException() {
+                super(null, null, false, false);
             }
         }
     }
 
     private Query createLuceneQuery(QueryExpression query) throws ParseException {
+        return createLuceneQuery(query, true);
+    }
+
+    private BooleanQuery createLuceneQuery(QueryExpression query, boolean includeText) throws ParseException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
         final String path = query.getPath();
-        final String text = query.getText();
+        final String text = includeText ? query.getText() : null;
         if (path != null) {
             luceneQuery.add(new PrefixQuery(new Term(PATH_FIELD, path)), BooleanClause.Occur.MUST);
         }
@@ -279,12 +664,52 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String cursor) {
         return new QueryExpression().setText(originalQuery.getText())
+                                    .setRegex(originalQuery.isRegex())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setCursor(cursor);
+    }
+
+    /**
+     * Position in search result: version of searcher which was used for retrieving result and the last retrieved document.
+     * String representation of cursor is opaque for clients.
+     */
+    private static class SearchCursor {
+        final long     searcherVersion;
+        final ScoreDoc scoreDoc;
+
+        SearchCursor(long searcherVersion, ScoreDoc scoreDoc) {
+            this.searcherVersion = searcherVersion;
+            this.scoreDoc = scoreDoc;
+        }
+
+        /** Returns {@code null} if cursor is {@code null} or malformed. */
+        static SearchCursor parse(String cursor) {
+            if (cursor == null) {
+                return null;
+            }
+            try {
+                final String[] parts = new String(BaseEncoding.base64Url().omitPadding().decode(cursor), UTF_8).split(":");
+                if (parts.length == 3) {
+                    return new SearchCursor(Long.parseLong(parts[0]),
+                                            new ScoreDoc(Integer.parseInt(parts[1]), Float.intBitsToFloat(Integer.parseInt(parts[2]))));
+                }
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException is IllegalArgumentException as well
+                LOG.debug("Invalid search cursor {}", cursor);
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            final String cursor = searcherVersion + ":" + scoreDoc.doc + ':' + Float.floatToIntBits(scoreDoc.score);
+            return BaseEncoding.base64Url().omitPadding().encode(cursor.getBytes(UTF_8));
+        }
     }
 
     @Override
@@ -300,44 +725,162 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
-    protected void addTree(VirtualFile tree) throws ServerException {
+    private void indexTree(VirtualFile root) throws ServerException {
+        if (getIndexWriter().numDocs() == 0) {
+            addTree(root);
+        } else {
+            syncTree(root);
+        }
+    }
+
+    /**
+     * Brings index that was committed before in sync with the file tree. Files which modification date or length differ from
+     * stored in the index are re-indexed, documents of files that don't exist anymore are deleted.
+     */
+    protected void syncTree(VirtualFile tree) throws ServerException {
         final long start = System.currentTimeMillis();
-        final LinkedList<VirtualFile> q = new LinkedList<>();
-        q.add(tree);
-        int indexedFiles = 0;
-        while (!q.isEmpty()) {
-            final VirtualFile folder = q.pop();
-            if (folder.exists()) {
-                for (VirtualFile child : folder.getChildren()) {
-                    if (child.isFolder()) {
-                        q.push(child);
-                    } else {
-                        addFile(child);
-                        indexedFiles++;
-                    }
+        final Map<String, long[]> fileStamps = readFileStamps();
+        final ExecutorService executor;
+        synchronized (this) {
+            executor = indexingExecutor;
+        }
+        final int indexedFiles = new TreeIndexer(this, executor, eventService, file -> {
+            final long[] stamp = fileStamps.remove(file.getPath().toString());
+            try {
+                return stamp != null && stamp[0] == file.getLastModificationDate() && stamp[1] == file.getLength();
+            } catch (ServerException e) {
+                return false;
+            }
+        }).index(tree);
+        final String treePath = tree.getPath().toString();
+        final String treePrefix = tree.isRoot() ? treePath : treePath + '/';
+        final Term[] removed = fileStamps.keySet()
+                                         .stream()
+                                         .filter(path -> path.startsWith(treePrefix))
+                                         .map(path -> new Term(PATH_FIELD, path))
+                                         .toArray(Term[]::new);
+        if (removed.length > 0) {
+            try {
+                getIndexWriter().deleteDocuments(removed);
+            } catch (OutOfMemoryError oome) {
+                close();
+                throw oome;
+            } catch (IOException e) {
+                throw new ServerException(e.getMessage(), e);
+            }
+            commit();
+        }
+        final long end = System.currentTimeMillis();
+        LOG.debug("Synchronized index of {}, re-indexed {} files, removed {} files, time: {} ms",
+                  treePath, indexedFiles, removed.length, (end - start));
+    }
+
+    /** Reads paths of all indexed files together with modification date and length which they had at the moment of indexing. */
+    private Map<String, long[]> readFileStamps() throws ServerException {
+        final Map<String, long[]> fileStamps = new ConcurrentHashMap<>();
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            final IndexReader reader = luceneSearcher.getIndexReader();
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int i = 0; i < reader.maxDoc(); i++) {
+                if (liveDocs == null || liveDocs.get(i)) {
+                    final Document document = reader.document(i, FILE_STAMP_FIELDS);
+                    final IndexableField modified = document.getField(MODIFIED_FIELD);
+                    final IndexableField length = document.getField(LENGTH_FIELD);
+                    fileStamps.put(document.get(PATH_FIELD),
+                                   new long[]{modified == null ? -1 : modified.numericValue().longValue(),
+                                              length == null ? -1 : length.numericValue().longValue()});
                 }
             }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            if (luceneSearcher != null) {
+                try {
+                    searcherManager.release(luceneSearcher);
+                } catch (IOException e) {
+                    LOG.error(e.getMessage());
+                }
+            }
+        }
+        return fileStamps;
+    }
+
+    protected void addTree(VirtualFile tree) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final ExecutorService executor;
+        synchronized (this) {
+            executor = indexingExecutor;
         }
+        final int indexedFiles = new TreeIndexer(this, executor, eventService).index(tree);
         final long end = System.currentTimeMillis();
         LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
     }
 
-    protected void addFile(VirtualFile virtualFile) throws ServerException {
-        if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
-                getIndexWriter().updateDocument(new Term(PATH_FIELD, virtualFile.getPath().toString()),
-                                                createDocument(virtualFile, fContentReader));
-            } catch (OutOfMemoryError oome) {
-                close();
-                throw oome;
+    /**
+     * Writes batch of documents to the index. Documents previously indexed with the same paths are replaced.
+     *
+     * @see TreeIndexer
+     */
+    void addDocuments(List<Document> documents) throws ServerException {
+        final Term[] paths = new Term[documents.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = new Term(PATH_FIELD, documents.get(i).get(PATH_FIELD));
+        }
+        try {
+            final IndexWriter indexWriter = getIndexWriter();
+            indexWriter.deleteDocuments(paths);
+            indexWriter.addDocuments(documents);
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    void commit() throws ServerException {
+        try {
+            getIndexWriter().commit();
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates document for the file. Unlike to {@link #createDocument(VirtualFile, Reader)} content of the file is read completely, so
+     * the document may be kept in memory for a while before it is written to the index.
+     */
+    Document createDocument(VirtualFile virtualFile) throws ServerException {
+        String content = null;
+        if (shouldIndexContent(virtualFile)) {
+            try (Reader fContentReader = new InputStreamReader(virtualFile.getContent())) {
+                content = CharStreams.toString(fContentReader);
             } catch (IOException e) {
                 throw new ServerException(e.getMessage(), e);
             } catch (ForbiddenException e) {
                 throw new ServerException(e.getServiceError());
             }
         }
+        final Document document = createDocument(virtualFile, content == null ? null : new StringReader(content));
+        if (ngramIndex) {
+            document.add(new TextField(NAME_NGRAM_FIELD, virtualFile.getName(), Field.Store.NO));
+            if (content != null) {
+                document.add(new TextField(TEXT_NGRAM_FIELD, content, Field.Store.NO));
+            }
+        }
+        return document;
+    }
+
+    protected void addFile(VirtualFile virtualFile) throws ServerException {
+        if (virtualFile.exists()) {
+            doUpdate(new Term(PATH_FIELD, virtualFile.getPath().toString()), virtualFile);
+        }
     }
 
     @Override
@@ -364,10 +907,12 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
+        // with n-gram index content is needed for two fields, otherwise it is streamed directly to the index
+        try (Reader fContentReader = !ngramIndex && shouldIndexContent(virtualFile)
                                      ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
                                      : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+            final Document document = ngramIndex ? createDocument(virtualFile) : createDocument(virtualFile, fContentReader);
+            getIndexWriter().updateDocument(deleteTerm, document);
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -382,8 +927,10 @@ public abstract class LuceneSearcher implements Searcher {
         final Document doc = new Document();
         doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField(MODIFIED_FIELD, virtualFile.getLastModificationDate()));
+        doc.add(new StoredField(LENGTH_FIELD, virtualFile.getLength()));
         if (reader != null) {
-            doc.add(new TextField(TEXT_FIELD, reader));
+            doc.add(new Field(TEXT_FIELD, reader, TEXT_FIELD_TYPE));
         }
         return doc;
     }
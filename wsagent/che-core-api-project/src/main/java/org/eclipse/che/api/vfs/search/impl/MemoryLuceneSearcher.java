@@ -12,6 +12,7 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.RAMDirectory;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 
 /**
@@ -26,6 +27,14 @@ public class MemoryLuceneSearcher extends LuceneSearcher {
         super(filter, closeCallback);
     }
 
+    MemoryLuceneSearcher(VirtualFileFilter filter,
+                         AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                         int indexingThreads,
+                         EventService eventService,
+                         boolean ngramIndex) {
+        super(filter, closeCallback, indexingThreads, eventService, ngramIndex);
+    }
+
     @Override
     protected Directory makeDirectory() {
         return new RAMDirectory();
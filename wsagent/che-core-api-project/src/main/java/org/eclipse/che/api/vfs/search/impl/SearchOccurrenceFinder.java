@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Finds matches of text query in indexed documents. Offsets of matches are taken from term vectors stored in the index, content
+ * of file is needed only for resolving line numbers and snippets.
+ * <p>
+ * Supported queries are term, phrase, prefix, wildcard queries and boolean combination of them. Terms of phrase query are
+ * matched separately.
+ */
+class SearchOccurrenceFinder {
+    static final int MAX_OCCURRENCES = 100;
+
+    private static final int MAX_LINE_LENGTH = 160;
+
+    private final String                  field;
+    private final List<Predicate<String>> termMatchers;
+
+    SearchOccurrenceFinder(String field, Query query) {
+        this.field = field;
+        termMatchers = new ArrayList<>();
+        collectTermMatchers(query);
+    }
+
+    /** Returns {@code true} if query doesn't contain terms that might be found with this finder. */
+    boolean isEmpty() {
+        return termMatchers.isEmpty();
+    }
+
+    /**
+     * Finds offsets of matches in the document. Returns array of {@code [startOffset, endOffset]} pairs sorted by start offset.
+     * Empty list is returned if term vectors are not stored for the document.
+     */
+    List<int[]> findOffsets(IndexReader reader, int docId) throws IOException {
+        final Terms terms = reader.getTermVector(docId, field);
+        if (terms == null || !terms.hasOffsets()) {
+            return emptyList();
+        }
+        final List<int[]> offsets = new ArrayList<>();
+        final TermsEnum termsEnum = terms.iterator(null);
+        PostingsEnum postings = null;
+        BytesRef term;
+        while ((term = termsEnum.next()) != null) {
+            if (matches(term.utf8ToString())) {
+                postings = termsEnum.postings(null, postings, PostingsEnum.OFFSETS);
+                if (postings.nextDoc() != PostingsEnum.NO_MORE_DOCS) {
+                    for (int i = 0, freq = postings.freq(); i < freq; i++) {
+                        postings.nextPosition();
+                        offsets.add(new int[]{postings.startOffset(), postings.endOffset()});
+                    }
+                }
+            }
+        }
+        offsets.sort((a, b) -> Integer.compare(a[0], b[0]));
+        return offsets.size() > MAX_OCCURRENCES ? offsets.subList(0, MAX_OCCURRENCES) : offsets;
+    }
+
+    /** Resolves line numbers and snippets for offsets found with {@link #findOffsets(IndexReader, int)}. */
+    static List<SearchOccurrence> toOccurrences(List<int[]> offsets, String content) {
+        if (offsets.isEmpty()) {
+            return emptyList();
+        }
+        final int[] lineStarts = lineStarts(content);
+        final List<SearchOccurrence> occurrences = new ArrayList<>(offsets.size());
+        for (int[] offset : offsets) {
+            final int start = offset[0];
+            final int end = offset[1];
+            if (end > content.length()) {
+                // file was modified after it was indexed
+                break;
+            }
+            int line = Arrays.binarySearch(lineStarts, start);
+            if (line < 0) {
+                line = -line - 2;
+            }
+            final int lineStart = lineStarts[line];
+            int lineEnd = line + 1 < lineStarts.length ? lineStarts[line + 1] : content.length();
+            while (lineEnd > lineStart && (content.charAt(lineEnd - 1) == '\n' || content.charAt(lineEnd - 1) == '\r')) {
+                lineEnd--;
+            }
+            occurrences.add(new SearchOccurrence(content.substring(start, end),
+                                                 start,
+                                                 end,
+                                                 line + 1,
+                                                 snippet(content, lineStart, lineEnd, start, end)));
+        }
+        return occurrences;
+    }
+
+    private static int[] lineStarts(String content) {
+        int[] lineStarts = new int[64];
+        int lines = 1;
+        for (int i = 0; i < content.length(); i++) {
+            final char c = content.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 == content.length() || content.charAt(i + 1) != '\n'))) {
+                if (lines == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lines * 2);
+                }
+                lineStarts[lines++] = i + 1;
+            }
+        }
+        return Arrays.copyOf(lineStarts, lines);
+    }
+
+    private static String snippet(String content, int lineStart, int lineEnd, int matchStart, int matchEnd) {
+        if (lineEnd - lineStart <= MAX_LINE_LENGTH) {
+            return content.substring(lineStart, lineEnd);
+        }
+        final int margin = Math.max(0, (MAX_LINE_LENGTH - (matchEnd - matchStart)) / 2);
+        final int start = Math.max(lineStart, matchStart - margin);
+        final int end = Math.min(lineEnd, Math.max(matchEnd, start + MAX_LINE_LENGTH));
+        return content.substring(start, end);
+    }
+
+    private boolean matches(String term) {
+        for (Predicate<String> termMatcher : termMatchers) {
+            if (termMatcher.test(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collectTermMatchers(Query query) {
+        if (query instanceof TermQuery) {
+            addTermMatcher(((TermQuery)query).getTerm());
+        } else if (query instanceof PhraseQuery) {
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                addTermMatcher(term);
+            }
+        } else if (query instanceof PrefixQuery) {
+            final Term prefix = ((PrefixQuery)query).getPrefix();
+            if (field.equals(prefix.field())) {
+                final String text = prefix.text();
+                termMatchers.add(term -> term.startsWith(text));
+            }
+        } else if (query instanceof WildcardQuery) {
+            final Term wildcard = ((WildcardQuery)query).getTerm();
+            if (field.equals(wildcard.field())) {
+                final CharacterRunAutomaton automaton = new CharacterRunAutomaton(WildcardQuery.toAutomaton(wildcard));
+                termMatchers.add(automaton::run);
+            }
+        } else if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (!clause.isProhibited()) {
+                    collectTermMatchers(clause.getQuery());
+                }
+            }
+        }
+    }
+
+    private void addTermMatcher(Term term) {
+        if (field.equals(term.field())) {
+            final String text = term.text();
+            termMatchers.add(text::equals);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.document.Document;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.vfs.search.IndexingProgressEvent.Status.COMPLETED;
+import static org.eclipse.che.api.vfs.search.IndexingProgressEvent.Status.FAILED;
+import static org.eclipse.che.api.vfs.search.IndexingProgressEvent.Status.IN_PROGRESS;
+import static org.eclipse.che.api.vfs.search.IndexingProgressEvent.Status.STARTED;
+
+/**
+ * Adds a file tree to the index of {@link LuceneSearcher} in a few stages. Folders are walked and contents of files are read
+ * in parallel on the indexing executor, ready documents are passed through the bounded queue to the thread that called
+ * {@link #index(VirtualFile)} and written to the index in batches. Index is committed periodically.
+ * <p>
+ * Files accepted by optional {@code upToDate} predicate are considered as already indexed and skipped.
+ * <p>
+ * Instance of this class may be used for indexing of single tree only.
+ */
+class TreeIndexer {
+    static final int DEFAULT_BATCH_SIZE      = 256;
+    static final int DEFAULT_COMMIT_INTERVAL = 8192;
+
+    /** Marks end of the document stream, put in the queue when all walking and reading tasks are done. */
+    private static final Document END               = new Document();
+    private static final long     POLL_TIMEOUT_MS   = 500;
+    private static final int      QUEUE_SIZE_FACTOR = 4;
+
+    private final LuceneSearcher             searcher;
+    private final ExecutorService            executor;
+    private final EventService               eventService;
+    private final int                        batchSize;
+    private final int                        commitInterval;
+    private final Predicate<VirtualFile>     upToDate;
+    private final BlockingQueue<Document>    documents;
+    private final AtomicInteger              pendingTasks;
+    private final AtomicInteger              discoveredFiles;
+    private final AtomicReference<Throwable> failure;
+
+    TreeIndexer(LuceneSearcher searcher, ExecutorService executor, EventService eventService) {
+        this(searcher, executor, eventService, file -> false);
+    }
+
+    TreeIndexer(LuceneSearcher searcher, ExecutorService executor, EventService eventService, Predicate<VirtualFile> upToDate) {
+        this(searcher, executor, eventService, upToDate, DEFAULT_BATCH_SIZE, DEFAULT_COMMIT_INTERVAL);
+    }
+
+    TreeIndexer(LuceneSearcher searcher,
+                ExecutorService executor,
+                EventService eventService,
+                Predicate<VirtualFile> upToDate,
+                int batchSize,
+                int commitInterval) {
+        this.searcher = searcher;
+        this.executor = executor;
+        this.eventService = eventService;
+        this.upToDate = upToDate;
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+        documents = new ArrayBlockingQueue<>(batchSize * QUEUE_SIZE_FACTOR);
+        pendingTasks = new AtomicInteger();
+        discoveredFiles = new AtomicInteger();
+        failure = new AtomicReference<>();
+    }
+
+    /**
+     * Adds all files of the tree to the index. Blocks until all files are indexed.
+     *
+     * @return number of indexed files
+     * @throws ServerException
+     *         if any error occurs while walking, reading or indexing files, in this case indexing of the tree is stopped
+     */
+    int index(VirtualFile tree) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final String path = tree.getPath().toString();
+        publish(STARTED, path, 0, start);
+
+        submit(() -> walk(tree));
+
+        final List<Document> batch = new ArrayList<>(batchSize);
+        int indexedFiles = 0;
+        int uncommittedFiles = 0;
+        boolean completed = false;
+        while (!completed) {
+            final Document document;
+            try {
+                document = documents.poll(POLL_TIMEOUT_MS, MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+                break;
+            }
+            if (document == END) {
+                completed = true;
+            } else if (document != null) {
+                batch.add(document);
+            }
+            if (failure.get() != null) {
+                // drop everything produced by running tasks, they stop as soon as they see the failure
+                batch.clear();
+                continue;
+            }
+            if (!batch.isEmpty() && (completed || document == null || batch.size() >= batchSize)) {
+                try {
+                    searcher.addDocuments(batch);
+                    indexedFiles += batch.size();
+                    uncommittedFiles += batch.size();
+                    batch.clear();
+                    if (uncommittedFiles >= commitInterval) {
+                        searcher.commit();
+                        uncommittedFiles = 0;
+                        publish(IN_PROGRESS, path, indexedFiles, start);
+                    }
+                } catch (ServerException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+
+        final Throwable error = failure.get();
+        if (error != null) {
+            publish(FAILED, path, indexedFiles, start);
+            if (error instanceof ServerException) {
+                throw (ServerException)error;
+            }
+            if (error instanceof Error) {
+                throw (Error)error;
+            }
+            throw new ServerException(error.getMessage(), error);
+        }
+        if (uncommittedFiles > 0) {
+            searcher.commit();
+        }
+        publish(COMPLETED, path, indexedFiles, start);
+        return indexedFiles;
+    }
+
+    private void walk(VirtualFile folder) throws ServerException {
+        if (!folder.exists()) {
+            return;
+        }
+        final List<VirtualFile> files = new ArrayList<>();
+        for (VirtualFile child : folder.getChildren()) {
+            if (child.isFolder()) {
+                submit(() -> walk(child));
+            } else {
+                files.add(child);
+            }
+        }
+        if (!files.isEmpty()) {
+            discoveredFiles.addAndGet(files.size());
+            submit(() -> read(files));
+        }
+    }
+
+    private void read(List<VirtualFile> files) throws ServerException, InterruptedException {
+        for (VirtualFile file : files) {
+            if (failure.get() != null) {
+                return;
+            }
+            if (file.exists() && !upToDate.test(file)) {
+                final Document document = searcher.createDocument(file);
+                while (!documents.offer(document, POLL_TIMEOUT_MS, MILLISECONDS)) {
+                    if (failure.get() != null) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void submit(IndexingTask task) {
+        pendingTasks.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    if (failure.get() == null) {
+                        task.run();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    taskDone();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failure.compareAndSet(null, new ServerException("Indexing is stopped, searcher is closed"));
+            taskDone();
+        }
+    }
+
+    private void taskDone() {
+        if (pendingTasks.decrementAndGet() == 0) {
+            try {
+                while (!documents.offer(END, POLL_TIMEOUT_MS, MILLISECONDS)) {
+                    if (failure.get() != null) {
+                        // documents are going to be dropped anyway, make a room for the marker
+                        documents.clear();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+                documents.clear();
+                documents.offer(END);
+            }
+        }
+    }
+
+    private void publish(IndexingProgressEvent.Status status, String path, int indexedFiles, long start) {
+        if (eventService != null) {
+            eventService.publish(new IndexingProgressEvent(status,
+                                                           path,
+                                                           discoveredFiles.get(),
+                                                           indexedFiles,
+                                                           System.currentTimeMillis() - start));
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexingTask {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.WildcardQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Helps to use trigram index for substring and regular expression search. Each indexed value is split in overlapping
+ * lower-cased sequences of three characters. Since each trigram takes next position, any substring that is not shorter than
+ * trigram might be found with phrase query of its trigrams without scanning of terms dictionary.
+ */
+class TrigramQueries {
+    static final int GRAM_SIZE = 3;
+
+    /** Inline flags that turn on comments mode, whitespaces in such expression are not literals. */
+    private static final Pattern COMMENTS_FLAG = Pattern.compile("\\(\\?[a-zA-Z-]*x");
+
+    private TrigramQueries() {
+    }
+
+    /** Creates analyzer which splits value of field in lower-cased trigrams. */
+    static Analyzer analyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new NGramTokenizer(GRAM_SIZE, GRAM_SIZE);
+                TokenStream filter = new LowerCaseFilter(tokenizer);
+                return new TokenStreamComponents(tokenizer, filter);
+            }
+        };
+    }
+
+    /**
+     * Creates query that matches documents which contain {@code literal} in the {@code ngramField}, case is ignored. Returns
+     * {@code null} if literal is shorter than trigram.
+     */
+    static Query substring(String ngramField, String literal) {
+        if (literal.length() < GRAM_SIZE) {
+            return null;
+        }
+        final String lowerCased = literal.toLowerCase(Locale.ENGLISH);
+        final PhraseQuery query = new PhraseQuery();
+        for (int i = 0; i + GRAM_SIZE <= lowerCased.length(); i++) {
+            query.add(new Term(ngramField, lowerCased.substring(i, i + GRAM_SIZE)));
+        }
+        return query;
+    }
+
+    /**
+     * Replaces wildcard queries like {@code *literal*} with substring queries on the trigram field. Such wildcard queries are
+     * the most expensive ones since all terms of the field have to be checked. Queries that cannot be replaced are returned as
+     * is.
+     *
+     * @param ngramFields
+     *         trigram field for each field which may be used in wildcard query
+     */
+    static Query rewriteWildcards(Query query, Map<String, String> ngramFields) {
+        if (query instanceof WildcardQuery) {
+            final Term term = ((WildcardQuery)query).getTerm();
+            final String ngramField = ngramFields.get(term.field());
+            final String literal = containedLiteral(term.text());
+            if (ngramField != null && literal != null) {
+                final Query substring = substring(ngramField, literal);
+                if (substring != null) {
+                    substring.setBoost(query.getBoost());
+                    return substring;
+                }
+            }
+        } else if (query instanceof BooleanQuery) {
+            final BooleanQuery booleanQuery = (BooleanQuery)query;
+            final BooleanQuery rewritten = new BooleanQuery(booleanQuery.isCoordDisabled());
+            rewritten.setMinimumNumberShouldMatch(booleanQuery.getMinimumNumberShouldMatch());
+            rewritten.setBoost(booleanQuery.getBoost());
+            for (BooleanClause clause : booleanQuery.clauses()) {
+                rewritten.add(rewriteWildcards(clause.getQuery(), ngramFields), clause.getOccur());
+            }
+            return rewritten;
+        }
+        return query;
+    }
+
+    /** Returns literal from wildcard pattern {@code *literal*} or {@code null} if pattern has another form. */
+    private static String containedLiteral(String pattern) {
+        if (pattern.length() < 2 || pattern.charAt(0) != WildcardQuery.WILDCARD_STRING
+            || pattern.charAt(pattern.length() - 1) != WildcardQuery.WILDCARD_STRING) {
+            return null;
+        }
+        final String literal = pattern.substring(1, pattern.length() - 1);
+        for (int i = 0; i < literal.length(); i++) {
+            final char c = literal.charAt(i);
+            if (c == WildcardQuery.WILDCARD_STRING || c == WildcardQuery.WILDCARD_CHAR || c == WildcardQuery.WILDCARD_ESCAPE) {
+                return null;
+            }
+        }
+        return literal;
+    }
+
+    /**
+     * Finds literal fragments which must be present in any text that is matched by the regular expression. Analysis is
+     * conservative: fragments inside groups, character classes and before optional quantifiers are not taken into account, and
+     * nothing is returned for expression that contains alternation or enables comments mode. Empty list means that candidates
+     * for the regular expression cannot be narrowed.
+     */
+    static List<String> requiredLiterals(String regex) {
+        final List<String> literals = new ArrayList<>();
+        if (regex.indexOf('|') >= 0 || COMMENTS_FLAG.matcher(regex).find()) {
+            return literals;
+        }
+        final StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                        // escaped metacharacter
+                        literal.append(regex.charAt(i + 1));
+                        i += 2;
+                    } else if (i + 1 < regex.length() && regex.charAt(i + 1) == 'Q') {
+                        // quoted part may be taken as is
+                        final int end = regex.indexOf("\\E", i + 2);
+                        literal.append(regex, i + 2, end < 0 ? regex.length() : end);
+                        i = end < 0 ? regex.length() : end + 2;
+                    } else {
+                        // character class like \d, \w, code of character or back reference
+                        endLiteral(literal, literals);
+                        i = skipEscape(regex, i);
+                    }
+                    break;
+                case '*':
+                case '?':
+                case '{':
+                    // previous character is optional
+                    if (literal.length() > 0) {
+                        literal.setLength(literal.length() - 1);
+                    }
+                    endLiteral(literal, literals);
+                    i = c == '{' ? skipTo(regex, i, '}') : i + 1;
+                    break;
+                case '+':
+                    // previous character is required but might be repeated
+                    endLiteral(literal, literals);
+                    i++;
+                    break;
+                case '[':
+                    endLiteral(literal, literals);
+                    i = skipCharacterClass(regex, i);
+                    break;
+                case '(':
+                    endLiteral(literal, literals);
+                    i = skipGroup(regex, i);
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                case ')':
+                    endLiteral(literal, literals);
+                    i++;
+                    break;
+                default:
+                    literal.append(c);
+                    i++;
+            }
+        }
+        endLiteral(literal, literals);
+        return literals;
+    }
+
+    private static void endLiteral(StringBuilder literal, List<String> literals) {
+        if (literal.length() >= GRAM_SIZE) {
+            literals.add(literal.toString());
+        }
+        literal.setLength(0);
+    }
+
+    private static int skipTo(String regex, int from, char end) {
+        final int index = regex.indexOf(end, from);
+        return index < 0 ? regex.length() : index + 1;
+    }
+
+    private static int skipEscape(String regex, int from) {
+        int i = from + 2;
+        if (i > regex.length()) {
+            return regex.length();
+        }
+        final char escaped = regex.charAt(from + 1);
+        if (i < regex.length() && regex.charAt(i) == '{') {
+            // \x{h...h}, \p{name}
+            return skipTo(regex, i, '}');
+        }
+        if (escaped == 'k') {
+            return skipTo(regex, i, '>');
+        }
+        if (escaped == 'c') {
+            return Math.min(i + 1, regex.length());
+        }
+        if (escaped == 'x' || escaped == 'u' || Character.isDigit(escaped)) {
+            while (i < regex.length() && Character.digit(regex.charAt(i), 16) >= 0) {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static int skipCharacterClass(String regex, int from) {
+        int i = from + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            // ']' right after opening bracket is literal
+            i++;
+        }
+        int depth = 1;
+        while (i < regex.length() && depth > 0) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipGroup(String regex, int from) {
+        int i = from + 1;
+        int depth = 1;
+        while (i < regex.length() && depth > 0) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i) - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+            i++;
+        }
+        // quantifier of the group doesn't affect literals outside of it
+        return i;
+    }
+}
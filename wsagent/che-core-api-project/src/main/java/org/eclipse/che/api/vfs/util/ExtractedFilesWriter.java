@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes entries of an archive straight to a folder of the local file system, bypassing virtual file system.
+ * <p>
+ * Folders are created by the calling thread, each folder is created once. Files are written by the pool of writer threads
+ * shared by all extractions, content is transferred to the file channel of the target file. Number of files which are
+ * queued for writing is limited, so extraction of a streamed archive which content is buffered in memory doesn't consume
+ * too much memory.
+ * <p>
+ * Extracted files aren't indexed, the caller is responsible for indexing the whole folder once extraction is done.
+ * Entries inside of the service folder of virtual file system ({@code .vfs}) are rejected, as virtual file system does.
+ */
+public class ExtractedFilesWriter {
+    /** Content of the file which is up to this size may be buffered in memory and written asynchronously. */
+    public static final int     MAX_BUFFERED_FILE_SIZE = 1024 * 1024;
+    private static final int    MAX_QUEUED_FILES       = 64;
+    private static final int    TRANSFER_CHUNK_SIZE    = 64 * 1024;
+    private static final String VFS_SERVICE_DIR        = ".vfs";
+
+    private static final ExecutorService executor =
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                                         new ThreadFactoryBuilder().setNameFormat("ExtractedFilesWriter-%d")
+                                                                   .setUncaughtExceptionHandler(
+                                                                           LoggingUncaughtExceptionHandler.getInstance())
+                                                                   .setDaemon(true)
+                                                                   .build());
+
+    private final File            ioFolder;
+    private final boolean         overwrite;
+    private final Set<String>     createdFolders = new HashSet<>();
+    private final List<Future<?>> writes         = new ArrayList<>();
+    private final Semaphore       queuedFiles    = new Semaphore(MAX_QUEUED_FILES);
+
+    private volatile boolean cancelled;
+
+    /**
+     * @param ioFolder
+     *         folder of the local file system the archive is extracted to
+     * @param overwrite
+     *         overwrite existing files
+     */
+    public ExtractedFilesWriter(File ioFolder, boolean overwrite) {
+        this.ioFolder = ioFolder;
+        this.overwrite = overwrite;
+    }
+
+    /** Creates folder and all its parents. */
+    public void createFolder(Path relativePath) throws ForbiddenException, ServerException {
+        checkPath(relativePath);
+        if (createdFolders.add(relativePath.toString())) {
+            final File folder = toIoFile(relativePath);
+            if (!folder.mkdirs() && !folder.isDirectory()) {
+                throw new ServerException(String.format("Unable create folder '%s'", relativePath));
+            }
+        }
+    }
+
+    /**
+     * Writes content of the file. Content is read by the calling thread and written asynchronously.
+     *
+     * @param relativePath
+     *         path of the file relative to the extraction folder
+     * @param content
+     *         content of the file, it is not closed
+     * @param size
+     *         size of the content or -1 if it is unknown, content which size is unknown or exceeds
+     *         {@link #MAX_BUFFERED_FILE_SIZE} is written synchronously
+     */
+    public void writeFile(Path relativePath, InputStream content, long size)
+            throws ForbiddenException, ConflictException, ServerException {
+        final File file = prepareFile(relativePath);
+        if (size < 0 || size > MAX_BUFFERED_FILE_SIZE) {
+            transfer(content, file, relativePath);
+            return;
+        }
+        final byte[] buffered = new byte[(int)size];
+        try {
+            int offset = 0;
+            int read;
+            while (offset < buffered.length && (read = content.read(buffered, offset, buffered.length - offset)) != -1) {
+                offset += read;
+            }
+        } catch (IOException e) {
+            throw new ServerException(String.format("Unable read content of '%s'. %s", relativePath, e.getMessage()), e);
+        }
+        submit(() -> {
+            try (FileChannel channel = FileChannel.open(file.toPath(), WRITE, CREATE, TRUNCATE_EXISTING)) {
+                final ByteBuffer buffer = ByteBuffer.wrap(buffered);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Writes content of the file asynchronously. Content is opened and read by writer thread, so the source
+     * should support concurrent reading, e.g. entries of {@link java.util.zip.ZipFile}.
+     *
+     * @param relativePath
+     *         path of the file relative to the extraction folder
+     * @param contentSource
+     *         opens content of the file, content is closed once it is written
+     */
+    public void writeFile(Path relativePath, ContentSource contentSource)
+            throws ForbiddenException, ConflictException, ServerException {
+        final File file = prepareFile(relativePath);
+        submit(() -> {
+            try (InputStream content = contentSource.open()) {
+                transfer(content, file, relativePath);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Waits until all files are written.
+     *
+     * @throws ServerException
+     *         when any file can't be written
+     */
+    public void await() throws ServerException {
+        ServerException failure = null;
+        try {
+            for (Future<?> write : writes) {
+                try {
+                    write.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        final Throwable cause = e.getCause();
+                        failure = cause instanceof ServerException ? (ServerException)cause
+                                                                   : new ServerException(cause.getMessage(), cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writes.forEach(write -> write.cancel(true));
+            throw new ServerException("Extraction of archive is interrupted");
+        } finally {
+            writes.clear();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Cancels writing of files which aren't written yet, e.g. when extraction fails, and waits until writer threads stop
+     * writing files of this extraction, so nothing is written to the folder after this method returns.
+     */
+    public void cancel() {
+        cancelled = true;
+        try {
+            for (Future<?> write : writes) {
+                try {
+                    write.get();
+                } catch (ExecutionException | CancellationException ignored) {
+                    // extraction already failed
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writes.forEach(write -> write.cancel(true));
+        } finally {
+            writes.clear();
+        }
+    }
+
+    private void checkPath(Path relativePath) throws ForbiddenException {
+        for (String element : relativePath.elements()) {
+            if (VFS_SERVICE_DIR.equals(element)) {
+                throw new ForbiddenException(String.format("Unable extract '%s'. Path is reserved", relativePath));
+            }
+        }
+    }
+
+    private File prepareFile(Path relativePath) throws ForbiddenException, ConflictException, ServerException {
+        checkPath(relativePath);
+        if (relativePath.length() > 1) {
+            createFolder(relativePath.getParent());
+        }
+        final File file = toIoFile(relativePath);
+        if (!overwrite && file.exists()) {
+            throw new ConflictException(String.format("File '%s' already exists", relativePath));
+        }
+        return file;
+    }
+
+    private void submit(WriteTask task) throws ServerException {
+        try {
+            queuedFiles.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Extraction of archive is interrupted");
+        }
+        writes.add(executor.submit(() -> {
+            try {
+                // files queued before extraction is cancelled are skipped
+                return cancelled ? null : task.write();
+            } finally {
+                queuedFiles.release();
+            }
+        }));
+    }
+
+    private File toIoFile(Path relativePath) {
+        return new File(ioFolder, relativePath.toString());
+    }
+
+    private void transfer(InputStream content, File file, Path relativePath) throws ServerException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), WRITE, CREATE, TRUNCATE_EXISTING)) {
+            final ReadableByteChannel source = Channels.newChannel(content);
+            long position = 0;
+            long transferred;
+            while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                if (cancelled) {
+                    throw new ServerException(String.format("Unable set content of '%s'. Extraction is cancelled", relativePath));
+                }
+                position += transferred;
+            }
+        } catch (IOException e) {
+            throw new ServerException(String.format("Unable set content of '%s'. %s", relativePath, e.getMessage()), e);
+        }
+    }
+
+    /** Opens content of an extracted file. */
+    @FunctionalInterface
+    public interface ContentSource {
+        InputStream open() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface WriteTask {
+        Void write() throws Exception;
+    }
+}
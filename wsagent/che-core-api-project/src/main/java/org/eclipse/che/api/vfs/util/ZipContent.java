@@ -83,17 +83,28 @@ public final class ZipContent {
                 }
             }
 
-            return new ZipContent(inMemory == null ? new DeleteOnCloseFileInputStream(file) : new ByteArrayInputStream(inMemory));
+            return inMemory == null ? new ZipContent(new DeleteOnCloseFileInputStream(file), file)
+                                    : new ZipContent(new ByteArrayInputStream(inMemory), null);
         }
     }
 
-    private final InputStream zipContent;
+    private final InputStream  zipContent;
+    private final java.io.File file;
 
-    private ZipContent(InputStream zipContent) {
+    private ZipContent(InputStream zipContent, java.io.File file) {
         this.zipContent = zipContent;
+        this.file = file;
     }
 
     public InputStream getContent() {
         return zipContent;
     }
+
+    /**
+     * Returns file the zip stream is spooled in or {@code null} if the zip stream is kept in memory.
+     * The file is removed when the {@link #getContent() content} is closed.
+     */
+    public java.io.File getFile() {
+        return file;
+    }
 }
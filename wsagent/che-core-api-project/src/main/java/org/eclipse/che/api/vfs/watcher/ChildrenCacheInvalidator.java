@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Drops cached listings of changed, created or deleted directory in {@link LocalVirtualFileSystem}. Virtual file system is not
+ * created if it is not initialized yet, there is nothing cached in that case.
+ */
+@Singleton
+public class ChildrenCacheInvalidator implements Consumer<Path> {
+    private static final Logger LOG = LoggerFactory.getLogger(ChildrenCacheInvalidator.class);
+
+    private final File                      root;
+    private final VirtualFileSystemProvider vfsProvider;
+
+    @Inject
+    public ChildrenCacheInvalidator(@Named("che.user.workspaces.storage") File root, VirtualFileSystemProvider vfsProvider) {
+        this.root = root;
+        this.vfsProvider = vfsProvider;
+    }
+
+    @Override
+    public void accept(Path path) {
+        try {
+            VirtualFileSystem virtualFileSystem = vfsProvider.getVirtualFileSystem(false);
+            if (virtualFileSystem instanceof LocalVirtualFileSystem) {
+                Path innerPath = root.toPath().relativize(path);
+                ((LocalVirtualFileSystem)virtualFileSystem).invalidateChildrenCache(
+                        org.eclipse.che.api.vfs.Path.of("/" + innerPath.toString()));
+            }
+        } catch (ServerException e) {
+            LOG.error("Issue happened during invalidation of cached children of directory", e);
+        }
+    }
+}
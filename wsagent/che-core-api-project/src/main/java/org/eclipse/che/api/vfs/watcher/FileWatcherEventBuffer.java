@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent.Kind;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Collects file system events and merges all events of the same path into a
+ * single one. Resulting event depends only on whether item existed before the
+ * first event and exists after the last one, e.g. creation followed by a few
+ * modifications is a creation, deletion followed by creation is a modification,
+ * and creation followed by deletion is not reported at all. Order of paths is
+ * the order in which their first events were added.
+ *
+ * Not thread safe, is expected to be used by the watching thread only.
+ */
+class FileWatcherEventBuffer {
+    private final Map<Path, PendingEvent> events = new LinkedHashMap<>();
+
+    private long firstEventTime;
+
+    /**
+     * Adds event to the buffer.
+     *
+     * @return {@code true} if event is merged with an earlier event of the same path
+     */
+    boolean add(Path path, Kind<?> kind) {
+        if (events.isEmpty()) {
+            firstEventTime = System.currentTimeMillis();
+        }
+        PendingEvent pending = events.get(path);
+        if (pending == null) {
+            events.put(path, new PendingEvent(kind));
+            return false;
+        }
+        pending.last = kind;
+        return true;
+    }
+
+    /**
+     * Adds event only if there is no event of the same path in the buffer yet.
+     * Used for events synthesized by rescanning of a directory which carry less
+     * information than real events.
+     */
+    void addIfAbsent(Path path, Kind<?> kind) {
+        if (!events.containsKey(path)) {
+            add(path, kind);
+        }
+    }
+
+    boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    int size() {
+        return events.size();
+    }
+
+    /** Time in milliseconds since the oldest event in the buffer was added. */
+    long age() {
+        return events.isEmpty() ? 0 : System.currentTimeMillis() - firstEventTime;
+    }
+
+    /**
+     * Removes all events from the buffer.
+     *
+     * @return merged event for each path, paths with no resulting event are omitted
+     */
+    Map<Path, Kind<?>> drain() {
+        Map<Path, Kind<?>> result = new LinkedHashMap<>();
+        for (Entry<Path, PendingEvent> entry : events.entrySet()) {
+            Kind<?> kind = entry.getValue().merged();
+            if (kind != null) {
+                result.put(entry.getKey(), kind);
+            }
+        }
+        events.clear();
+        return result;
+    }
+
+    private static class PendingEvent {
+        final Kind<?> first;
+        Kind<?> last;
+
+        PendingEvent(Kind<?> kind) {
+            first = kind;
+            last = kind;
+        }
+
+        Kind<?> merged() {
+            boolean existedBefore = first != ENTRY_CREATE;
+            boolean existsAfter = last != ENTRY_DELETE;
+            if (existedBefore && existsAfter) {
+                return ENTRY_MODIFY;
+            }
+            if (existedBefore) {
+                return ENTRY_DELETE;
+            }
+            return existsAfter ? ENTRY_CREATE : null;
+        }
+    }
+}
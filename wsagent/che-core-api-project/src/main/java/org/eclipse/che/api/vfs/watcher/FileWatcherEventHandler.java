@@ -107,6 +107,11 @@ public class FileWatcherEventHandler {
         return dir;
     }
 
+    /** Returns paths that have operations registered for. */
+    Set<Path> getRegisteredPaths() {
+        return operations.keySet();
+    }
+
     /**
      * Handles event passed form file watcher system. Path parameter is expected
      * to be passed in a normal operation system file system form and is
@@ -24,6 +24,7 @@ import javax.inject.Singleton;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.WatchEvent;
@@ -31,6 +32,8 @@ import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchEvent.Modifier;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -38,16 +41,21 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static java.lang.Thread.currentThread;
 import static java.nio.file.Files.exists;
+import static java.nio.file.Files.newDirectoryStream;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
 
 /**
@@ -58,16 +66,32 @@ import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
  * java file system paths in counter to che virtual file system which may have
  * custom root element and structure. Transforming one we of path representation
  * into another and backwards is the responsibility of upper services.
+ *
+ * Events are not passed to the handler immediately, bursts of events are
+ * coalesced so that handler gets a single event per path. If underlying watch
+ * service overflows, directory that lost events is rescanned and its entries
+ * are compared with the entries known before.
  */
 @Singleton
 public class FileWatcherService {
     private static final Logger LOG = LoggerFactory.getLogger(FileWatcherService.class);
 
+    /** Events are passed to handler when no new events are received during this period. */
+    private static final long COALESCING_WINDOW_MS    = 100;
+    /** Upper bound of the delay of events, so continuous stream of events doesn't stall notifications. */
+    private static final long MAX_COALESCING_DELAY_MS = 1_000;
+
     private final AtomicBoolean suspended = new AtomicBoolean(true);
     private final AtomicBoolean running   = new AtomicBoolean();
 
-    private final Map<WatchKey, Path> keys          = new ConcurrentHashMap<>();
-    private final Map<Path, Integer>  registrations = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedEvents = new AtomicLong();
+    private final AtomicLong droppedEvents   = new AtomicLong();
+    private final AtomicLong rescans         = new AtomicLong();
+
+    private final Map<WatchKey, Path>  keys          = new ConcurrentHashMap<>();
+    private final Map<Path, Integer>   registrations = new ConcurrentHashMap<>();
+    /** Watched directory -> names of its entries, used to recover events lost due to overflow */
+    private final Map<Path, Set<Path>> entries       = new ConcurrentHashMap<>();
 
     private final Set<PathMatcher>        excludes;
     private final FileWatcherEventHandler handler;
@@ -192,8 +216,7 @@ public class FileWatcherService {
         } else {
             try {
                 LOG.debug("Starting watching directory '{}'", dir);
-                WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
-                keys.put(watchKey, dir);
+                watch(dir, listEntries(dir));
                 registrations.put(dir, 1);
             } catch (IOException e) {
                 LOG.error("Can't register dir {} in file watch service", dir, e);
@@ -201,6 +224,17 @@ public class FileWatcherService {
         }
     }
 
+    private void watch(Path dir, Set<Path> dirEntries) throws IOException {
+        WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
+        entries.put(dir, dirEntries);
+        keys.put(watchKey, dir);
+    }
+
+    /** Number of directories being watched. */
+    int getWatchedDirectoriesCount() {
+        return keys.size();
+    }
+
     /**
      * Cancels registration of a directory for being watched. Each call of this
      * method decreases by one registration counter that corresponds to
@@ -223,6 +257,7 @@ public class FileWatcherService {
             LOG.debug("Trying to unregister directory '{}' while it does not exist", dir);
 
             registrations.remove(dir);
+            entries.remove(dir);
 
             keys.entrySet().stream().filter(equalsDir).map(Entry::getKey).forEach(WatchKey::cancel);
             keys.entrySet().removeIf(equalsDir);
@@ -239,6 +274,7 @@ public class FileWatcherService {
         if (previous == 1) {
             LOG.debug("Stopping watching directory '{}'", dir);
             registrations.remove(dir);
+            entries.remove(dir);
 
             keys.entrySet().stream().filter(equalsDir).map(Entry::getKey).forEach(WatchKey::cancel);
             keys.entrySet().removeIf(equalsDir);
@@ -269,43 +305,46 @@ public class FileWatcherService {
         }
     }
 
+    /** Number of events merged with earlier events of the same path. */
+    public long getCoalescedEventsCount() {
+        return coalescedEvents.get();
+    }
+
+    /** Number of events lost by underlying watch service due to overflow. */
+    public long getDroppedEventsCount() {
+        return droppedEvents.get();
+    }
+
+    /** Number of directories rescanned to recover events lost due to overflow. */
+    public long getRescansCount() {
+        return rescans.get();
+    }
+
     private void run() {
         suspended.compareAndSet(true, false);
         running.compareAndSet(false, true);
 
+        FileWatcherEventBuffer buffer = new FileWatcherEventBuffer();
+        Set<Path> overflowedDirs = new LinkedHashSet<>();
+
         while (running.get()) {
             try {
-                WatchKey watchKey = service.take();
-                Path dir = keys.get(watchKey);
-
-                if (suspended.get()) {
-                    resetAndRemove(watchKey, dir);
-
-                    LOG.debug("File watchers are running in suspended mode - skipping.");
-                    continue;
+                WatchKey watchKey;
+                if (buffer.isEmpty() && overflowedDirs.isEmpty()) {
+                    watchKey = service.take();
+                } else {
+                    watchKey = service.poll(COALESCING_WINDOW_MS, MILLISECONDS);
                 }
 
-                for (WatchEvent<?> event : watchKey.pollEvents()) {
-                    Kind<?> kind = event.kind();
-
-                    if (kind == OVERFLOW) {
-                        LOG.warn("Detected file system events overflowing");
-                        continue;
-                    }
-
-                    WatchEvent<Path> ev = cast(event);
-                    Path item = ev.context();
-                    Path path = dir.resolve(item).toAbsolutePath();
-
-                    if (isExcluded(excludes, path)) {
-                        LOG.debug("Path is within exclude list, skipping...");
-                        continue;
-                    }
-
-                    handler.handle(path, kind);
+                if (watchKey != null) {
+                    collect(watchKey, buffer, overflowedDirs);
                 }
 
-                resetAndRemove(watchKey, dir);
+                if (watchKey == null || buffer.age() >= MAX_COALESCING_DELAY_MS) {
+                    overflowedDirs.forEach(dir -> rescan(dir, buffer));
+                    overflowedDirs.clear();
+                    flush(buffer);
+                }
             } catch (InterruptedException e) {
                 running.compareAndSet(true, false);
                 LOG.debug("Interruption error when running file watcher, most likely caused by stopping it", e);
@@ -316,9 +355,127 @@ public class FileWatcherService {
         }
     }
 
+    private void collect(WatchKey watchKey, FileWatcherEventBuffer buffer, Set<Path> overflowedDirs) {
+        Path dir = keys.get(watchKey);
+
+        if (suspended.get()) {
+            resetAndRemove(watchKey, dir);
+
+            LOG.debug("File watchers are running in suspended mode - skipping.");
+            return;
+        }
+
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            Kind<?> kind = event.kind();
+
+            if (kind == OVERFLOW) {
+                droppedEvents.addAndGet(event.count());
+                if (dir != null && overflowedDirs.add(dir)) {
+                    LOG.warn("Detected file system events overflowing, directory '{}' is going to be rescanned", dir);
+                }
+                continue;
+            }
+
+            WatchEvent<Path> ev = cast(event);
+            Path item = ev.context();
+            Path path = dir.resolve(item).toAbsolutePath();
+
+            if (isExcluded(excludes, path)) {
+                LOG.debug("Path is within exclude list, skipping...");
+                continue;
+            }
+
+            Set<Path> dirEntries = entries.get(dir);
+            if (dirEntries != null) {
+                if (kind == ENTRY_CREATE) {
+                    dirEntries.add(item);
+                } else if (kind == ENTRY_DELETE) {
+                    dirEntries.remove(item);
+                }
+            }
+
+            if (buffer.add(path, kind)) {
+                coalescedEvents.incrementAndGet();
+            }
+        }
+
+        resetAndRemove(watchKey, dir);
+    }
+
+    /**
+     * Recovers events of a directory which are lost due to overflow. Entries
+     * which weren't known or registered before are reported as created, the
+     * rest of existing entries are reported as modified, known entries and
+     * registered items that are gone are reported as deleted. Created
+     * directories are reported as created only, they are watched once they are
+     * registered, e.g. by the handler. Events received before rescanning take
+     * precedence.
+     */
+    private void rescan(Path dir, FileWatcherEventBuffer buffer) {
+        if (!exists(dir)) {
+            return;
+        }
+        rescans.incrementAndGet();
+
+        Path absoluteDir = dir.toAbsolutePath();
+        Set<Path> registered = Stream.concat(handler.getRegisteredPaths().stream(), keys.values().stream())
+                                     .map(Path::toAbsolutePath)
+                                     .filter(it -> absoluteDir.equals(it.getParent()))
+                                     .collect(toSet());
+        Set<Path> known = entries.getOrDefault(dir, new HashSet<>());
+        Set<Path> current;
+        try {
+            current = listEntries(dir);
+        } catch (IOException e) {
+            LOG.error("Can't rescan directory '{}' after events overflowing", dir, e);
+            return;
+        }
+
+        for (Path name : current) {
+            Path path = absoluteDir.resolve(name);
+            if (isExcluded(excludes, path)) {
+                continue;
+            }
+            if (known.contains(name) || registered.contains(path)) {
+                buffer.addIfAbsent(path, ENTRY_MODIFY);
+            } else {
+                buffer.addIfAbsent(path, ENTRY_CREATE);
+            }
+        }
+
+        known.stream()
+             .filter(it -> !current.contains(it))
+             .map(absoluteDir::resolve)
+             .forEach(it -> buffer.addIfAbsent(it, ENTRY_DELETE));
+        registered.stream()
+                  .filter(it -> !exists(it))
+                  .forEach(it -> buffer.addIfAbsent(it, ENTRY_DELETE));
+
+        entries.replace(dir, current);
+    }
+
+    private static Set<Path> listEntries(Path dir) throws IOException {
+        Set<Path> names = ConcurrentHashMap.newKeySet();
+        try (DirectoryStream<Path> stream = newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                names.add(entry.getFileName());
+            }
+        }
+        return names;
+    }
+
+    private void flush(FileWatcherEventBuffer buffer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        LOG.debug("Passing {} coalesced events to handler", buffer.size());
+        buffer.drain().forEach(handler::handle);
+    }
+
     private void resetAndRemove(WatchKey watchKey, Path dir) {
         if (!watchKey.reset()) {
             registrations.remove(dir);
+            entries.remove(dir);
 
             keys.remove(watchKey);
         }
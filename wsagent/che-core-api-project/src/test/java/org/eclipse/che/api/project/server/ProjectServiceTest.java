@@ -106,6 +106,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.zip.ZipEntry;
@@ -1983,6 +1985,77 @@ public class ProjectServiceTest {
         Assert.assertTrue(result.get(0).getPath().equals("/my_project/c/test.txt"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchByRegularExpression() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "version 1.2.3".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("x/y").createFile("test.txt", "version 1.x".getBytes(Charset.defaultCharset()));
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project" +
+                                                      "?regex=true&text=version%20%5Cd%2B%5C.%5Cd%2B",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> result = (List<ItemReference>)response.getEntity();
+        assertEquals(result.size(), 1);
+        assertEquals(result.get(0).getPath(), "/my_project/a/b/test.txt");
+        assertEquals(result.get(0).getContentOccurrences().size(), 1);
+        assertEquals(result.get(0).getContentOccurrences().get(0).getPhrase(), "version 1.2");
+    }
+
+    @Test
+    public void testSearchFailsWhenRegularExpressionIsInvalid() throws Exception {
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project?regex=true&text=%5B",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 409, "Error: " + response.getEntity());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchReturnsLinkToNextPageWithCursor() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        FolderEntry folder = myProject.getBaseFolder().createFolder("pages");
+        for (int i = 0; i < 6; i++) {
+            folder.createFile("test" + i + ".txt", "searchhit".getBytes(Charset.defaultCharset()));
+        }
+
+        Set<String> paths = new LinkedHashSet<>();
+        String pageUrl = "http://localhost:8080/api/project/search/my_project?text=searchhit&maxItems=2";
+        for (int page = 0; page < 3; page++) {
+            assertNotNull(pageUrl, "Link to page " + page + " is expected");
+            ContainerResponse response = launcher.service(GET, pageUrl, "http://localhost:8080/api", null, null, null);
+            assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+            List<ItemReference> result = (List<ItemReference>)response.getEntity();
+            assertEquals(result.size(), 2);
+            result.forEach(item -> paths.add(item.getPath()));
+
+            pageUrl = nextPageUrl(response);
+            if (pageUrl != null) {
+                assertTrue(pageUrl, pageUrl.contains("skipCount=" + (page + 1) * 2));
+                assertTrue(pageUrl, pageUrl.contains("cursor="));
+            }
+        }
+
+        Assert.assertNull(pageUrl);
+        assertEquals(paths.size(), 6);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(paths.contains("/my_project/pages/test" + i + ".txt"));
+        }
+    }
+
+    /** Returns url from 'Link' header with relation 'next' or {@code null} if there is no such header. */
+    private static String nextPageUrl(ContainerResponse response) {
+        Object link = response.getHttpHeaders().getFirst("Link");
+        if (link == null) {
+            return null;
+        }
+        Matcher matcher = Pattern.compile("<(.+)>; rel=\"next\"").matcher(link.toString());
+        assertTrue(link.toString(), matcher.matches());
+        return matcher.group(1);
+    }
+
     private void validateFileLinks(ItemReference item) {
         Link link = item.getLink("delete");
         assertNotNull(link);
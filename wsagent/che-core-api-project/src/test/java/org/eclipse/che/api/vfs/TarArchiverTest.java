@@ -118,6 +118,19 @@ public class TarArchiverTest {
         assertEquals(readArchiveEntries(new ByteArrayInputStream(archive)), entries);
     }
 
+    @Test
+    public void extractsArchiveStraightToFileSystem() throws Exception {
+        byte[] archive = createTestTarArchive();
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        new TarArchiver(folder).extract(new ByteArrayInputStream(archive), false, 0, new File(testDirectory, "folder"));
+
+        Map<String, String> entries = getFileTreeAsList(folder).stream()
+                                                               .collect(toMap(f -> getTarEntryName(folder, f),
+                                                                              this::readContentUnchecked));
+
+        assertEquals(readArchiveEntries(new ByteArrayInputStream(archive)), entries);
+    }
+
     @Test
     public void extractsArchiveToFolderAndSkipsRootFolderFromArchive() throws Exception {
         byte[] archive = createTestTarArchive();
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -42,6 +43,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -185,6 +187,69 @@ public class ZipArchiverTest {
         }
     }
 
+    @Test
+    public void extractsArchiveStraightToFileSystem() throws Exception {
+        byte[] archive = createTestZipArchive();
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        new ZipArchiver(folder).extract(new ByteArrayInputStream(archive), false, 0, new File(testDirectory, "folder"));
+
+        Map<String, String> entries = getFileTreeAsList(folder).stream()
+                                                               .collect(toMap(f -> getZipEntryName(folder, f),
+                                                                              this::readContentUnchecked));
+
+        assertEquals(readArchiveEntries(new ByteArrayInputStream(archive)), entries);
+    }
+
+    @Test
+    public void extractsBigArchiveStraightToFileSystemAndSkipsRootFolderFromArchive() throws Exception {
+        byte[] archive = createBigTestZipArchive();
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        new ZipArchiver(folder).extract(new ByteArrayInputStream(archive), false, 1, new File(testDirectory, "folder"));
+
+        Map<String, String> entries = getFileTreeAsList(folder).stream()
+                                                               .collect(toMap(f -> getZipEntryName(folder, f),
+                                                                              this::readContentUnchecked));
+
+        Map<String, String> originalArchiveEntriesWithoutFirstPathSegment =
+                readArchiveEntries(new ByteArrayInputStream(archive)).entrySet().stream()
+                                                                     .filter(e -> !"arc/".equals(e.getKey()))
+                                                                     .collect(toMap(e -> e.getKey().replace("arc/", ""),
+                                                                                    Map.Entry::getValue));
+        assertEquals(originalArchiveEntriesWithoutFirstPathSegment, entries);
+    }
+
+    @Test
+    public void failsExtractArchiveStraightToFileSystemWhenItContainsItemWithSameNameAndOverwritingIsDisabled() throws Exception {
+        byte[] archive = createTestZipArchive();
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        VirtualFile existedFile = folder.createFolder("arc").createFolder("a").createFile("_a.txt", "xxx");
+
+        try {
+            new ZipArchiver(folder).extract(new ByteArrayInputStream(archive), false, 0, new File(testDirectory, "folder"));
+            thrown.expect(ConflictException.class);
+        } catch (ConflictException expected) {
+            assertEquals("xxx", existedFile.getContentAsString());
+        }
+    }
+
+    @Test
+    public void failsExtractArchiveStraightToFileSystemWhenItContainsVirtualFileSystemServiceFolder() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+            zipOut.putNextEntry(new ZipEntry("arc/.vfs/locks/_a.txt"));
+            zipOut.write(TEST_CONTENT_BYTES);
+        }
+        File ioFolder = new File(testDirectory, "folder");
+        VirtualFile folder = vfsRoot.createFolder("folder");
+
+        try {
+            new ZipArchiver(folder).extract(new ByteArrayInputStream(byteOut.toByteArray()), false, 0, ioFolder);
+            thrown.expect(ForbiddenException.class);
+        } catch (ForbiddenException expected) {
+            assertFalse(new File(ioFolder, "arc/.vfs").exists());
+        }
+    }
+
     private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
         Map<String, String> entries = newHashMap();
         try (ZipInputStream zip = new ZipInputStream(archive)) {
@@ -247,6 +312,21 @@ public class ZipArchiverTest {
         return byteOut.toByteArray();
     }
 
+    private byte[] createBigTestZipArchive() throws IOException {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        ZipOutputStream zipOut = new ZipOutputStream(byteOut);
+        Random random = new Random();
+        // random content isn't compressed, so archive is big enough to be spooled in file
+        for (int i = 0; i < 8; i++) {
+            byte[] content = new byte[64 * 1024];
+            random.nextBytes(content);
+            zipOut.putNextEntry(new ZipEntry(String.format("arc/%d/_%d.txt", i, i)));
+            zipOut.write(content);
+        }
+        zipOut.close();
+        return byteOut.toByteArray();
+    }
+
     private List<VirtualFile> getFileTreeAsList(VirtualFile rootOfTree) throws Exception {
         List<VirtualFile> list = newArrayList();
 
@@ -13,6 +13,8 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -22,7 +24,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.List;
 
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -64,4 +71,41 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
+
+    @Test
+    public void listsChildrenCreatedOutsideOfFileSystemWhenFolderModificationTimeChanged() throws Exception {
+        File folder = new File(testDirectory, "folder");
+        assertTrue(folder.mkdirs());
+        assertTrue(new File(folder, "a.txt").createNewFile());
+        assertTrue(folder.setLastModified(System.currentTimeMillis() - 60000));
+        assertEquals(newArrayList("a.txt"), childNames("folder"));
+
+        assertTrue(new File(folder, "b.txt").createNewFile());
+        assertTrue(folder.setLastModified(System.currentTimeMillis() - 30000));
+
+        assertEquals(newArrayList("a.txt", "b.txt"), childNames("folder"));
+    }
+
+    @Test
+    public void listsChildrenCreatedOutsideOfFileSystemWhenCachedChildrenInvalidated() throws Exception {
+        File folder = new File(testDirectory, "folder");
+        assertTrue(folder.mkdirs());
+        assertTrue(new File(folder, "a.txt").createNewFile());
+        long lastModified = System.currentTimeMillis() - 60000;
+        assertTrue(folder.setLastModified(lastModified));
+        assertEquals(newArrayList("a.txt"), childNames("folder"));
+
+        // modification time stays the same, e.g. if it is too coarse
+        assertTrue(new File(folder, "b.txt").createNewFile());
+        assertTrue(folder.setLastModified(lastModified));
+        assertEquals(newArrayList("a.txt"), childNames("folder"));
+
+        fileSystem.invalidateChildrenCache(Path.of("/folder"));
+
+        assertEquals(newArrayList("a.txt", "b.txt"), childNames("folder"));
+    }
+
+    private List<String> childNames(String folder) throws Exception {
+        return fileSystem.getRoot().getChild(Path.of(folder)).getChildren().stream().map(VirtualFile::getName).collect(toList());
+    }
 }
\ No newline at end of file
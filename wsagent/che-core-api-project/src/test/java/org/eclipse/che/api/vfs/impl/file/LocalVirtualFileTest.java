@@ -1414,7 +1414,7 @@ public class LocalVirtualFileTest {
         Archiver archiver = mock(Archiver.class);
         when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
         folder.unzip(new ByteArrayInputStream(new byte[0]), false, 0);
-        verify(archiver).extract(any(InputStream.class), eq(false), eq(0));
+        verify(archiver).extract(any(InputStream.class), eq(false), eq(0), eq(((LocalVirtualFile)folder).toIoFile()));
     }
 
     @Test
@@ -1448,7 +1448,7 @@ public class LocalVirtualFileTest {
         Archiver archiver = mock(Archiver.class);
         when(archiverFactory.createArchiver(eq(folder), eq("tar"))).thenReturn(archiver);
         folder.untar(new ByteArrayInputStream(new byte[0]), false, 0);
-        verify(archiver).extract(any(InputStream.class), eq(false), eq(0));
+        verify(archiver).extract(any(InputStream.class), eq(false), eq(0), eq(((LocalVirtualFile)folder).toIoFile()));
     }
 
     @Test
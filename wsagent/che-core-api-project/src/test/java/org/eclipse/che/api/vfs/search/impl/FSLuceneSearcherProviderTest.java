@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import org.eclipse.che.api.vfs.PathElementMatcher;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -23,6 +24,8 @@ import java.io.File;
 import java.nio.file.PathMatcher;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -70,6 +73,23 @@ public class FSLuceneSearcherProviderTest {
         assertSame(searcher, fsLuceneSearcherProvider.getSearcher(virtualFileSystem, true));
     }
 
+    @Test
+    public void hashOfExcludePatternsDependsOnDeclaringClassesAndNumberOfPatterns() throws Exception {
+        PathMatcher first = path -> false;
+        PathMatcher second = path -> true;
+
+        assertEquals(FSLuceneSearcherProvider.hashOf(newHashSet(first)), FSLuceneSearcherProvider.hashOf(newHashSet(second)));
+        assertNotEquals(FSLuceneSearcherProvider.hashOf(newHashSet(first)), FSLuceneSearcherProvider.hashOf(newHashSet(first, second)));
+    }
+
+    @Test
+    public void hashOfExcludePatternsDependsOnConfigurationOfDescribedPatterns() throws Exception {
+        assertEquals(FSLuceneSearcherProvider.hashOf(newHashSet(new PathElementMatcher(".che"), new PathElementMatcher(".#"))),
+                     FSLuceneSearcherProvider.hashOf(newHashSet(new PathElementMatcher(".#"), new PathElementMatcher(".che"))));
+        assertNotEquals(FSLuceneSearcherProvider.hashOf(newHashSet(new PathElementMatcher(".che"))),
+                        FSLuceneSearcherProvider.hashOf(newHashSet(new PathElementMatcher("node_modules"))));
+    }
+
     @Test
     public void closesSearcherWhenProviderIsClosed() throws Exception {
         Searcher searcher = mock(Searcher.class);
@@ -12,13 +12,18 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.mockito.ArgumentMatcher;
@@ -30,6 +35,7 @@ import org.testng.annotations.Test;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.mockito.Matchers.any;
@@ -39,6 +45,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings("Duplicates")
@@ -86,6 +93,54 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void reindexesOnlyChangedFilesWhenPersistentIndexIsReopened() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile changed = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile removed = folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[0]);
+        searcher.close();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 1, null, true, false);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+        assertTrue(indexDirectory.exists());
+
+        changed.updateContent(TEST_CONTENT[1]);
+        removed.delete();
+        EventService eventService = new EventService();
+        List<IndexingProgressEvent> events = new CopyOnWriteArrayList<>();
+        eventService.subscribe(events::add, IndexingProgressEvent.class);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 1, eventService, true, false);
+        searcher.init(virtualFileSystem);
+
+        assertEquals(searcher.search(new QueryExpression().setText("should")).getFilePaths(), newArrayList("/folder/xxx.txt"));
+        assertTrue(searcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+        assertEquals(searcher.search(new QueryExpression().setText("apollo")).getFilePaths(), newArrayList("/folder/zzz.txt"));
+        assertEquals(events.get(events.size() - 1).getIndexedFiles(), 1);
+    }
+
+    @Test
+    public void reindexesAllFilesWhenPersistentIndexIsReopenedWithDifferentFilters() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[0]);
+        searcher.close();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 1, null, true, false, "filters-1");
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        EventService eventService = new EventService();
+        List<IndexingProgressEvent> events = new CopyOnWriteArrayList<>();
+        eventService.subscribe(events::add, IndexingProgressEvent.class);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 1, eventService, true, false, "filters-2");
+        searcher.init(virtualFileSystem);
+
+        assertEquals(searcher.search(new QueryExpression().setText("be")).getFilePaths(), newArrayList("/folder/xxx.txt"));
+        assertEquals(events.get(events.size() - 1).getIndexedFiles(), 2);
+    }
+
     @Test
     public void addsSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -336,6 +391,174 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void retrievesNextPageWithCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+        QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+        assertNotNull(nextPageQueryExpression.getCursor());
+
+        // index is changed after the first page is retrieved, the next page is retrieved from the same snapshot of index
+        virtualFileSystem.getRoot().getChild(Path.of("file00")).delete();
+        searcher.delete("/file00", true);
+
+        SearchResult secondPage = searcher.search(nextPageQueryExpression);
+        assertEquals(secondPage.getFilePaths().size(), 8);
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), secondPage.getFilePaths()));
+        assertEquals(secondPage.getNextPageQueryExpression().get().getSkipCount(), 16);
+    }
+
+    @Test
+    public void usesSkipCountWhenCursorIsInvalid() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+        QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get().setCursor("invalid");
+
+        SearchResult secondPage = searcher.search(nextPageQueryExpression);
+        assertEquals(secondPage.getFilePaths().size(), 8);
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), secondPage.getFilePaths()));
+    }
+
+    @Test
+    public void providesOffsetsAndLinesOfMatches() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0] + '\n' + TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertEquals(result.getResults().size(), 1);
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        int lineStart = TEST_CONTENT[0].length() + 1;
+        assertEquals(occurrences.size(), 2);
+        assertEquals(occurrences.get(0).getPhrase(), "be");
+        assertEquals(occurrences.get(0).getStartOffset(), lineStart + 3);
+        assertEquals(occurrences.get(0).getEndOffset(), lineStart + 5);
+        assertEquals(occurrences.get(0).getLineNumber(), 2);
+        assertEquals(occurrences.get(0).getLineContent(), TEST_CONTENT[2]);
+        assertEquals(occurrences.get(1).getStartOffset(), lineStart + 16);
+        assertEquals(occurrences.get(1).getLineNumber(), 2);
+    }
+
+    @Test
+    public void providesMatchesForLimitedNumberOfHits() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i <= LuceneSearcher.MAX_SNIPPET_HITS; i++) {
+            folder.createFile("file" + i + ".txt", TEST_CONTENT[2]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<SearchResultEntry> results = searcher.search(new QueryExpression().setText("be")).getResults();
+
+        assertEquals(results.size(), LuceneSearcher.MAX_SNIPPET_HITS + 1);
+        assertEquals(results.get(LuceneSearcher.MAX_SNIPPET_HITS - 1).getOccurrences().size(), 2);
+        assertTrue(results.get(LuceneSearcher.MAX_SNIPPET_HITS).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void searchesSubstringsOfNamesAndTextWithNgramIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("ApolloMission.txt", TEST_CONTENT[0]);
+        folder.createFile("Hamlet.txt", TEST_CONTENT[2]);
+        searcher.close();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 1, null, false, true);
+        searcher.init(virtualFileSystem);
+
+        assertEquals(searcher.search(new QueryExpression().setName("*mission*")).getFilePaths(),
+                     newArrayList("/folder/ApolloMission.txt"));
+        SearchResult result = searcher.search(new QueryExpression().setText("*flight*"));
+        assertEquals(result.getFilePaths(), newArrayList("/folder/ApolloMission.txt"));
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(occurrences.size(), 1);
+        assertEquals(occurrences.get(0).getPhrase(), "spaceflight");
+        assertTrue(searcher.search(new QueryExpression().setText("*flights*")).getFilePaths().isEmpty());
+    }
+
+    @DataProvider
+    public Object[][] ngramIndex() {
+        return new Object[][]{{false}, {true}};
+    }
+
+    @Test(dataProvider = "ngramIndex")
+    public void searchesContentOfFilesWithRegularExpression(boolean ngramIndex) throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[1] + '\n' + TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.close();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 1, null, false, ngramIndex);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("ma[a-z]or human").setRegex(true));
+        assertEquals(result.getFilePaths(), newArrayList("/folder/xxx.txt"));
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(occurrences.size(), 1);
+        assertEquals(occurrences.get(0).getPhrase(), "major human");
+        assertEquals(occurrences.get(0).getLineNumber(), 2);
+        assertEquals(occurrences.get(0).getLineContent(), TEST_CONTENT[0]);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("^In early \\d+|twice$").setRegex(true)).getFilePaths();
+        Collections.sort(paths);
+        assertEquals(paths, newArrayList("/folder/xxx.txt", "/folder/yyy.txt"));
+        assertTrue(searcher.search(new QueryExpression().setText("Major human").setRegex(true)).getFilePaths().isEmpty());
+    }
+
+    @Test
+    public void stopsMatchingRegularExpressionWhenRequestedPageIsFound() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("missi[o]n").setRegex(true).setMaxItems(5));
+
+        assertEquals(result.getFilePaths().size(), 5);
+        assertEquals(result.getTotalHits(), 6);
+        assertFalse(result.isTotalHitsExact());
+        assertTrue(result.getNextPageQueryExpression().isPresent());
+        assertEquals(result.getNextPageQueryExpression().get().getSkipCount(), 5);
+
+        SearchResult lastPage = searcher.search(new QueryExpression().setText("missi[o]n").setRegex(true)
+                                                                     .setSkipCount(20).setMaxItems(10));
+
+        assertEquals(lastPage.getFilePaths().size(), 5);
+        assertEquals(lastPage.getTotalHits(), 25);
+        assertTrue(lastPage.isTotalHitsExact());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+    }
+
+    @Test
+    public void doesNotMatchRegularExpressionAgainstTooBigFiles() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        StringBuilder bigContent = new StringBuilder(TEST_CONTENT[0]);
+        while (bigContent.length() <= LuceneSearcher.MAX_READ_CONTENT_LENGTH) {
+            bigContent.append('\n').append(TEST_CONTENT[0]);
+        }
+        folder.createFile("yyy.txt", bigContent.toString());
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("ma[a-z]or human").setRegex(true));
+
+        assertEquals(result.getFilePaths(), newArrayList("/folder/xxx.txt"));
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
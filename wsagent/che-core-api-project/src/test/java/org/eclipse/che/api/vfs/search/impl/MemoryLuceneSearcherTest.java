@@ -12,11 +12,13 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.junit.After;
@@ -26,6 +28,7 @@ import org.mockito.ArgumentMatcher;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
@@ -74,6 +77,34 @@ public class MemoryLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void initializesIndexForExistedFilesWithFewIndexingThreads() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%02d/a/b", i));
+            for (int j = 0; j < 10; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        EventService eventService = new EventService();
+        List<IndexingProgressEvent> events = new CopyOnWriteArrayList<>();
+        eventService.subscribe(events::add, IndexingProgressEvent.class);
+        searcher.close();
+        searcher = new MemoryLuceneSearcher(filter, closeCallback, 4, eventService, false);
+
+        searcher.init(virtualFileSystem);
+
+        assertEquals(25, searcher.search(new QueryExpression().setText("spaceflight")).getTotalHits());
+        assertEquals(100, searcher.search(new QueryExpression().setName("file*")).getTotalHits());
+        IndexingProgressEvent first = events.get(0);
+        IndexingProgressEvent last = events.get(events.size() - 1);
+        assertEquals(IndexingProgressEvent.Status.STARTED, first.getStatus());
+        assertEquals(IndexingProgressEvent.Status.COMPLETED, last.getStatus());
+        assertEquals("/", last.getPath());
+        assertEquals(100, last.getDiscoveredFiles());
+        assertEquals(100, last.getIndexedFiles());
+    }
+
     @Test
     public void addsSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
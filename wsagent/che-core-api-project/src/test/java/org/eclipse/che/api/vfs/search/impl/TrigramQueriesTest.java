@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.Query;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class TrigramQueriesTest {
+    @DataProvider
+    public Object[][] regularExpressions() {
+        return new Object[][]{
+                {"spaceflight", newArrayList("spaceflight")},
+                {"major\\s+human", newArrayList("major", "human")},
+                {"colou?r", newArrayList("colo")},
+                {"a.b", emptyList()},
+                {"(?i)apollo", newArrayList("apollo")},
+                {"foo(bar)?baz", newArrayList("foo", "baz")},
+                {"[abc]+def\\.txt", newArrayList("def.txt")},
+                {"\\x41pollo", newArrayList("pollo")},
+                {"\\Qa.b*c\\E", newArrayList("a.b*c")},
+                {"apollo|nasa", emptyList()},
+                {"(?x) apollo", emptyList()}
+        };
+    }
+
+    @Test(dataProvider = "regularExpressions")
+    public void findsLiteralsRequiredByRegularExpression(String regex, List<String> literals) {
+        assertEquals(TrigramQueries.requiredLiterals(regex), literals);
+    }
+
+    @Test
+    public void createsPhraseQueryOfLowerCasedTrigrams() {
+        Query query = TrigramQueries.substring("text_ngram", "Apollo");
+
+        assertEquals(((PhraseQuery)query).getTerms(), new Term[]{new Term("text_ngram", "apo"),
+                                                                 new Term("text_ngram", "pol"),
+                                                                 new Term("text_ngram", "oll"),
+                                                                 new Term("text_ngram", "llo")});
+    }
+
+    @Test
+    public void doesNotCreateQueryForLiteralShorterThanTrigram() {
+        assertNull(TrigramQueries.substring("text_ngram", "ap"));
+    }
+}
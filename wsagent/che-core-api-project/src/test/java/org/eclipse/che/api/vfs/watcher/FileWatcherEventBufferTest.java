@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent.Kind;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link FileWatcherEventBuffer}
+ */
+public class FileWatcherEventBufferTest {
+    private static final Path FILE       = Paths.get("/project/file");
+    private static final Path OTHER_FILE = Paths.get("/project/other");
+
+    FileWatcherEventBuffer buffer;
+
+    @Before
+    public void setUp() throws Exception {
+        buffer = new FileWatcherEventBuffer();
+    }
+
+    @Test
+    public void shouldMergeCreationAndModificationsIntoCreation() throws Exception {
+        assertFalse(buffer.add(FILE, ENTRY_CREATE));
+        assertTrue(buffer.add(FILE, ENTRY_MODIFY));
+        assertTrue(buffer.add(FILE, ENTRY_MODIFY));
+
+        assertEquals(ENTRY_CREATE, buffer.drain().get(FILE));
+    }
+
+    @Test
+    public void shouldMergeModificationsIntoSingleModification() throws Exception {
+        buffer.add(FILE, ENTRY_MODIFY);
+        buffer.add(FILE, ENTRY_MODIFY);
+
+        Map<Path, Kind<?>> events = buffer.drain();
+
+        assertEquals(1, events.size());
+        assertEquals(ENTRY_MODIFY, events.get(FILE));
+    }
+
+    @Test
+    public void shouldMergeModificationAndDeletionIntoDeletion() throws Exception {
+        buffer.add(FILE, ENTRY_MODIFY);
+        buffer.add(FILE, ENTRY_DELETE);
+
+        assertEquals(ENTRY_DELETE, buffer.drain().get(FILE));
+    }
+
+    @Test
+    public void shouldMergeDeletionAndCreationIntoModification() throws Exception {
+        buffer.add(FILE, ENTRY_DELETE);
+        buffer.add(FILE, ENTRY_CREATE);
+
+        assertEquals(ENTRY_MODIFY, buffer.drain().get(FILE));
+    }
+
+    @Test
+    public void shouldSkipItemCreatedAndDeleted() throws Exception {
+        buffer.add(FILE, ENTRY_CREATE);
+        buffer.add(FILE, ENTRY_MODIFY);
+        buffer.add(FILE, ENTRY_DELETE);
+
+        assertTrue(buffer.drain().isEmpty());
+    }
+
+    @Test
+    public void shouldNotOverrideRealEventWithRescannedOne() throws Exception {
+        buffer.add(FILE, ENTRY_CREATE);
+        buffer.addIfAbsent(FILE, ENTRY_MODIFY);
+        buffer.addIfAbsent(OTHER_FILE, ENTRY_MODIFY);
+
+        Map<Path, Kind<?>> events = buffer.drain();
+
+        assertEquals(ENTRY_CREATE, events.get(FILE));
+        assertEquals(ENTRY_MODIFY, events.get(OTHER_FILE));
+    }
+
+    @Test
+    public void shouldKeepOrderOfFirstEvents() throws Exception {
+        buffer.add(OTHER_FILE, ENTRY_CREATE);
+        buffer.add(FILE, ENTRY_CREATE);
+        buffer.add(OTHER_FILE, ENTRY_MODIFY);
+
+        assertEquals(asList(OTHER_FILE, FILE), new ArrayList<>(buffer.drain().keySet()));
+    }
+
+    @Test
+    public void shouldBeEmptyAfterDraining() throws Exception {
+        buffer.add(FILE, ENTRY_CREATE);
+
+        buffer.drain();
+
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.age());
+    }
+}
@@ -33,8 +33,12 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.util.Collections.emptySet;
 import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -258,4 +262,33 @@ public class FileWatcherServiceTest {
         createDirectory(path.resolve(FILE_NAME));
         verify(handler, timeout(TIMEOUT_VALUE).never()).handle(path, ENTRY_MODIFY);
     }
+
+    @Test
+    public void shouldRescanFolderWhenEventsOverflow() throws Exception {
+        Path root = rootFolder.getRoot().toPath();
+        Path removed = rootFolder.newFile(FILE_NAME).toPath();
+        FileWatcherService overflowingService = new FileWatcherService(excludes, handler, FileSystems.getDefault().newWatchService());
+        overflowingService.register(root);
+
+        // events are not taken until service is started, watch key keeps at most 512 events, the rest are reported as overflow
+        for (int i = 0; i < 600; i++) {
+            rootFolder.newFile(FILE_NAME + i);
+        }
+        Path folder = rootFolder.newFolder(FOLDER_NAME).toPath();
+        Path nested = rootFolder.newFile(FOLDER_NAME + File.separator + FILE_NAME).toPath();
+        assertTrue(removed.toFile().delete());
+        overflowingService.start();
+
+        try {
+            verify(handler, timeout(TIMEOUT_VALUE)).handle(root.resolve(FILE_NAME + 599), ENTRY_CREATE);
+            verify(handler, timeout(TIMEOUT_VALUE)).handle(folder, ENTRY_CREATE);
+            verify(handler, timeout(TIMEOUT_VALUE)).handle(removed, ENTRY_DELETE);
+            verify(handler, never()).handle(eq(nested), any());
+            assertTrue(overflowingService.getDroppedEventsCount() > 0);
+            assertEquals(1, overflowingService.getRescansCount());
+            assertEquals(1, overflowingService.getWatchedDirectoriesCount());
+        } finally {
+            overflowingService.stop();
+        }
+    }
 }
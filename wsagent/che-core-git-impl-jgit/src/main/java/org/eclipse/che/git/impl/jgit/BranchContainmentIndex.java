@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Index of branches that contain commits of a repository. Each branch gets a bit and each commit reachable from any branch keeps
+ * bitmap of the branches it is reachable from, so branches of a commit are found without walking history of every branch.
+ * <p>
+ * Index is updated incrementally when branches move: new commits of fast-forwarded or created branch are walked until commits
+ * already marked with its bit, bit of deleted or rewritten branch is cleared. Index is fully rebuilt with single topological walk
+ * of the history when it is empty or when most of the branches are changed. Commits with the same set of branches share the same
+ * bitmap instance.
+ * <p>
+ * Memory used by the index grows with the number of reachable commits, so when it exceeds the limit the bitmaps are dropped and
+ * branches of a commit are found by walking history of each branch.
+ * <p>
+ * Instance is shared between connections to the same repository, so methods are synchronized.
+ */
+class BranchContainmentIndex {
+
+    /** Default max number of indexed commits. */
+    static final int DEFAULT_MAX_COMMITS = 100_000;
+
+    private final int                   maxCommits;
+    private final Map<ObjectId, BitSet> commits;
+    private final Map<BitSet, BitSet>   bitmaps;
+    private final Map<String, ObjectId> tips;
+    private final Map<String, Integer>  branchBits;
+    private final List<String>          bitBranches;
+
+    /** Whether the number of commits exceeded the limit, then only tips of the branches are kept. */
+    private boolean overflowed;
+
+    BranchContainmentIndex() {
+        this(DEFAULT_MAX_COMMITS);
+    }
+
+    BranchContainmentIndex(int maxCommits) {
+        this.maxCommits = maxCommits;
+        commits = new HashMap<>();
+        bitmaps = new HashMap<>();
+        tips = new HashMap<>();
+        branchBits = new HashMap<>();
+        bitBranches = new ArrayList<>();
+    }
+
+    /**
+     * Brings index in line with current state of the branches.
+     *
+     * @param repository
+     *         indexed repository
+     * @param branches
+     *         all branches of the repository
+     */
+    synchronized void update(Repository repository, List<Ref> branches) throws IOException {
+        final Map<String, ObjectId> current = new TreeMap<>();
+        for (Ref branch : branches) {
+            if (branch.getObjectId() != null) {
+                current.put(branch.getName(), branch.getObjectId());
+            }
+        }
+        if (current.equals(tips)) {
+            return;
+        }
+        if (overflowed) {
+            tips.clear();
+            tips.putAll(current);
+            return;
+        }
+        int changed = 0;
+        for (Map.Entry<String, ObjectId> entry : current.entrySet()) {
+            if (!entry.getValue().equals(tips.get(entry.getKey()))) {
+                changed++;
+            }
+        }
+        if (tips.isEmpty() || changed > current.size() / 2) {
+            rebuild(repository, current);
+            return;
+        }
+
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            for (String removed : new ArrayList<>(tips.keySet())) {
+                if (!current.containsKey(removed)) {
+                    clearBit(branchBits.remove(removed));
+                    tips.remove(removed);
+                }
+            }
+            for (Map.Entry<String, ObjectId> entry : current.entrySet()) {
+                final String branch = entry.getKey();
+                final ObjectId tip = entry.getValue();
+                final ObjectId oldTip = tips.get(branch);
+                if (tip.equals(oldTip)) {
+                    continue;
+                }
+                Integer bit = branchBits.get(branch);
+                if (bit == null) {
+                    bit = allocateBit(branch);
+                } else if (!isFastForward(walk, oldTip, tip)) {
+                    clearBit(bit);
+                    bitBranches.set(bit, branch);
+                }
+                walk.reset();
+                if (!markReachable(walk, tip, bit)) {
+                    overflow(current);
+                    return;
+                }
+                tips.put(branch, tip);
+            }
+        }
+    }
+
+    /**
+     * Returns names of the branches that contain given commit, sorted by name. Commit not reachable from any branch has none.
+     *
+     * @param repository
+     *         indexed repository, used for walking history of branches if the index exceeded the limit of commits
+     */
+    synchronized List<String> getBranches(Repository repository, AnyObjectId commit) throws IOException {
+        if (overflowed) {
+            return walkBranches(repository, commit);
+        }
+        final BitSet bits = commits.get(commit);
+        if (bits == null) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<>(bits.cardinality());
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            result.add(bitBranches.get(bit));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /** Returns number of indexed commits. */
+    synchronized int size() {
+        return commits.size();
+    }
+
+    /** Returns {@code true} if the index exceeded the limit of commits and branches of commits are found by walking history. */
+    synchronized boolean isOverflowed() {
+        return overflowed;
+    }
+
+    private List<String> walkBranches(Repository repository, AnyObjectId commit) throws IOException {
+        final List<String> result = new ArrayList<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            final RevCommit target = parseCommit(walk, commit.toObjectId());
+            if (target == null) {
+                return result;
+            }
+            for (Map.Entry<String, ObjectId> entry : tips.entrySet()) {
+                final RevCommit tip = parseCommit(walk, entry.getValue());
+                walk.reset();
+                if (tip != null && walk.isMergedInto(target, tip)) {
+                    result.add(entry.getKey());
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /** Drops the bitmaps and keeps only tips of the branches. */
+    private void overflow(Map<String, ObjectId> current) {
+        commits.clear();
+        bitmaps.clear();
+        branchBits.clear();
+        bitBranches.clear();
+        tips.clear();
+        tips.putAll(current);
+        overflowed = true;
+    }
+
+    private void rebuild(Repository repository, Map<String, ObjectId> current) throws IOException {
+        commits.clear();
+        bitmaps.clear();
+        tips.clear();
+        branchBits.clear();
+        bitBranches.clear();
+
+        final Map<ObjectId, BitSet> tipBits = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            // children are returned before parents, so bitmap of a commit is complete when it is returned
+            walk.sort(RevSort.TOPO);
+            for (Map.Entry<String, ObjectId> entry : current.entrySet()) {
+                final RevCommit tip = parseCommit(walk, entry.getValue());
+                final int bit = allocateBit(entry.getKey());
+                tips.put(entry.getKey(), entry.getValue());
+                if (tip != null) {
+                    tipBits.computeIfAbsent(tip.copy(), id -> new BitSet()).set(bit);
+                    walk.markStart(tip);
+                }
+            }
+            for (RevCommit commit : walk) {
+                BitSet bits = union(commits.get(commit), tipBits.get(commit));
+                commits.put(commit.copy(), bits);
+                for (RevCommit parent : commit.getParents()) {
+                    commits.put(parent.copy(), union(commits.get(parent), bits));
+                }
+                if (commits.size() > maxCommits) {
+                    overflow(current);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the bit to the commit and all its ancestors, walk stops at commits which already have the bit.
+     *
+     * @return {@code false} if the number of indexed commits exceeded the limit
+     */
+    private boolean markReachable(RevWalk walk, ObjectId tip, int bit) throws IOException {
+        final RevCommit start = parseCommit(walk, tip);
+        if (start == null) {
+            return true;
+        }
+        final Deque<RevCommit> queue = new ArrayDeque<>();
+        queue.push(start);
+        while (!queue.isEmpty()) {
+            final RevCommit commit = queue.pop();
+            final BitSet bits = commits.get(commit);
+            if (bits != null && bits.get(bit)) {
+                continue;
+            }
+            final BitSet newBits = bits == null ? new BitSet() : (BitSet)bits.clone();
+            newBits.set(bit);
+            commits.put(commit.copy(), intern(newBits));
+            if (commits.size() > maxCommits) {
+                return false;
+            }
+            walk.parseHeaders(commit);
+            for (RevCommit parent : commit.getParents()) {
+                queue.push(parent);
+            }
+        }
+        return true;
+    }
+
+    private boolean isFastForward(RevWalk walk, ObjectId oldTip, ObjectId newTip) throws IOException {
+        final RevCommit oldCommit = parseCommit(walk, oldTip);
+        final RevCommit newCommit = parseCommit(walk, newTip);
+        if (oldCommit == null || newCommit == null) {
+            return false;
+        }
+        walk.reset();
+        return walk.isMergedInto(oldCommit, newCommit);
+    }
+
+    private int allocateBit(String branch) {
+        int bit = bitBranches.indexOf(null);
+        if (bit < 0) {
+            bit = bitBranches.size();
+            bitBranches.add(branch);
+        } else {
+            bitBranches.set(bit, branch);
+        }
+        branchBits.put(branch, bit);
+        return bit;
+    }
+
+    /** Removes the bit from all commits, commits which are not reachable from any branch anymore are removed from the index. */
+    private void clearBit(int bit) {
+        bitmaps.clear();
+        commits.entrySet().removeIf(entry -> {
+            BitSet bits = entry.getValue();
+            if (bits.get(bit)) {
+                bits = (BitSet)bits.clone();
+                bits.clear(bit);
+            }
+            if (bits.isEmpty()) {
+                return true;
+            }
+            entry.setValue(intern(bits));
+            return false;
+        });
+        bitBranches.set(bit, null);
+    }
+
+    private BitSet union(BitSet first, BitSet second) {
+        if (first == null || Objects.equals(first, second)) {
+            return second == null ? intern(new BitSet()) : intern(second);
+        }
+        if (second == null) {
+            return first;
+        }
+        final BitSet result = (BitSet)first.clone();
+        result.or(second);
+        return result.equals(first) ? first : intern(result);
+    }
+
+    /** Returns shared instance of the bitmap, bitmaps must not be modified after interning. */
+    private BitSet intern(BitSet bits) {
+        final BitSet existing = bitmaps.putIfAbsent(bits, bits);
+        return existing == null ? bits : existing;
+    }
+
+    private static RevCommit parseCommit(RevWalk walk, ObjectId id) throws IOException {
+        try {
+            return walk.parseCommit(id);
+        } catch (MissingObjectException | IncorrectObjectTypeException e) {
+            return null;
+        }
+    }
+}
@@ -253,15 +253,24 @@ class JGitConnection implements GitConnection {
     private final CredentialsLoader credentialsLoader;
     private final SshKeyProvider    sshKeyProvider;
     private final GitUserResolver   userResolver;
-    private final Repository        repository;
+    private final Repository             repository;
+    private final BranchContainmentIndex branchIndex;
+    private final JGitStatusCache        statusCache;
 
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
                    GitUserResolver userResolver) {
+        this(repository, credentialsLoader, sshKeyProvider, userResolver, new BranchContainmentIndex(), null);
+    }
+
+    JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
+                   GitUserResolver userResolver, BranchContainmentIndex branchIndex, JGitStatusCache statusCache) {
         this.repository = repository;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.branchIndex = branchIndex;
+        this.statusCache = statusCache;
     }
 
     @Override
@@ -785,10 +794,11 @@ class JGitConnection implements GitConnection {
                 logCommand.addPath(filePath);
             }
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
+            branchIndex.update(repository, getGit().branchList().setListMode(ListMode.ALL).call());
             List<Revision> commits = new ArrayList<>();
             while (revIterator.hasNext()) {
                 RevCommit commit = revIterator.next();
-                Revision revision = getRevision(commit, filePath);
+                Revision revision = getRevision(commit, filePath, params.isSkipDiffFiles());
                 commits.add(revision);
             }
             return new LogPage(commits);
@@ -803,19 +813,22 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private Revision getRevision(RevCommit commit, String filePath) throws GitAPIException, IOException {
+    private Revision getRevision(RevCommit commit, String filePath, boolean skipDiffFiles) throws IOException {
         List<String> commitParentsList = Stream.of(commit.getParents())
                                                .map(RevCommit::getName)
                                                .collect(Collectors.toList());
 
-        return newDto(Revision.class).withId(commit.getId().getName())
-                                     .withMessage(commit.getFullMessage())
-                                     .withCommitTime((long)commit.getCommitTime() * 1000)
-                                     .withCommitter(getCommitCommitter(commit))
-                                     .withAuthor(getCommitAuthor(commit))
-                                     .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
-                                     .withCommitParent(commitParentsList)
-                                     .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
+        Revision revision = newDto(Revision.class).withId(commit.getId().getName())
+                                                  .withMessage(commit.getFullMessage())
+                                                  .withCommitTime((long)commit.getCommitTime() * 1000)
+                                                  .withCommitter(getCommitCommitter(commit))
+                                                  .withAuthor(getCommitAuthor(commit))
+                                                  .withBranches(getBranchesOfCommit(commit))
+                                                  .withCommitParent(commitParentsList);
+        if (!skipDiffFiles) {
+            revision.setDiffCommitFile(getCommitDiffFiles(commit, filePath));
+        }
+        return revision;
     }
 
     private GitUser getCommitCommitter(RevCommit commit) {
@@ -830,14 +843,12 @@ class JGitConnection implements GitConnection {
                                     .withEmail(authorIdentity.getEmailAddress());
     }
 
-    private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-        List<Ref> branches = getGit().branchList()
-                                     .setListMode(mode)
-                                     .setContains(commit.getName())
-                                     .call();
-        return branches.stream()
-                       .map(branch -> newDto(Branch.class).withName(branch.getName()))
-                       .collect(Collectors.toList());
+    /** Returns local and remote branches which contain the commit, index has to be updated before. */
+    private List<Branch> getBranchesOfCommit(RevCommit commit) throws IOException {
+        return branchIndex.getBranches(repository, commit)
+                          .stream()
+                          .map(branch -> newDto(Branch.class).withName(branch))
+                          .collect(Collectors.toList());
     }
 
     private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern) throws IOException {
@@ -1522,6 +1533,18 @@ class JGitConnection implements GitConnection {
             throw new GitException("Not a git repository");
         }
         String branchName = getCurrentBranch();
+        if (statusCache != null) {
+            JGitStatusSnapshot snapshot;
+            try {
+                snapshot = statusCache.getStatus(repository.getDirectory(), getGit());
+            } catch (GitAPIException | IOException exception) {
+                throw new GitException(exception.getMessage(), exception);
+            }
+            // repository may be untracked at any moment, then status of the whole working tree is computed
+            if (snapshot != null) {
+                return new JGitStatusImpl(branchName, snapshot, format);
+            }
+        }
         return new JGitStatusImpl(branchName, getGit().status(), format);
     }
 
@@ -1839,7 +1862,8 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private Repository getRepository() {
+    @VisibleForTesting
+    Repository getRepository() {
         return repository;
     }
 
@@ -11,6 +11,11 @@
  *******************************************************************************/
 package org.eclipse.che.git.impl.jgit;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitConnectionFactory;
@@ -22,7 +27,9 @@ import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -31,25 +38,53 @@ import java.io.File;
 import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.concurrent.TimeUnit.HOURS;
 
 /**
  * JGit implementation for GitConnectionFactory
  * 
  * @author Tareq Sharafy (tareq.sha@gmail.com)
  */
+@Singleton
 public class JGitConnectionFactory extends GitConnectionFactory {
 
     private static final String USER_AGENT = "git/2.1.0";
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    /** Max number of repositories which branch containment indexes are kept in memory. */
+    private static final int BRANCH_INDEXES_CACHE_SIZE = 20;
+    /** Max number of opened repositories which are kept for reuse by the next connections. */
+    private static final int REPOSITORIES_CACHE_SIZE   = 20;
+
+    private final CredentialsLoader                   credentialsLoader;
+    private final SshKeyProvider                      sshKeyProvider;
+    private final GitUserResolver                     userResolver;
+    private final Cache<File, BranchContainmentIndex> branchIndexes;
+    private final Cache<File, Repository>             repositories;
+    private final JGitStatusCache                     statusCache;
 
-    @Inject
     public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
+        this(credentialsLoader, sshKeyProvider, userResolver, null);
+    }
+
+    @Inject
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver,
+                                 JGitStatusCache statusCache) throws GitException {
         this.credentialsLoader = credentialsLoader;
+        this.statusCache = statusCache;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.branchIndexes = CacheBuilder.newBuilder()
+                                         .maximumSize(BRANCH_INDEXES_CACHE_SIZE)
+                                         .expireAfterAccess(1, HOURS)
+                                         .build();
+        this.repositories = CacheBuilder.newBuilder()
+                                        .maximumSize(REPOSITORIES_CACHE_SIZE)
+                                        .expireAfterAccess(1, HOURS)
+                                        .removalListener(this::releaseRepository)
+                                        .recordStats()
+                                        .build();
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -78,15 +113,76 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
-        Repository gitRepo = createRepository(workDir);
-        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        File gitDir = getGitDir(workDir);
+        Repository gitRepo = openRepository(gitDir);
+        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver, getBranchIndex(gitDir),
+                                                 statusCache);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    /**
+     * Removes opened repository of the working directory from the cache, the next connection opens repository again.
+     * Connections which already use the repository are not affected, repository is closed when the last of them is closed.
+     */
+    public void invalidateRepository(File workDir) {
+        repositories.invalidate(getGitDir(workDir));
+    }
+
+    /** Returns hit and miss statistics of the cache of opened repositories. */
+    public CacheStats getRepositoryCacheStats() {
+        return repositories.stats();
+    }
+
+    @PreDestroy
+    public void closeRepositories() {
+        repositories.invalidateAll();
+    }
+
+    /**
+     * Returns repository of the given git directory. Existing repositories are opened once and shared between connections, so caches
+     * of the repository (pack indexes, delta bases, refs) are reused. The cache keeps its own reference to the repository and each
+     * connection gets one more, which is released when connection is closed, see {@link Repository#incrementOpen()}.
+     */
+    private Repository openRepository(File gitDir) throws GitException {
+        if (!gitDir.isDirectory()) {
+            // repository is about to be created or cloned, it isn't worth to cache
+            return createRepository(gitDir);
+        }
+        try {
+            synchronized (repositories) {
+                Repository repository = repositories.get(gitDir, () -> createRepository(gitDir));
+                repository.incrementOpen();
+                return repository;
+            }
+        } catch (ExecutionException e) {
+            throw new GitException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void releaseRepository(RemovalNotification<File, Repository> notification) {
+        // lock guarantees that evicted repository is not being handed out to a connection at the same time
+        synchronized (repositories) {
+            notification.getValue().close();
+        }
+    }
+
+    /** Returns branch containment index shared by all connections to the repository. */
+    private BranchContainmentIndex getBranchIndex(File gitDir) throws GitException {
+        try {
+            return branchIndexes.get(gitDir, BranchContainmentIndex::new);
+        } catch (ExecutionException e) {
+            throw new GitException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static File getGitDir(File workDir) {
+        return new File(workDir, Constants.DOT_GIT).toPath().toAbsolutePath().normalize().toFile();
+    }
+
+    private static Repository createRepository(File gitDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            return new FileRepository(gitDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
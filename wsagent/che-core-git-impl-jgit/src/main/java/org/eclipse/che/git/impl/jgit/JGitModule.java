@@ -12,9 +12,16 @@
 package org.eclipse.che.git.impl.jgit;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
 
 import org.eclipse.che.api.git.GitConnectionFactory;
 
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static com.google.inject.multibindings.Multibinder.newSetBinder;
+
 /**
  * Guice module to install jgit implementation of git components
  * @author Sergii Kabashnyuk
@@ -23,5 +30,12 @@ public class JGitModule extends AbstractModule {
     @Override
     protected void configure() {
         bind(GitConnectionFactory.class).to(JGitConnectionFactory.class);
+        bind(JGitRepositoryChangeDetector.class).asEagerSingleton();
+        bind(JGitStatusChangeDetector.class).asEagerSingleton();
+
+        newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.directory.create"))
+                .addBinding().to(JGitStatusChangeDetector.DirectoryCreateConsumer.class);
+        newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.directory.delete"))
+                .addBinding().to(JGitStatusChangeDetector.DirectoryDeleteConsumer.class);
     }
 }
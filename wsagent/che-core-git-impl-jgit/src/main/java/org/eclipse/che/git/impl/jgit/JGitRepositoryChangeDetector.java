@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.function.Consumer;
+
+import static org.eclipse.jgit.lib.Constants.DOT_GIT;
+import static org.eclipse.jgit.lib.Constants.HEAD;
+import static org.eclipse.jgit.lib.Constants.PACKED_REFS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Invalidates repositories cached by {@link JGitConnectionFactory} when refs or configuration of a repository are changed,
+ * e.g. by git command line client, so the next connection opens repository again.
+ */
+@Singleton
+public class JGitRepositoryChangeDetector {
+    private static final Logger LOG = getLogger(JGitRepositoryChangeDetector.class);
+
+    private static final String CONFIG_FILE = "config";
+    private static final String REFS_DIR    = "refs";
+
+    private final File                  root;
+    private final FileWatcherManager    manager;
+    private final JGitConnectionFactory connectionFactory;
+
+    private int id;
+
+    @Inject
+    public JGitRepositoryChangeDetector(@Named("che.user.workspaces.storage") File root, FileWatcherManager manager,
+                                        JGitConnectionFactory connectionFactory) {
+        this.root = root;
+        this.manager = manager;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        Consumer<String> consumer = fsEventConsumer();
+        id = manager.registerByMatcher(matcher(), consumer, consumer, consumer);
+    }
+
+    @PreDestroy
+    public void stopWatcher() {
+        manager.unRegisterByMatcher(id);
+    }
+
+    private PathMatcher matcher() {
+        return it -> getGitDir(it) != null;
+    }
+
+    private Consumer<String> fsEventConsumer() {
+        return it -> {
+            Path gitDir = getGitDir(root.toPath().resolve(it.startsWith("/") ? it.substring(1) : it));
+            if (gitDir != null) {
+                LOG.debug("Refs or configuration of repository {} are changed", gitDir);
+                connectionFactory.invalidateRepository(gitDir.getParent().toFile());
+            }
+        };
+    }
+
+    /** Returns git directory of the repository if path points to its HEAD, config, packed refs or refs, otherwise returns null. */
+    private static Path getGitDir(Path path) {
+        for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent.getFileName() != null && DOT_GIT.equals(parent.getFileName().toString())) {
+                Path relative = parent.relativize(path);
+                String first = relative.getName(0).toString();
+                if (relative.getNameCount() == 1 && (HEAD.equals(first) || CONFIG_FILE.equals(first) || PACKED_REFS.equals(first))
+                    || REFS_DIR.equals(first)) {
+                    return parent;
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+}
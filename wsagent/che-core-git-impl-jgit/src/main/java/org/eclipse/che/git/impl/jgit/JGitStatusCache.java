@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.StatusCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.eclipse.jgit.lib.Constants.HEAD;
+
+/**
+ * Keeps status of tracked repositories and updates it incrementally: when paths of the working tree are reported as changed, only
+ * status of these paths is computed. Status of the whole working tree is computed only after changes of the index or HEAD, or when
+ * too many paths are changed. Index and HEAD are also compared with ones the status was computed for, so status is up to date after
+ * operations made by git connections even if their changes are not reported yet.
+ * <p>
+ * Changes of the working trees are reported by {@link JGitStatusChangeDetector}, status of repositories which are not tracked is not
+ * cached.
+ */
+@Singleton
+public class JGitStatusCache {
+    /** When more paths are changed, status of the whole working tree is computed instead. */
+    private static final int MAX_CHANGED_PATHS = 100;
+
+    private final ConcurrentMap<File, RepositoryStatus> statuses = new ConcurrentHashMap<>();
+
+    /** Starts caching of status of the repository, all changes of its working tree have to be reported after that. */
+    void track(File gitDir) {
+        statuses.putIfAbsent(gitDir, new RepositoryStatus());
+    }
+
+    /** Stops caching of status of the repository. */
+    void untrack(File gitDir) {
+        statuses.remove(gitDir);
+    }
+
+    boolean isTracked(File gitDir) {
+        return statuses.containsKey(gitDir);
+    }
+
+    /**
+     * Reports change of file or folder in the working tree.
+     *
+     * @param gitDir
+     *         git directory of the repository
+     * @param path
+     *         path relative to the working tree
+     */
+    void pathChanged(File gitDir, String path) {
+        final RepositoryStatus status = statuses.get(gitDir);
+        if (status != null) {
+            if (path.isEmpty()) {
+                status.fullRescan = true;
+            } else {
+                status.changedPaths.add(path);
+            }
+        }
+    }
+
+    /** Reports change of the index, HEAD or refs of the repository, so status of the whole working tree is computed next time. */
+    void repositoryChanged(File gitDir) {
+        final RepositoryStatus status = statuses.get(gitDir);
+        if (status != null) {
+            status.fullRescan = true;
+        }
+    }
+
+    /**
+     * Returns status of the repository, brought up to date with the reported changes.
+     *
+     * @param gitDir
+     *         git directory of the repository
+     * @param git
+     *         git of the repository
+     * @return status of the repository or {@code null} if repository is not tracked
+     */
+    JGitStatusSnapshot getStatus(File gitDir, Git git) throws GitAPIException, IOException {
+        final RepositoryStatus status = statuses.get(gitDir);
+        if (status == null) {
+            return null;
+        }
+        synchronized (status) {
+            // changes are taken before status is computed, so changes reported meanwhile are applied next time
+            final boolean fullRescan = status.fullRescan;
+            status.fullRescan = false;
+            final List<String> changedPaths = new ArrayList<>(status.changedPaths);
+            status.changedPaths.removeAll(changedPaths);
+            final RepositoryStamp stamp = new RepositoryStamp(git.getRepository());
+
+            if (status.snapshot == null || fullRescan || !stamp.equals(status.stamp) || changedPaths.size() > MAX_CHANGED_PATHS) {
+                status.snapshot = new JGitStatusSnapshot(git.status().call());
+                status.stamp = stamp;
+            } else if (!changedPaths.isEmpty()) {
+                final Set<String> scope = status.snapshot.expandScope(changedPaths);
+                final StatusCommand command = git.status();
+                scope.forEach(command::addPath);
+                status.snapshot.replace(scope, new JGitStatusSnapshot(command.call()));
+            }
+            if (status.published == null) {
+                status.published = status.snapshot.copy();
+            }
+            return status.snapshot.copy();
+        }
+    }
+
+    /**
+     * Returns changes of the status made since the previous call of this method or since the status was computed first time.
+     *
+     * @return changes or {@code null} if status is not changed or repository is not tracked
+     */
+    Changes getChanges(File gitDir) {
+        final RepositoryStatus status = statuses.get(gitDir);
+        if (status == null) {
+            return null;
+        }
+        synchronized (status) {
+            if (status.snapshot == null || status.published == null) {
+                return null;
+            }
+            final JGitStatusSnapshot added = status.snapshot.subtract(status.published);
+            final JGitStatusSnapshot removed = status.published.subtract(status.snapshot);
+            if (added.isEmpty() && removed.isEmpty()) {
+                return null;
+            }
+            status.published = status.snapshot.copy();
+            return new Changes(added, removed, status.snapshot.isClean());
+        }
+    }
+
+    /** Entries added to and removed from the lists of the status. */
+    static class Changes {
+        final JGitStatusSnapshot added;
+        final JGitStatusSnapshot removed;
+        final boolean            clean;
+
+        Changes(JGitStatusSnapshot added, JGitStatusSnapshot removed, boolean clean) {
+            this.added = added;
+            this.removed = removed;
+            this.clean = clean;
+        }
+    }
+
+    private static class RepositoryStatus {
+        final    Set<String>        changedPaths = ConcurrentHashMap.newKeySet();
+        volatile boolean            fullRescan;
+        JGitStatusSnapshot          snapshot;
+        JGitStatusSnapshot          published;
+        RepositoryStamp             stamp;
+    }
+
+    /** State of the index file and HEAD, which status of the whole working tree depends on. */
+    private static class RepositoryStamp {
+        final long     indexModified;
+        final long     indexLength;
+        final ObjectId head;
+
+        RepositoryStamp(Repository repository) throws IOException {
+            final File index = repository.getIndexFile();
+            this.indexModified = index.lastModified();
+            this.indexLength = index.length();
+            this.head = repository.resolve(HEAD);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof RepositoryStamp)) {
+                return false;
+            }
+            final RepositoryStamp other = (RepositoryStamp)obj;
+            return indexModified == other.indexModified && indexLength == other.indexLength && Objects.equals(head, other.head);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(indexModified, indexLength, head);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.git.GitConnection;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusChangedEvent;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.nio.file.Files.isDirectory;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.git.shared.StatusFormat.SHORT;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toInternalPath;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toNormalPath;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.jgit.lib.Constants.DOT_GIT;
+import static org.eclipse.jgit.lib.Constants.HEAD;
+import static org.eclipse.jgit.lib.Constants.PACKED_REFS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Reports changes of working trees and repositories to {@link JGitStatusCache}, so status of repositories is updated incrementally,
+ * and sends changes of status to subscribed clients.
+ * <p>
+ * Folders of working tree are watched until their number exceeds {@code che.git.status.max_watched_folders}, after that status of the
+ * repository is not cached anymore and computed for the whole working tree on each request. Caching is resumed when folders which
+ * are created after that are deleted and the number of folders is within the limit again, e.g. when build output is cleaned.
+ * Folders of working trees are counted by {@link DirectoryCreateConsumer} and {@link DirectoryDeleteConsumer} which receive all
+ * created and deleted folders of the file tree.
+ */
+@Singleton
+public class JGitStatusChangeDetector {
+    private static final Logger LOG = getLogger(JGitStatusChangeDetector.class);
+
+    private static final String INCOMING_METHOD         = "track:git-status";
+    private static final String UNTRACK_METHOD          = "untrack:git-status";
+    private static final String OUTGOING_METHOD         = "event:git-status-changed";
+    private static final String INDEX_FILE              = "index";
+    private static final String REFS_DIR                = "refs";
+    private static final String INFO_DIR                = "info";
+    private static final String EXCLUDE_FILE            = "exclude";
+    private static final String CONFIG_FILE             = "config";
+    private static final String GITIGNORE_FILE          = ".gitignore";
+    private static final long   PUBLISH_DELAY_MS        = 300;
+
+    static final int MAX_WATCHED_DIRECTORIES = 1000;
+
+    private final int maxWatchedDirectories;
+
+    private final File                  root;
+    private final FileWatcherManager    manager;
+    private final RequestTransmitter    transmitter;
+    private final JGitConnectionFactory connectionFactory;
+    private final JGitStatusCache       statusCache;
+
+    private final Set<String>                        endpointIds         = newConcurrentHashSet();
+    /** Git directory -> folders of its working tree */
+    private final ConcurrentMap<File, WorkTreeFolders> workTrees           = new ConcurrentHashMap<>();
+    /** Git directories which changes are waiting to be sent */
+    private final Set<File>                            pendingRepositories = newConcurrentHashSet();
+    private final ScheduledExecutorService             executor;
+
+    private int id;
+
+    public JGitStatusChangeDetector(File root, FileWatcherManager manager, RequestTransmitter transmitter,
+                                    JGitConnectionFactory connectionFactory, JGitStatusCache statusCache) {
+        this(root, manager, transmitter, connectionFactory, statusCache, MAX_WATCHED_DIRECTORIES);
+    }
+
+    /**
+     * @param maxWatchedDirectories
+     *         max number of folders of a working tree which are watched, status of repository which working tree has more
+     *         folders isn't cached
+     */
+    @Inject
+    public JGitStatusChangeDetector(@Named("che.user.workspaces.storage") File root, FileWatcherManager manager,
+                                    RequestTransmitter transmitter, JGitConnectionFactory connectionFactory,
+                                    JGitStatusCache statusCache,
+                                    @Named("che.git.status.max_watched_folders") int maxWatchedDirectories) {
+        this.root = root;
+        this.maxWatchedDirectories = maxWatchedDirectories;
+        this.manager = manager;
+        this.transmitter = transmitter;
+        this.connectionFactory = connectionFactory;
+        this.statusCache = statusCache;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("GitStatusDetector-%d")
+                                                                                              .setDaemon(true)
+                                                                                              .build());
+    }
+
+    @Inject
+    public void configureHandler(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName(INCOMING_METHOD)
+                    .paramsAsEmpty()
+                    .noResult()
+                    .withConsumer((endpointId, skip) -> endpointIds.add(endpointId));
+        configurator.newConfiguration()
+                    .methodName(UNTRACK_METHOD)
+                    .paramsAsEmpty()
+                    .noResult()
+                    .withConsumer((endpointId, skip) -> endpointIds.remove(endpointId));
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        Consumer<String> consumer = fsEventConsumer();
+        id = manager.registerByMatcher(matcher(), consumer, consumer, consumer);
+    }
+
+    @PreDestroy
+    public void stopWatcher() {
+        manager.unRegisterByMatcher(id);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Matches git directories, their refs and info folders and folders of working trees which status is cached, so changes of their
+     * entries are reported.
+     */
+    private PathMatcher matcher() {
+        return it -> {
+            if (!isDirectory(it)) {
+                return false;
+            }
+            Path path = it.toAbsolutePath().normalize();
+            if (DOT_GIT.equals(String.valueOf(path.getFileName()))) {
+                return true;
+            }
+            Path gitDir = getGitDir(path);
+            if (gitDir != null) {
+                String first = gitDir.relativize(path).getName(0).toString();
+                return REFS_DIR.equals(first) || INFO_DIR.equals(first);
+            }
+            Path workTree = getWorkTree(path);
+            if (workTree == null) {
+                return false;
+            }
+            WorkTreeFolders folders = workTrees.get(workTree.resolve(DOT_GIT).toFile());
+            return folders == null || !folders.isOverflowed();
+        };
+    }
+
+    /** Starts caching of status of created repository, counts created folders of working trees. */
+    void directoryCreated(Path created) {
+        Path path = created.toAbsolutePath().normalize();
+        if (DOT_GIT.equals(String.valueOf(path.getFileName()))) {
+            File gitDir = path.toFile();
+            if (!getFolders(gitDir).isOverflowed()) {
+                statusCache.track(gitDir);
+                statusCache.repositoryChanged(gitDir);
+            }
+            return;
+        }
+        if (getGitDir(path) != null) {
+            return;
+        }
+        Path workTree = getWorkTree(path);
+        if (workTree == null) {
+            return;
+        }
+        File repository = workTree.resolve(DOT_GIT).toFile();
+        if (getFolders(repository).add(path)) {
+            LOG.warn("Working tree {} has more than {} folders, status of its repository isn't cached until folders are deleted, "
+                     + "see che.git.status.max_watched_folders", workTree, maxWatchedDirectories);
+            statusCache.untrack(repository);
+        } else {
+            // changes made before folder is watched are not reported
+            statusCache.pathChanged(repository, toGitPath(workTree.relativize(path)));
+        }
+    }
+
+    /** Stops caching of status of deleted repository, resumes caching when working tree has not too many folders again. */
+    void directoryDeleted(Path deleted) {
+        Path path = deleted.toAbsolutePath().normalize();
+        if (DOT_GIT.equals(String.valueOf(path.getFileName()))) {
+            File gitDir = path.toFile();
+            workTrees.remove(gitDir);
+            statusCache.untrack(gitDir);
+            return;
+        }
+        if (getGitDir(path) != null) {
+            return;
+        }
+        for (Map.Entry<File, WorkTreeFolders> entry : workTrees.entrySet()) {
+            if (entry.getValue().remove(path)) {
+                LOG.info("Status of repository {} is cached again", entry.getKey());
+                statusCache.track(entry.getKey());
+            }
+        }
+    }
+
+    private WorkTreeFolders getFolders(File gitDir) {
+        return workTrees.computeIfAbsent(gitDir, key -> new WorkTreeFolders(maxWatchedDirectories));
+    }
+
+    private Consumer<String> fsEventConsumer() {
+        return it -> {
+            Path path = toNormalPath(root.toPath(), it).toAbsolutePath().normalize();
+            Path gitDir = DOT_GIT.equals(String.valueOf(path.getFileName())) ? path : getGitDir(path);
+            if (gitDir != null) {
+                if (isRepositoryChange(gitDir.relativize(path))) {
+                    statusCache.repositoryChanged(gitDir.toFile());
+                    schedulePublish(gitDir.toFile());
+                }
+                return;
+            }
+            Path workTree = getWorkTree(path);
+            if (workTree != null) {
+                File repository = workTree.resolve(DOT_GIT).toFile();
+                if (GITIGNORE_FILE.equals(String.valueOf(path.getFileName()))) {
+                    // ignore rules may change status of any untracked path below the folder
+                    statusCache.repositoryChanged(repository);
+                } else {
+                    statusCache.pathChanged(repository, toGitPath(workTree.relativize(path)));
+                }
+                schedulePublish(repository);
+            }
+        };
+    }
+
+    /** Sends changes of status after a short delay, so series of file system events result in one message. */
+    private void schedulePublish(File gitDir) {
+        if (!endpointIds.isEmpty() && statusCache.isTracked(gitDir) && pendingRepositories.add(gitDir)) {
+            executor.schedule(() -> publish(gitDir), PUBLISH_DELAY_MS, MILLISECONDS);
+        }
+    }
+
+    private void publish(File gitDir) {
+        pendingRepositories.remove(gitDir);
+        File workTree = gitDir.getParentFile();
+        try (GitConnection connection = connectionFactory.getConnection(workTree)) {
+            Status status = connection.status(SHORT);
+            JGitStatusCache.Changes changes = statusCache.getChanges(gitDir);
+            if (changes == null) {
+                return;
+            }
+            StatusChangedEvent event = newDto(StatusChangedEvent.class).withProjectPath(toInternalPath(root.toPath(), workTree.toPath()))
+                                                                       .withBranchName(status.getBranchName())
+                                                                       .withClean(changes.clean)
+                                                                       .withAddedEntries(toDto(changes.added))
+                                                                       .withRemovedEntries(toDto(changes.removed));
+            endpointIds.forEach(endpointId -> transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, event));
+        } catch (GitException e) {
+            LOG.error("Can't send status of repository {}", gitDir, e);
+        }
+    }
+
+    private static Status toDto(JGitStatusSnapshot snapshot) {
+        Status status = newDto(Status.class);
+        status.setFormat(SHORT);
+        status.setClean(snapshot.isClean());
+        status.setAdded(new ArrayList<>(snapshot.added));
+        status.setChanged(new ArrayList<>(snapshot.changed));
+        status.setRemoved(new ArrayList<>(snapshot.removed));
+        status.setMissing(new ArrayList<>(snapshot.missing));
+        status.setModified(new ArrayList<>(snapshot.modified));
+        status.setUntracked(new ArrayList<>(snapshot.untracked));
+        status.setUntrackedFolders(new ArrayList<>(snapshot.untrackedFolders));
+        status.setConflicting(new ArrayList<>(snapshot.conflicting));
+        return status;
+    }
+
+    /**
+     * Whether the entry of git directory affects status of the whole working tree: index, HEAD, refs, ignore rules of
+     * {@code info/exclude} and config which may point to another excludes file, see {@code core.excludesFile}.
+     */
+    private static boolean isRepositoryChange(Path relative) {
+        if (relative.getNameCount() == 0 || relative.toString().isEmpty()) {
+            return true;
+        }
+        String first = relative.getName(0).toString();
+        if (relative.getNameCount() == 1) {
+            return INDEX_FILE.equals(first) || HEAD.equals(first) || PACKED_REFS.equals(first) || REFS_DIR.equals(first)
+                   || CONFIG_FILE.equals(first) || INFO_DIR.equals(first);
+        }
+        if (INFO_DIR.equals(first)) {
+            return relative.getNameCount() == 2 && EXCLUDE_FILE.equals(relative.getName(1).toString());
+        }
+        return REFS_DIR.equals(first);
+    }
+
+    /** Returns git directory if the path is inside of it, otherwise returns null. */
+    private static Path getGitDir(Path path) {
+        for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+            if (DOT_GIT.equals(String.valueOf(parent.getFileName()))) {
+                return parent;
+            }
+        }
+        return null;
+    }
+
+    /** Returns the nearest folder which contains the path and has git directory, otherwise returns null. */
+    private Path getWorkTree(Path path) {
+        Path rootPath = root.toPath().toAbsolutePath().normalize();
+        for (Path parent = path; parent != null && parent.startsWith(rootPath) && !parent.equals(rootPath);
+             parent = parent.getParent()) {
+            if (isDirectory(parent.resolve(DOT_GIT))) {
+                return parent;
+            }
+        }
+        return null;
+    }
+
+    private static String toGitPath(Path relative) {
+        return relative.toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Live folders of a working tree. When there are too many of them, the working tree is overflowed: status isn't cached and
+     * folders created after that aren't watched. Overflow ends when all not watched folders are deleted and the number of folders is
+     * within the limit.
+     */
+    private static class WorkTreeFolders {
+        private final Set<Path> folders   = new HashSet<>();
+        private final Set<Path> unwatched = new HashSet<>();
+        private final int       limit;
+        private boolean overflowed;
+
+        WorkTreeFolders(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized boolean isOverflowed() {
+            return overflowed;
+        }
+
+        /** Returns true if the working tree becomes overflowed. */
+        synchronized boolean add(Path folder) {
+            if (!folders.add(folder)) {
+                return false;
+            }
+            if (overflowed) {
+                unwatched.add(folder);
+                return false;
+            }
+            if (folders.size() > limit) {
+                overflowed = true;
+                unwatched.add(folder);
+                return true;
+            }
+            return false;
+        }
+
+        /** Returns true if the working tree is no longer overflowed. */
+        synchronized boolean remove(Path folder) {
+            if (!folders.remove(folder)) {
+                return false;
+            }
+            unwatched.remove(folder);
+            if (overflowed && unwatched.isEmpty() && folders.size() <= limit) {
+                overflowed = false;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** Counts folders of working trees and tracks created repositories, receives all created folders of the file tree. */
+    @Singleton
+    static class DirectoryCreateConsumer implements Consumer<Path> {
+        private final JGitStatusChangeDetector detector;
+
+        @Inject
+        DirectoryCreateConsumer(JGitStatusChangeDetector detector) {
+            this.detector = detector;
+        }
+
+        @Override
+        public void accept(Path path) {
+            detector.directoryCreated(path);
+        }
+    }
+
+    /** Counts folders of working trees and untracks deleted repositories, receives all deleted folders of the file tree. */
+    @Singleton
+    static class DirectoryDeleteConsumer implements Consumer<Path> {
+        private final JGitStatusChangeDetector detector;
+
+        @Inject
+        DirectoryDeleteConsumer(JGitStatusChangeDetector detector) {
+            this.detector = detector;
+        }
+
+        @Override
+        public void accept(Path path) {
+            detector.directoryDeleted(path);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.jgit.api.Status;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Lists of git status kept as sorted sets of paths, so part of the status can be replaced by the status of some paths only.
+ */
+class JGitStatusSnapshot {
+    final NavigableSet<String> added;
+    final NavigableSet<String> changed;
+    final NavigableSet<String> removed;
+    final NavigableSet<String> missing;
+    final NavigableSet<String> modified;
+    final NavigableSet<String> untracked;
+    final NavigableSet<String> untrackedFolders;
+    final NavigableSet<String> conflicting;
+
+    JGitStatusSnapshot() {
+        added = new TreeSet<>();
+        changed = new TreeSet<>();
+        removed = new TreeSet<>();
+        missing = new TreeSet<>();
+        modified = new TreeSet<>();
+        untracked = new TreeSet<>();
+        untrackedFolders = new TreeSet<>();
+        conflicting = new TreeSet<>();
+    }
+
+    JGitStatusSnapshot(Status status) {
+        this();
+        added.addAll(status.getAdded());
+        changed.addAll(status.getChanged());
+        removed.addAll(status.getRemoved());
+        missing.addAll(status.getMissing());
+        modified.addAll(status.getModified());
+        untracked.addAll(status.getUntracked());
+        untrackedFolders.addAll(status.getUntrackedFolders());
+        conflicting.addAll(status.getConflicting());
+    }
+
+    JGitStatusSnapshot copy() {
+        JGitStatusSnapshot copy = new JGitStatusSnapshot();
+        copy.addAll(this);
+        return copy;
+    }
+
+    boolean isClean() {
+        // untracked folders are not taken into account, the same as by jgit status
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty() && missing.isEmpty() && modified.isEmpty()
+               && untracked.isEmpty() && conflicting.isEmpty();
+    }
+
+    /**
+     * Replaces status of the given paths (files or folders) by the status computed for these paths only.
+     *
+     * @param paths
+     *         paths relative to the working tree, see {@link #expandScope(Collection)}
+     * @param status
+     *         status of the paths
+     */
+    void replace(Collection<String> paths, JGitStatusSnapshot status) {
+        for (NavigableSet<String> entries : lists()) {
+            for (String path : paths) {
+                entries.remove(path);
+                // '0' follows '/', so the range contains all entries under the path
+                entries.subSet(path + '/', true, path + '0', false).clear();
+            }
+        }
+        addAll(status);
+    }
+
+    /**
+     * Returns paths which status has to be computed to replace status of given paths. Untracked folders which contain any of
+     * given paths are included, since jgit reports the top-most untracked folder of the path.
+     */
+    Set<String> expandScope(Collection<String> paths) {
+        Set<String> scope = new TreeSet<>(paths);
+        for (String path : paths) {
+            for (int i = path.indexOf('/'); i > 0; i = path.indexOf('/', i + 1)) {
+                String parent = path.substring(0, i);
+                if (untrackedFolders.contains(parent)) {
+                    scope.add(parent);
+                }
+            }
+        }
+        return scope;
+    }
+
+    /** Returns entries of this snapshot which are absent in the other one, list by list. */
+    JGitStatusSnapshot subtract(JGitStatusSnapshot other) {
+        JGitStatusSnapshot result = copy();
+        List<NavigableSet<String>> resultLists = result.lists();
+        List<NavigableSet<String>> otherLists = other.lists();
+        for (int i = 0; i < resultLists.size(); i++) {
+            resultLists.get(i).removeAll(otherLists.get(i));
+        }
+        return result;
+    }
+
+    boolean isEmpty() {
+        return lists().stream().allMatch(Set::isEmpty);
+    }
+
+    private void addAll(JGitStatusSnapshot other) {
+        List<NavigableSet<String>> lists = lists();
+        List<NavigableSet<String>> otherLists = other.lists();
+        for (int i = 0; i < lists.size(); i++) {
+            lists.get(i).addAll(otherLists.get(i));
+        }
+    }
+
+    private List<NavigableSet<String>> lists() {
+        List<NavigableSet<String>> lists = new ArrayList<>(8);
+        lists.add(added);
+        lists.add(changed);
+        lists.add(removed);
+        lists.add(missing);
+        lists.add(modified);
+        lists.add(untracked);
+        lists.add(untrackedFolders);
+        lists.add(conflicting);
+        return lists;
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ListBranchCommand.ListMode;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link BranchContainmentIndex}
+ */
+public class BranchContainmentIndexTest {
+    private File      workTree;
+    private Git       git;
+    private RevCommit first;
+    private RevCommit second;
+    private RevCommit third;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workTree = Files.createTempDir();
+        git = Git.init().setDirectory(workTree).call();
+        first = git.commit().setMessage("first").call();
+        second = git.commit().setMessage("second").call();
+        git.branchCreate().setName("feature").call();
+        third = git.commit().setMessage("third").call();
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+        git.close();
+        cleanupTestRepo(workTree);
+    }
+
+    @Test
+    public void shouldFindBranchesOfCommitsWithIndex() throws Exception {
+        BranchContainmentIndex index = new BranchContainmentIndex();
+
+        update(index);
+
+        assertFalse(index.isOverflowed());
+        assertEquals(index.size(), 3);
+        assertEquals(index.getBranches(git.getRepository(), first), asList("refs/heads/feature", "refs/heads/master"));
+        assertEquals(index.getBranches(git.getRepository(), second), asList("refs/heads/feature", "refs/heads/master"));
+        assertEquals(index.getBranches(git.getRepository(), third), singletonList("refs/heads/master"));
+    }
+
+    @Test
+    public void shouldWalkHistoryWhenIndexExceedsLimitOfCommits() throws Exception {
+        BranchContainmentIndex index = new BranchContainmentIndex(2);
+
+        update(index);
+
+        assertTrue(index.isOverflowed());
+        assertEquals(index.size(), 0);
+        assertEquals(index.getBranches(git.getRepository(), first), asList("refs/heads/feature", "refs/heads/master"));
+        assertEquals(index.getBranches(git.getRepository(), third), singletonList("refs/heads/master"));
+    }
+
+    @Test
+    public void shouldWalkHistoryWhenIncrementalUpdateExceedsLimitOfCommits() throws Exception {
+        BranchContainmentIndex index = new BranchContainmentIndex(3);
+        update(index);
+        assertFalse(index.isOverflowed());
+
+        RevCommit fourth = git.commit().setMessage("fourth").call();
+        update(index);
+
+        assertTrue(index.isOverflowed());
+        assertEquals(index.getBranches(git.getRepository(), fourth), singletonList("refs/heads/master"));
+        assertEquals(index.getBranches(git.getRepository(), second), asList("refs/heads/feature", "refs/heads/master"));
+    }
+
+    private void update(BranchContainmentIndex index) throws Exception {
+        index.update(git.getRepository(), git.branchList().setListMode(ListMode.ALL).call());
+    }
+}
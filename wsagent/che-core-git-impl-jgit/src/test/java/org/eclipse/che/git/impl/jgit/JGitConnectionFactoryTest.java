@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.che.api.git.CredentialsLoader;
+import org.eclipse.che.api.git.GitUserResolver;
+import org.eclipse.che.api.git.params.LogParams;
+import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
+import static org.eclipse.che.git.impl.GitTestUtil.connectToGitRepositoryWithContent;
+import static org.eclipse.che.git.impl.GitTestUtil.getTestGitUser;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link JGitConnectionFactory}
+ */
+public class JGitConnectionFactoryTest {
+    private File                  repository;
+    private JGitConnectionFactory connectionFactory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        repository = Files.createTempDir();
+        GitUserResolver resolver = mock(GitUserResolver.class);
+        when(resolver.getUser()).thenReturn(getTestGitUser());
+        connectionFactory = new JGitConnectionFactory(mock(CredentialsLoader.class), mock(SshKeyProvider.class), resolver);
+        connectToGitRepositoryWithContent(connectionFactory, repository).close();
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+        connectionFactory.closeRepositories();
+        cleanupTestRepo(repository);
+    }
+
+    @Test
+    public void shouldReuseOpenedRepository() throws Exception {
+        long hits = connectionFactory.getRepositoryCacheStats().hitCount();
+
+        try (JGitConnection first = (JGitConnection)connectionFactory.getConnection(repository);
+             JGitConnection second = (JGitConnection)connectionFactory.getConnection(repository)) {
+            assertEquals(first.log(LogParams.create()).getCommits().size(), 1);
+            assertEquals(second.log(LogParams.create()).getCommits().size(), 1);
+            assertSame(first.getRepository(), second.getRepository());
+        }
+
+        assertEquals(connectionFactory.getRepositoryCacheStats().hitCount(), hits + 2);
+    }
+
+    @Test
+    public void shouldOpenRepositoryAgainAfterInvalidation() throws Exception {
+        JGitConnection connection = (JGitConnection)connectionFactory.getConnection(repository);
+        long misses = connectionFactory.getRepositoryCacheStats().missCount();
+
+        connectionFactory.invalidateRepository(repository);
+
+        try (JGitConnection newConnection = (JGitConnection)connectionFactory.getConnection(repository)) {
+            assertEquals(newConnection.log(LogParams.create()).getCommits().size(), 1);
+            assertNotSame(newConnection.getRepository(), connection.getRepository());
+        }
+        // repository invalidated in the cache is still usable by connection which was opened before
+        assertEquals(connection.log(LogParams.create()).getCommits().size(), 1);
+        connection.close();
+        assertEquals(connectionFactory.getRepositoryCacheStats().missCount(), misses + 1);
+    }
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.jgit.api.Git;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link JGitStatusCache}
+ */
+public class JGitStatusCacheTest {
+    private File            workTree;
+    private File            gitDir;
+    private Git             git;
+    private JGitStatusCache statusCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workTree = Files.createTempDir();
+        git = Git.init().setDirectory(workTree).call();
+        gitDir = git.getRepository().getDirectory();
+        write("README.txt", "readme");
+        write("src/Main.java", "class Main {}");
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("init").call();
+
+        statusCache = new JGitStatusCache();
+        statusCache.track(gitDir);
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+        git.close();
+        cleanupTestRepo(workTree);
+    }
+
+    @Test
+    public void shouldNotCacheStatusOfUntrackedRepository() throws Exception {
+        statusCache.untrack(gitDir);
+
+        assertNull(statusCache.getStatus(gitDir, git));
+    }
+
+    @Test
+    public void shouldUpdateStatusOfChangedPathsOnly() throws Exception {
+        assertTrue(statusCache.getStatus(gitDir, git).isClean());
+
+        write("src/Main.java", "class Main { }");
+        write("src/new/deep/New.java", "class New {}");
+        write("README.txt", "changed, but not reported");
+        statusCache.pathChanged(gitDir, "src/Main.java");
+        statusCache.pathChanged(gitDir, "src/new");
+
+        JGitStatusSnapshot status = statusCache.getStatus(gitDir, git);
+        assertEquals(status.modified, newHashSet("src/Main.java"));
+        assertEquals(status.untracked, newHashSet("src/new/deep/New.java"));
+        assertEquals(status.untrackedFolders, newHashSet("src/new"));
+
+        cleanupTestRepo(new File(workTree, "src/new"));
+        statusCache.pathChanged(gitDir, "src/new");
+
+        status = statusCache.getStatus(gitDir, git);
+        assertTrue(status.untracked.isEmpty());
+        assertTrue(status.untrackedFolders.isEmpty());
+    }
+
+    @Test
+    public void shouldRescanWorkTreeWhenIndexIsChanged() throws Exception {
+        statusCache.getStatus(gitDir, git);
+
+        write("README.txt", "changed");
+        git.add().addFilepattern("README.txt").call();
+
+        JGitStatusSnapshot status = statusCache.getStatus(gitDir, git);
+        assertEquals(status.changed, newHashSet("README.txt"));
+        assertTrue(status.modified.isEmpty());
+    }
+
+    @Test
+    public void shouldReturnChangesOfStatus() throws Exception {
+        write("README.txt", "changed");
+        statusCache.getStatus(gitDir, git);
+        assertNull(statusCache.getChanges(gitDir));
+
+        write("README.txt", "readme");
+        write("added.txt", "added");
+        statusCache.pathChanged(gitDir, "README.txt");
+        statusCache.pathChanged(gitDir, "added.txt");
+        statusCache.getStatus(gitDir, git);
+
+        JGitStatusCache.Changes changes = statusCache.getChanges(gitDir);
+        assertEquals(changes.added.untracked, newHashSet("added.txt"));
+        assertTrue(changes.added.modified.isEmpty());
+        assertEquals(changes.removed.modified, newHashSet("README.txt"));
+        assertTrue(changes.removed.untracked.isEmpty());
+        assertFalse(changes.clean);
+        assertNull(statusCache.getChanges(gitDir));
+    }
+
+    private void write(String path, String content) throws Exception {
+        Path file = workTree.toPath().resolve(path);
+        java.nio.file.Files.createDirectories(file.getParent());
+        java.nio.file.Files.write(file, content.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.function.Consumer;
+
+import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link JGitStatusChangeDetector}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class JGitStatusChangeDetectorTest {
+    @Mock
+    private FileWatcherManager    manager;
+    @Mock
+    private RequestTransmitter    transmitter;
+    @Mock
+    private JGitConnectionFactory connectionFactory;
+    @Mock
+    private JGitStatusCache       statusCache;
+
+    private File                     root;
+    private Path                     workTree;
+    private File                     gitDir;
+    private JGitStatusChangeDetector detector;
+    private PathMatcher              matcher;
+    private Consumer<String>         modifyConsumer;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        root = Files.createTempDir();
+        workTree = root.toPath().resolve("project").toAbsolutePath().normalize();
+        gitDir = workTree.resolve(".git").toFile();
+        assertTrue(new File(gitDir, "info").mkdirs());
+
+        detector = new JGitStatusChangeDetector(root, manager, transmitter, connectionFactory, statusCache);
+        detector.startWatcher();
+
+        ArgumentCaptor<PathMatcher> matcherCaptor = ArgumentCaptor.forClass(PathMatcher.class);
+        ArgumentCaptor<Consumer> modifyCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(manager).registerByMatcher(matcherCaptor.capture(), any(), modifyCaptor.capture(), any());
+        matcher = matcherCaptor.getValue();
+        modifyConsumer = modifyCaptor.getValue();
+
+        detector.directoryCreated(gitDir.toPath());
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+        detector.stopWatcher();
+        cleanupTestRepo(root);
+    }
+
+    @Test
+    public void shouldRecomputeWholeStatusWhenGitignoreChanges() {
+        modifyConsumer.accept("/project/src/.gitignore");
+
+        verify(statusCache, times(2)).repositoryChanged(gitDir);
+        verify(statusCache, never()).pathChanged(any(File.class), anyString());
+    }
+
+    @Test
+    public void shouldRecomputeWholeStatusWhenExcludeFileChanges() {
+        modifyConsumer.accept("/project/.git/info/exclude");
+
+        verify(statusCache, times(2)).repositoryChanged(gitDir);
+    }
+
+    @Test
+    public void shouldRecomputeChangedPathOnlyWhenOtherFileChanges() {
+        modifyConsumer.accept("/project/src/Main.java");
+
+        verify(statusCache).pathChanged(gitDir, "src/Main.java");
+        verify(statusCache, times(1)).repositoryChanged(gitDir);
+    }
+
+    @Test
+    public void shouldNotCountRecreatedFolderTwice() throws Exception {
+        Path folder = workTree.resolve("target");
+        for (int i = 0; i <= JGitStatusChangeDetector.MAX_WATCHED_DIRECTORIES; i++) {
+            detector.directoryCreated(folder);
+            detector.directoryDeleted(folder);
+        }
+
+        verify(statusCache, never()).untrack(gitDir);
+        assertTrue(matcher.matches(createFolder("src")));
+    }
+
+    @Test
+    public void shouldCacheStatusAgainWhenFoldersCreatedAfterOverflowAreDeleted() throws Exception {
+        for (int i = 0; i <= JGitStatusChangeDetector.MAX_WATCHED_DIRECTORIES; i++) {
+            detector.directoryCreated(workTree.resolve("folder" + i));
+        }
+
+        verify(statusCache).untrack(gitDir);
+        assertFalse(matcher.matches(createFolder("src")));
+
+        detector.directoryDeleted(workTree.resolve("folder0"));
+
+        verify(statusCache, times(1)).track(gitDir);
+
+        detector.directoryDeleted(workTree.resolve("folder" + JGitStatusChangeDetector.MAX_WATCHED_DIRECTORIES));
+
+        verify(statusCache, times(2)).track(gitDir);
+        assertTrue(matcher.matches(createFolder("src")));
+    }
+
+    @Test
+    public void shouldStopCachingStatusWhenConfiguredLimitOfFoldersIsExceeded() throws Exception {
+        detector.stopWatcher();
+        detector = new JGitStatusChangeDetector(root, manager, transmitter, connectionFactory, statusCache, 2);
+        detector.directoryCreated(gitDir.toPath());
+
+        detector.directoryCreated(workTree.resolve("first"));
+        detector.directoryCreated(workTree.resolve("second"));
+        verify(statusCache, never()).untrack(gitDir);
+
+        detector.directoryCreated(workTree.resolve("third"));
+        verify(statusCache).untrack(gitDir);
+    }
+
+    private Path createFolder(String name) {
+        File folder = workTree.resolve(name).toFile();
+        assertTrue(folder.mkdirs() || folder.isDirectory());
+        return folder.toPath();
+    }
+}
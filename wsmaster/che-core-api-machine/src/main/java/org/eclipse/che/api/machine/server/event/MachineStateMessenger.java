@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.event;
 
+import org.eclipse.che.api.core.notification.AsyncSubscription;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
@@ -25,10 +26,12 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import static java.lang.String.format;
+import static org.eclipse.che.api.core.notification.AsyncSubscription.OverflowPolicy.BLOCK;
 import static org.eclipse.che.api.machine.shared.Constants.ENVIRONMENT_STATUS_CHANNEL_TEMPLATE;
 
 /**
- * Send machine state events using websocket channel to the clients
+ * Send machine state events using websocket channel to the clients.
+ * Other messengers may join its asynchronous subscription, see {@link #getSubscription()}.
  *
  * @author Alexander Garagatyi
  */
@@ -36,8 +39,12 @@ import static org.eclipse.che.api.machine.shared.Constants.ENVIRONMENT_STATUS_CH
 public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(MachineStateMessenger.class);
 
+    private static final int EVENTS_QUEUE_CAPACITY = 1000;
+
     private final EventService eventService;
 
+    private AsyncSubscription subscription;
+
     @Inject
     public MachineStateMessenger(EventService eventService) {
         this.eventService = eventService;
@@ -55,9 +62,17 @@ public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent
         }
     }
 
+    /**
+     * Returns asynchronous subscription of this messenger. Events of subscribers which join it are sent in the order of
+     * publishing together with machine events, e.g. statuses of a workspace and its machines.
+     */
+    public AsyncSubscription getSubscription() {
+        return subscription;
+    }
+
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        subscription = eventService.subscribeAsync(this, EVENTS_QUEUE_CAPACITY, BLOCK);
     }
 
     @PreDestroy
@@ -24,7 +24,9 @@ import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -92,6 +94,28 @@ public class JpaSnapshotDao implements SnapshotDao {
         }
     }
 
+    @Override
+    @Transactional
+    public Map<String, Long> getLatestCreationDates(Collection<String> workspaceIds) throws SnapshotException {
+        requireNonNull(workspaceIds, "Required non-null workspace ids");
+        final Map<String, Long> creationDates = new HashMap<>();
+        if (workspaceIds.isEmpty()) {
+            return creationDates;
+        }
+        try {
+            final List<Object[]> rows = managerProvider.get()
+                                                       .createNamedQuery("Snapshot.getLatestCreationDates", Object[].class)
+                                                       .setParameter("workspaceIds", workspaceIds)
+                                                       .getResultList();
+            for (Object[] row : rows) {
+                creationDates.put((String)row[0], ((Number)row[1]).longValue());
+            }
+            return creationDates;
+        } catch (RuntimeException x) {
+            throw new SnapshotException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     public void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
         requireNonNull(snapshot, "Required non-null snapshot");
@@ -43,6 +43,11 @@ import java.util.Objects;
                             query = "SELECT snapshot " +
                                     "FROM Snapshot snapshot " +
                                     "WHERE snapshot.workspaceId = :workspaceId"),
+                @NamedQuery(name = "Snapshot.getLatestCreationDates",
+                            query = "SELECT snapshot.workspaceId, MAX(snapshot.creationDate) " +
+                                    "FROM Snapshot snapshot " +
+                                    "WHERE snapshot.workspaceId IN :workspaceIds " +
+                                    "GROUP BY snapshot.workspaceId"),
                 @NamedQuery(name = "Snapshot.findByWorkspaceAndEnvironment",
                             query = "SELECT snapshot " +
                                     "FROM Snapshot snapshot " +
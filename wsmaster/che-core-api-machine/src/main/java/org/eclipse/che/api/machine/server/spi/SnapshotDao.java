@@ -16,6 +16,7 @@ import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Stores metadata of snapshots
@@ -76,6 +77,18 @@ public interface SnapshotDao {
      */
     List<SnapshotImpl> findSnapshots(String workspaceId) throws SnapshotException;
 
+    /**
+     * Gets creation dates of the latest snapshots of the workspaces with a single lookup.
+     *
+     * @param workspaceIds
+     *         ids of workspaces
+     * @return workspace id -> creation date of the latest snapshot of the workspace,
+     * workspaces without snapshots are not present in the result
+     * @throws SnapshotException
+     *         if error occurs
+     */
+    Map<String, Long> getLatestCreationDates(Collection<String> workspaceIds) throws SnapshotException;
+
     /**
      * Remove snapshot by id
      *
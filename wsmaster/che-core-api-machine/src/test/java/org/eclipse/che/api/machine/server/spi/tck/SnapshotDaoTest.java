@@ -32,6 +32,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -151,6 +152,25 @@ public class SnapshotDaoTest {
         snapshotDao.findSnapshots(null);
     }
 
+    @Test
+    public void shouldGetLatestCreationDatesOfWorkspacesSnapshots() throws Exception {
+        final Map<String, Long> expected = new HashMap<>();
+        for (SnapshotImpl snapshot : snapshots) {
+            expected.merge(snapshot.getWorkspaceId(), snapshot.getCreationDate(), Math::max);
+        }
+
+        final Map<String, Long> creationDates = snapshotDao.getLatestCreationDates(asList(workspaces[0].getId(),
+                                                                                          workspaces[1].getId(),
+                                                                                          "workspace-without-snapshots"));
+
+        assertEquals(creationDates, expected);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenGettingLatestCreationDatesOfNullWorkspaceIds() throws Exception {
+        snapshotDao.getLatestCreationDates(null);
+    }
+
     @Test(dependsOnMethods = "shouldGetSnapshotById")
     public void shouldSaveSnapshot() throws Exception {
         final SnapshotImpl newSnapshot = createSnapshot("new-snapshot",
@@ -45,11 +45,16 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Throwables.getCausalChain;
@@ -57,7 +62,10 @@ import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
@@ -93,6 +101,16 @@ public class WorkspaceManager {
     private final boolean             defaultAutoSnapshot;
     private final boolean             defaultAutoRestore;
 
+    /** Soft max number of workspaces which are stopped concurrently on shutdown. */
+    @Inject(optional = true)
+    @Named("che.workspace.shutdown.stop_parallelism")
+    private int shutdownStopParallelism = 5;
+
+    /** Time given to each workspace to stop on shutdown, a workspace which isn't stopped in time is given the same time once more. */
+    @Inject(optional = true)
+    @Named("che.workspace.shutdown.stop_timeout_ms")
+    private long shutdownStopTimeoutMs = 600_000;
+
     @Inject
     public WorkspaceManager(WorkspaceDao workspaceDao,
                             WorkspaceRuntimes workspaceRegistry,
@@ -276,6 +294,36 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets the page of workspaces which user can read.
+     *
+     * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by their runtime instances(if those exist).
+     *
+     * @param user
+     *         the id of the user
+     * @param includeRuntimes
+     *         if <code>true</code>, will fetch runtime info for workspaces.
+     *         If <code>false</code>, will not fetch runtime info.
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @return the list of workspaces or empty list if user can't read any workspace
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any server error occurs while getting workspaces with {@link WorkspaceDao#getWorkspaces(String, int, int)}
+     */
+    public List<WorkspaceImpl> getWorkspaces(String user, boolean includeRuntimes, int skipCount, int maxItems) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final List<WorkspaceImpl> workspaces = workspaceDao.getWorkspaces(user, skipCount, maxItems);
+        injectRuntimeAndAttributes(workspaces, !includeRuntimes);
+        return workspaces;
+    }
+
     /**
      * Gets list of workspaces which has given namespace. Runtimes are included
      *
@@ -695,44 +743,115 @@ public class WorkspaceManager {
      * Stops all the running and starting workspaces - snapshotting them before if needed.
      * Workspace stop operations executed asynchronously while the method waits
      * for async task to finish.
+     * <p>
+     * At most {@code che.workspace.shutdown.stop_parallelism} workspaces are stopped at the same time, so shutdown
+     * of a node with many running workspaces doesn't overload docker daemon and registry with snapshots. Workspaces
+     * which are snapshotted before stop go first, then running and then starting workspaces. Each workspace is waited for
+     * {@code che.workspace.shutdown.stop_timeout_ms}, a workspace which isn't stopped in time keeps its place and is
+     * waited for the same time once more. If it isn't stopped even then, the method gives up and the workspaces left
+     * are stopped by the shutdown of runtimes, so neither the parallelism nor the time of shutdown is exceeded because
+     * of a stuck stop.
      */
     private void stopRunningWorkspacesNormally() throws InterruptedException {
         if (runtimes.isAnyRunning()) {
+            final List<WorkspaceImpl> runningOrStarting = getRunningOrStartingWorkspaces();
+            runningOrStarting.sort(comparing(this::getShutdownStopPriority));
 
-            // getting all the running or starting workspaces
-            ArrayList<WorkspaceImpl> runningOrStarting = new ArrayList<>();
-            for (String workspaceId : runtimes.getRuntimesIds()) {
-                try {
-                    WorkspaceImpl workspace = workspaceDao.get(workspaceId);
-                    workspace.setStatus(runtimes.getStatus(workspaceId));
-                    if (workspace.getStatus() == WorkspaceStatus.RUNNING || workspace.getStatus() == WorkspaceStatus.STARTING) {
-                        runningOrStarting.add(workspace);
+            final int parallelism = Math.max(1, shutdownStopParallelism);
+            final Iterator<WorkspaceImpl> notStopped = runningOrStarting.iterator();
+            final BlockingQueue<String> stopped = new LinkedBlockingQueue<>();
+            // workspace id -> time until which the workspace is waited for
+            final Map<String, Long> deadlines = new HashMap<>();
+            // workspaces which are not stopped in time and are waited for once more
+            final Set<String> lagging = new HashSet<>();
+            int stoppedCount = 0;
+            while (notStopped.hasNext() || !deadlines.isEmpty()) {
+                while (notStopped.hasNext() && deadlines.size() < parallelism) {
+                    final WorkspaceImpl workspace = notStopped.next();
+                    try {
+                        deadlines.put(workspace.getId(), currentTimeMillis() + shutdownStopTimeoutMs);
+                        stopAsync(workspace, null).whenComplete((res, ex) -> stopped.offer(workspace.getId()));
+                    } catch (Exception x) {
+                        deadlines.remove(workspace.getId());
+                        if (runtimes.hasRuntime(workspace.getId())) {
+                            LOG.warn("Couldn't stop the workspace '{}' normally, due to error: {}", workspace.getId(), x.getMessage());
+                        }
                     }
-                } catch (NotFoundException | ServerException x) {
-                    if (runtimes.hasRuntime(workspaceId)) {
-                        LOG.error("Couldn't get the workspace '{}' while it's running, the occurred error: '{}'",
-                                  workspaceId,
-                                  x.getMessage());
+                }
+                if (deadlines.isEmpty()) {
+                    continue;
+                }
+
+                // wait for stopping workspaces to complete
+                final long nearestDeadline = Collections.min(deadlines.values());
+                final String stoppedId = stopped.poll(Math.max(0, nearestDeadline - currentTimeMillis()), MILLISECONDS);
+                if (stoppedId != null) {
+                    if (deadlines.remove(stoppedId) != null) {
+                        lagging.remove(stoppedId);
+                        LOG.info("Stopped {} of {} workspaces on shutdown", ++stoppedCount, runningOrStarting.size());
+                    }
+                    continue;
+                }
+                final long now = currentTimeMillis();
+                for (Map.Entry<String, Long> entry : deadlines.entrySet()) {
+                    if (entry.getValue() > now) {
+                        continue;
+                    }
+                    if (!lagging.add(entry.getKey())) {
+                        final List<String> notProcessed = new ArrayList<>();
+                        notStopped.forEachRemaining(workspace -> notProcessed.add(workspace.getId()));
+                        LOG.warn("Workspaces '{}' aren't stopped on shutdown in time, workspaces '{}' are left to runtimes shutdown",
+                                 deadlines.keySet(),
+                                 notProcessed);
+                        return;
                     }
+                    LOG.warn("Workspace '{}' isn't stopped within {} ms on shutdown, waiting for it once more",
+                             entry.getKey(),
+                             shutdownStopTimeoutMs);
+                    entry.setValue(now + shutdownStopTimeoutMs);
                 }
             }
+        }
+    }
 
-            // stopping them asynchronously
-            CountDownLatch stopLatch = new CountDownLatch(runningOrStarting.size());
-            for (WorkspaceImpl workspace : runningOrStarting) {
+    /** Gets all the running or starting workspaces, workspaces are fetched with a single request if possible. */
+    private List<WorkspaceImpl> getRunningOrStartingWorkspaces() {
+        final Set<String> ids = runtimes.getRuntimesIds();
+        List<WorkspaceImpl> workspaces;
+        try {
+            workspaces = workspaceDao.getByIds(ids);
+        } catch (ServerException x) {
+            LOG.warn("Couldn't get the running workspaces with a single request, the occurred error: '{}'", x.getMessage());
+            workspaces = new ArrayList<>(ids.size());
+            for (String workspaceId : ids) {
                 try {
-                    stopAsync(workspace, null).whenComplete((res, ex) -> stopLatch.countDown());
-                } catch (Exception x) {
-                    stopLatch.countDown();
-                    if (runtimes.hasRuntime(workspace.getId())) {
-                        LOG.warn("Couldn't stop the workspace '{}' normally, due to error: {}", workspace.getId(), x.getMessage());
+                    workspaces.add(workspaceDao.get(workspaceId));
+                } catch (NotFoundException | ServerException e) {
+                    if (runtimes.hasRuntime(workspaceId)) {
+                        LOG.error("Couldn't get the workspace '{}' while it's running, the occurred error: '{}'",
+                                  workspaceId,
+                                  e.getMessage());
                     }
                 }
             }
+        }
+
+        final List<WorkspaceImpl> runningOrStarting = new ArrayList<>(workspaces.size());
+        for (WorkspaceImpl workspace : workspaces) {
+            workspace.setStatus(runtimes.getStatus(workspace.getId()));
+            if (workspace.getStatus() == WorkspaceStatus.RUNNING || workspace.getStatus() == WorkspaceStatus.STARTING) {
+                runningOrStarting.add(workspace);
+            }
+        }
+        return runningOrStarting;
+    }
 
-            // wait for stopping workspaces to complete
-            stopLatch.await();
+    /** Workspaces with lower priority are stopped earlier on shutdown. */
+    private int getShutdownStopPriority(WorkspaceImpl workspace) {
+        if (workspace.getStatus() != RUNNING) {
+            return 2;
         }
+        return isSnapshotBeforeStop(workspace, null) ? 0 : 1;
     }
 
     /** Asynchronously starts given workspace. */
@@ -799,18 +918,7 @@ public class WorkspaceManager {
                      workspace.getId(),
                      firstNonNull(stoppedBy, "undefined"));
 
-            final boolean snapshotBeforeStop;
-            if (workspace.isTemporary() || workspace.getStatus() == WorkspaceStatus.STARTING) {
-                snapshotBeforeStop = false;
-            } else if (createSnapshot != null) {
-                snapshotBeforeStop = createSnapshot;
-            } else if (workspace.getAttributes().containsKey(AUTO_CREATE_SNAPSHOT)) {
-                snapshotBeforeStop = parseBoolean(workspace.getAttributes().get(AUTO_CREATE_SNAPSHOT));
-            } else {
-                snapshotBeforeStop = defaultAutoSnapshot;
-            }
-
-            if (snapshotBeforeStop) {
+            if (isSnapshotBeforeStop(workspace, createSnapshot)) {
                 try {
                     runtimes.snapshot(workspace.getId());
                 } catch (ConflictException | NotFoundException | ServerException x) {
@@ -839,6 +947,17 @@ public class WorkspaceManager {
         });
     }
 
+    private boolean isSnapshotBeforeStop(WorkspaceImpl workspace, @Nullable Boolean createSnapshot) {
+        if (workspace.isTemporary() || workspace.getStatus() == WorkspaceStatus.STARTING) {
+            return false;
+        } else if (createSnapshot != null) {
+            return createSnapshot;
+        } else if (workspace.getAttributes().containsKey(AUTO_CREATE_SNAPSHOT)) {
+            return parseBoolean(workspace.getAttributes().get(AUTO_CREATE_SNAPSHOT));
+        }
+        return defaultAutoSnapshot;
+    }
+
     private void startAsync(MachineConfig machineConfig, String workspaceId) {
         sharedPool.execute(() -> {
             try {
@@ -933,12 +1052,28 @@ public class WorkspaceManager {
         if (statusOnly) {
             for (WorkspaceImpl workspace : workspaces) {
                 workspace.setStatus(runtimes.getStatus(workspace.getId()));
-                addExtraAttributes(workspace);
             }
         } else {
             for (WorkspaceImpl workspace : workspaces) {
                 runtimes.injectRuntime(workspace);
-                addExtraAttributes(workspace);
+            }
+        }
+        addExtraAttributes(workspaces);
+    }
+
+    /** Adds attributes that are not originally stored in workspaces but should be published, using one lookup for all of them. */
+    private void addExtraAttributes(List<WorkspaceImpl> workspaces) throws SnapshotException {
+        if (workspaces.isEmpty()) {
+            return;
+        }
+        // snapshotted_at
+        final Map<String, Long> snapshotsCreationDates = snapshotDao.getLatestCreationDates(workspaces.stream()
+                                                                                                      .map(WorkspaceImpl::getId)
+                                                                                                      .collect(toList()));
+        for (WorkspaceImpl workspace : workspaces) {
+            final Long creationDate = snapshotsCreationDates.get(workspace.getId());
+            if (creationDate != null) {
+                workspace.getAttributes().put(SNAPSHOTTED_AT_ATTRIBUTE_NAME, Long.toString(creationDate));
             }
         }
     }
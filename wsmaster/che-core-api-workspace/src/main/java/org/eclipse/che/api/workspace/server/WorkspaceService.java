@@ -208,19 +208,34 @@ public class WorkspaceService extends Service {
                                             @DefaultValue("0")
                                             @QueryParam("skipCount")
                                             Integer skipCount,
-                                            @ApiParam("The limit of the items in the response, default is 30")
-                                            @DefaultValue("30")
+                                            @ApiParam("The limit of the items in the response, all the workspaces are returned if not set")
                                             @QueryParam("maxItems")
                                             Integer maxItems,
                                             @ApiParam("Workspace status")
                                             @QueryParam("status")
                                             String status) throws ServerException, BadRequestException {
-        //TODO add maxItems & skipCount to manager
-        return workspaceManager.getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
-                               .stream()
-                               .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-                               .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-                               .collect(toList());
+        if (skipCount < 0) {
+            throw new BadRequestException("The number of items to skip can't be negative");
+        }
+        if (maxItems != null && maxItems < 0) {
+            throw new BadRequestException("The number of items to return can't be negative");
+        }
+        final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+        final List<WorkspaceImpl> workspaces;
+        if (status == null && maxItems != null) {
+            workspaces = workspaceManager.getWorkspaces(userId, false, skipCount, maxItems);
+        } else {
+            // status is known only at runtime, so the page is selected after filtering
+            workspaces = workspaceManager.getWorkspaces(userId, false)
+                                         .stream()
+                                         .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+                                         .skip(skipCount)
+                                         .limit(maxItems != null ? maxItems : Long.MAX_VALUE)
+                                         .collect(toList());
+        }
+        return workspaces.stream()
+                         .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+                         .collect(toList());
     }
 
     @GET
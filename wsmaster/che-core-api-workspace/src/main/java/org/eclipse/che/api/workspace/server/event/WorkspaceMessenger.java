@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server.event;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.machine.server.event.MachineStateMessenger;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.everrest.websockets.WSConnectionContext;
@@ -25,7 +26,8 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
- * Send workspace events using websocket channel to the clients
+ * Send workspace events using websocket channel to the clients.
+ * Events of workspace and its machines are sent in the order of publishing, see {@link MachineStateMessenger}.
  *
  * @author Alexander Garagatyi
  */
@@ -33,11 +35,13 @@ import javax.inject.Singleton;
 public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(WorkspaceMessenger.class);
 
-    private final EventService eventService;
+    private final EventService          eventService;
+    private final MachineStateMessenger machineStateMessenger;
 
     @Inject
-    public WorkspaceMessenger(EventService eventService) {
+    public WorkspaceMessenger(EventService eventService, MachineStateMessenger machineStateMessenger) {
         this.eventService = eventService;
+        this.machineStateMessenger = machineStateMessenger;
     }
 
     @Override
@@ -54,7 +58,9 @@ public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent>
 
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        // websocket broadcasting must not slow down workspace start and stop,
+        // statuses of workspace and its machines share the queue, so clients receive them in the order of publishing
+        eventService.subscribeAsync(this, machineStateMessenger.getSubscription());
     }
 
     @PreDestroy
@@ -25,6 +25,8 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.config.QueryHints;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -33,6 +35,9 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -148,16 +153,52 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public List<WorkspaceImpl> getByIds(Collection<String> ids) throws ServerException {
+        requireNonNull(ids, "Required non-null ids");
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return batchFetchConfigs(managerProvider.get().createNamedQuery("Workspace.getByIds", WorkspaceImpl.class))
+                    .setParameter("ids", ids)
+                    .getResultList()
+                    .stream()
+                    .map(WorkspaceImpl::new)
+                    .collect(toList());
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     @Transactional
     public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
         try {
-            return managerProvider.get()
-                                  .createNamedQuery("Workspace.getAll", WorkspaceImpl.class)
-                                  .getResultList()
-                                  .stream()
-                                  .map(WorkspaceImpl::new)
-                                  .collect(Collectors.toList());
+            return batchFetchConfigs(managerProvider.get().createNamedQuery("Workspace.getAll", WorkspaceImpl.class))
+                    .getResultList()
+                    .stream()
+                    .map(WorkspaceImpl::new)
+                    .collect(Collectors.toList());
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<WorkspaceImpl> getWorkspaces(String userId, int skipCount, int maxItems) throws ServerException {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        checkArgument(skipCount >= 0, "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+        try {
+            return batchFetchConfigs(managerProvider.get().createNamedQuery("Workspace.getAll", WorkspaceImpl.class))
+                    .setMaxResults(maxItems)
+                    .setFirstResult(skipCount)
+                    .getResultList()
+                    .stream()
+                    .map(WorkspaceImpl::new)
+                    .collect(toList());
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -220,6 +261,19 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         return merged;
     }
 
+    /**
+     * Loads eagerly fetched collections of the selected workspaces with one query per collection
+     * instead of one query per workspace.
+     */
+    private static TypedQuery<WorkspaceImpl> batchFetchConfigs(TypedQuery<WorkspaceImpl> query) {
+        return query.setHint(QueryHints.BATCH_TYPE, BatchFetchType.IN)
+                    .setHint(QueryHints.BATCH, "w.attributes")
+                    .setHint(QueryHints.BATCH, "w.config")
+                    .setHint(QueryHints.BATCH, "w.config.commands")
+                    .setHint(QueryHints.BATCH, "w.config.projects")
+                    .setHint(QueryHints.BATCH, "w.config.environments");
+    }
+
     @Singleton
     public static class RemoveWorkspaceBeforeAccountRemovedEventSubscriber
             extends CascadeEventSubscriber<BeforeAccountRemovedEvent> {
@@ -58,8 +58,10 @@ import java.util.Objects;
                             query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace"),
                 @NamedQuery(name = "Workspace.getByName",
                             query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace AND w.name = :name"),
+                @NamedQuery(name = "Workspace.getByIds",
+                            query = "SELECT w FROM Workspace w WHERE w.id IN :ids"),
                 @NamedQuery(name = "Workspace.getAll",
-                            query = "SELECT w FROM Workspace w"),
+                            query = "SELECT w FROM Workspace w ORDER BY w.id"),
                 @NamedQuery(name = "Workspace.getByTemporary",
                             query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary")
 
@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -130,6 +131,20 @@ public interface WorkspaceDao {
      */
     List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException;
 
+    /**
+     * Gets workspaces with given identifiers with a single request.
+     *
+     * @param ids
+     *         identifiers of workspaces
+     * @return list of found workspaces, identifiers of workspaces which don't exist are ignored,
+     * always returns list, never null
+     * @throws NullPointerException
+     *         when {@code ids} is null
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    List<WorkspaceImpl> getByIds(Collection<String> ids) throws ServerException;
+
     /**
      * Gets list of workspaces which user can read
      *
@@ -141,6 +156,22 @@ public interface WorkspaceDao {
      */
     List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+    /**
+     * Gets the page of workspaces which user can read.
+     *
+     * @param userId
+     *         id of user
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @return list of workspaces which user can read or empty list if there are no such workspaces
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} or {@code skipCount} is negative
+     */
+    List<WorkspaceImpl> getWorkspaces(String userId, int skipCount, int maxItems) throws ServerException;
 
     /**
      * Gets workspaces by temporary attribute.
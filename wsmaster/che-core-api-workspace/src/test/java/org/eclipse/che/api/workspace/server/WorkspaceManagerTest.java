@@ -53,18 +53,24 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
@@ -86,6 +92,7 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -883,6 +890,7 @@ public class WorkspaceManagerTest {
         mockRuntime(running, RUNNING);
 
         when(runtimes.getRuntimesIds()).thenReturn(new HashSet<>(asList(running.getId(), starting.getId())));
+        when(workspaceDao.getByIds(any())).thenReturn(asList(running, starting));
 
         // action
         workspaceManager.shutdown();
@@ -895,6 +903,103 @@ public class WorkspaceManagerTest {
         verify(sharedPool).shutdown();
     }
 
+    @Test
+    public void stopsWorkspacesWhichAreSnapshottedFirstOnShutdown() throws Exception {
+        when(runtimes.refuseWorkspacesStart()).thenReturn(true);
+
+        WorkspaceImpl starting = createAndMockWorkspace();
+        mockRuntime(starting, STARTING);
+
+        WorkspaceImpl running = createAndMockWorkspace();
+        mockRuntime(running, RUNNING);
+
+        WorkspaceImpl snapshotted = createAndMockWorkspace();
+        snapshotted.getAttributes().put(AUTO_CREATE_SNAPSHOT, "true");
+        mockRuntime(snapshotted, RUNNING);
+
+        when(runtimes.getRuntimesIds()).thenReturn(new HashSet<>(asList(starting.getId(), running.getId(), snapshotted.getId())));
+        when(workspaceDao.getByIds(any())).thenReturn(asList(starting, running, snapshotted));
+        when(sharedPool.runAsync(any())).thenAnswer(inv -> {
+            ((Runnable)inv.getArguments()[0]).run();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // action
+        workspaceManager.shutdown();
+
+        InOrder inOrder = inOrder(runtimes);
+        inOrder.verify(runtimes).snapshot(snapshotted.getId());
+        inOrder.verify(runtimes).stop(snapshotted.getId());
+        inOrder.verify(runtimes).stop(running.getId());
+        inOrder.verify(runtimes).stop(starting.getId());
+        verify(workspaceDao, never()).get(anyString());
+    }
+
+    @Test
+    public void stopsAtMostConfiguredNumberOfWorkspacesAtTheSameTimeOnShutdown() throws Exception {
+        when(runtimes.refuseWorkspacesStart()).thenReturn(true);
+        setField("shutdownStopParallelism", 2);
+
+        List<WorkspaceImpl> workspaces = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            WorkspaceImpl workspace = createAndMockWorkspace();
+            mockRuntime(workspace, RUNNING);
+            workspaces.add(workspace);
+        }
+        when(runtimes.getRuntimesIds()).thenReturn(workspaces.stream().map(WorkspaceImpl::getId).collect(toSet()));
+        when(workspaceDao.getByIds(any())).thenReturn(workspaces);
+
+        AtomicInteger stopping = new AtomicInteger();
+        AtomicInteger maxStopping = new AtomicInteger();
+        doAnswer(inv -> {
+            maxStopping.accumulateAndGet(stopping.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            stopping.decrementAndGet();
+            return null;
+        }).when(runtimes).stop(anyString());
+        ExecutorService executor = Executors.newCachedThreadPool();
+        when(sharedPool.runAsync(any())).thenAnswer(inv -> CompletableFuture.runAsync((Runnable)inv.getArguments()[0], executor));
+
+        // action
+        try {
+            workspaceManager.shutdown();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (WorkspaceImpl workspace : workspaces) {
+            verify(runtimes).stop(workspace.getId());
+        }
+        assertEquals(maxStopping.get(), 2);
+    }
+
+    @Test
+    public void keepsPlaceOfWorkspaceWhichIsNotStoppedInTimeAndGivesUpAfterSecondTimeoutOnShutdown() throws Exception {
+        when(runtimes.refuseWorkspacesStart()).thenReturn(true);
+        setField("shutdownStopParallelism", 1);
+        setField("shutdownStopTimeoutMs", 100L);
+
+        WorkspaceImpl stuck = createAndMockWorkspace();
+        mockRuntime(stuck, RUNNING);
+
+        WorkspaceImpl next = createAndMockWorkspace();
+        mockRuntime(next, STARTING);
+
+        when(runtimes.getRuntimesIds()).thenReturn(new HashSet<>(asList(stuck.getId(), next.getId())));
+        when(workspaceDao.getByIds(any())).thenReturn(asList(stuck, next));
+        // stop of the first workspace never completes
+        when(sharedPool.runAsync(any())).thenReturn(new CompletableFuture<>());
+
+        // action
+        long start = System.currentTimeMillis();
+        workspaceManager.shutdown();
+
+        assertTrue(System.currentTimeMillis() - start >= 200);
+        verify(sharedPool, times(1)).runAsync(any());
+        verify(runtimes).shutdown();
+        verify(sharedPool).shutdown();
+    }
+
     @Test
     public void getsRunningWorkspacesIds() {
         ImmutableSet<String> ids = ImmutableSet.of("id1", "id2", "id3");
@@ -933,6 +1038,22 @@ public class WorkspaceManagerTest {
         assertEquals(workspaces.get(0).getAttributes().get(SNAPSHOTTED_AT_ATTRIBUTE_NAME), "12345");
     }
 
+    @Test
+    public void shouldGetPageOfWorkspacesAvailableForUser() throws Exception {
+        WorkspaceImpl workspace = createAndMockWorkspace();
+        mockSnapshots(workspace, 12345);
+        when(workspaceDao.getWorkspaces(USER_ID, 30, 10)).thenReturn(singletonList(workspace));
+        when(runtimes.getStatus(workspace.getId())).thenReturn(RUNNING);
+
+        List<WorkspaceImpl> workspaces = workspaceManager.getWorkspaces(USER_ID, false, 30, 10);
+
+        assertEquals(workspaces, singletonList(workspace));
+        assertEquals(workspaces.get(0).getStatus(), RUNNING);
+        assertEquals(workspaces.get(0).getAttributes().get(SNAPSHOTTED_AT_ATTRIBUTE_NAME), "12345");
+        verify(snapshotDao).getLatestCreationDates(singletonList(workspace.getId()));
+        verify(snapshotDao, never()).findSnapshots(anyString());
+    }
+
     @Test
     public void snapshottedAtAttributeIncludedToWorkspaceWhenGettingByNamespace() throws Exception {
         WorkspaceImpl workspace = createAndMockWorkspace();
@@ -970,9 +1091,16 @@ public class WorkspaceManagerTest {
                                                 .build();
         List<SnapshotImpl> snapshots = asList(snapshot1, snapshot2);
         when(snapshotDao.findSnapshots(workspace.getId())).thenReturn(snapshots);
+        when(snapshotDao.getLatestCreationDates(any())).thenReturn(singletonMap(workspace.getId(), creation));
         return snapshots;
     }
 
+    private void setField(String name, Object value) throws Exception {
+        Field field = WorkspaceManager.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(workspaceManager, value);
+    }
+
     private void captureRunAsyncCallsAndRunSynchronously() {
         verify(sharedPool, atLeastOnce()).runAsync(taskCaptor.capture());
         for (Runnable runnable : taskCaptor.getAllValues()) {
@@ -341,6 +341,42 @@ public class WorkspaceServiceTest {
                      asList(workspace1, workspace2));
     }
 
+    @Test
+    public void shouldGetPageOfWorkspaces() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspaces(USER_ID, false, 2, 1)).thenReturn(singletonList(workspace));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace?skipCount=2&maxItems=1");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceDto.class).stream()
+                                                                .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+                                                                .collect(toList()),
+                     singletonList(workspace));
+    }
+
+    @Test
+    public void shouldGetPageOfWorkspacesByStatus() throws Exception {
+        final WorkspaceImpl workspace1 = createWorkspace(createConfigDto(), STARTING);
+        final WorkspaceImpl workspace2 = createWorkspace(createConfigDto());
+        final WorkspaceImpl workspace3 = createWorkspace(createConfigDto(), STARTING);
+        when(wsManager.getWorkspaces(USER_ID, false)).thenReturn(asList(workspace1, workspace2, workspace3));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace?status=starting&skipCount=1&maxItems=1");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceDto.class).stream()
+                                                                .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+                                                                .collect(toList()),
+                     singletonList(workspace3));
+    }
+
     @Test
     public void shouldGetWorkspacesByNamespace() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -48,9 +48,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
@@ -130,6 +132,26 @@ public class WorkspaceDaoTest {
         workspaceDao.get(null);
     }
 
+    @Test
+    public void shouldGetWorkspacesByIds() throws Exception {
+        final WorkspaceImpl workspace1 = workspaces[0];
+        final WorkspaceImpl workspace2 = workspaces[2];
+
+        final List<WorkspaceImpl> found = workspaceDao.getByIds(asList(workspace1.getId(), workspace2.getId(), "non-existing-id"));
+
+        assertEquals(new HashSet<>(found), new HashSet<>(asList(workspace1, workspace2)));
+    }
+
+    @Test
+    public void emptyListShouldBeReturnedWhenGettingWorkspacesByEmptyIds() throws Exception {
+        assertTrue(workspaceDao.getByIds(emptyList()).isEmpty());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenGettingWorkspacesByNullIds() throws Exception {
+        workspaceDao.getByIds(null);
+    }
+
     @Test
     public void shouldGetWorkspacesByNamespace() throws Exception {
         final WorkspaceImpl workspace1 = workspaces[0];
@@ -237,6 +259,24 @@ public class WorkspaceDaoTest {
     }
 
 
+    @Test
+    public void shouldGetPagesOfWorkspacesAvailableForUser() throws Exception {
+        final Set<WorkspaceImpl> found = new HashSet<>();
+        for (int skip = 0; skip < COUNT_OF_WORKSPACES; skip += 2) {
+            final List<WorkspaceImpl> page = workspaceDao.getWorkspaces("user", skip, 2);
+
+            assertEquals(page.size(), Math.min(2, COUNT_OF_WORKSPACES - skip));
+            found.addAll(page);
+        }
+
+        assertEquals(found, new HashSet<>(asList(workspaces)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionOnNegativeLimitOfUserWorkspaces() throws Exception {
+        workspaceDao.getWorkspaces("user", 0, -2);
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void shouldThrowIllegalStateExceptionOnNegativeLimit() throws Exception {
         workspaceDao.getWorkspaces(true, 0, -2);